@@ -0,0 +1,180 @@
+/* MIT License
+ *
+ * Copyright (c) 2022 TKNKLA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.tknkla.rj;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+
+import com.tknkla.rj.graphs.IntSparseGraph;
+import com.tknkla.rj.graphs.LongSparseGraph;
+import com.tknkla.rj.groups.IntGroupOperator;
+import com.tknkla.rj.groups.LongGroupOperator;
+
+/**
+ * Automorphisms found during computation of relative order, used for pruning of comparisions.
+ * 
+ * <p>When a pair of symbols is found equivalent by relative comparision, the (doubled) propagated preorder is
+ * individualized further until it's discrete; if it stays balanced, it defines an automorphism which maps the
+ * left symbol to the right symbol and preserves the cells of the preorder. Symbols in the same orbit of the group
+ * generated by the automorphisms which fix all pivots chosen so far are equivalent without comparision. As the
+ * automorphisms are exact, the computed order is the same as without them.</p>
+ * 
+ * <p>Pruning is supported by relative order of symbols expressed as <code>int</code>s only, with relative
+ * differences supplied as a dense operator or as a sparse graph; relative order of symbols expressed as
+ * <code>long</code>s (with any group operator) or as objects does not support it.</p>
+ * 
+ * <p>An instance is (re)initialized by each computation and holds the automorphisms found by the latest one;
+ * it must not be shared by concurrent computations.</p>
+ * 
+ * <p>Example: <code>RJ.order(src, fg, g, cmp, null, new Automorphisms())</code>.</p>
+ * 
+ * @see RJ#order(int[][], IntBinaryOperator, IntGroupOperator, IntBinaryOperator, RefinementListener, Automorphisms)
+ * @see RJ#order(int[][], IntSparseGraph, IntGroupOperator, IntBinaryOperator, RefinementListener, Automorphisms)
+ * @see RJ#order(int[][], LongSparseGraph, LongGroupOperator, IntBinaryOperator, RefinementListener, Automorphisms)
+ * 
+ * @author Timo Santasalo
+ * @since 1.2.0
+ */
+public final class Automorphisms {
+	
+	private int[] symbols = RJ.EMPTY_INT;
+	private final List<int[]> generators = new ArrayList<>();
+	
+	/**
+	 * Generators which fix all pivots chosen so far (permutations of indices of symbols).
+	 */
+	private final List<int[]> active = new ArrayList<>();
+	
+	/**
+	 * Union-find over the indices of symbols, for the orbits of the group generated by the active generators.
+	 */
+	private int[] uf = RJ.EMPTY_INT;
+	
+	/**
+	 * Initializes for computation of relative order of the given preorder of symbols.
+	 */
+	synchronized void init(int[][] src) {
+		symbols = RJ.joinAsInt(src.length, (int p) -> src[p]);
+		Arrays.sort(symbols);
+		generators.clear();
+		active.clear();
+		uf = RJ.populate(symbols.length, (int p) -> p);
+	}
+	
+	/**
+	 * Adds an automorphism (maps <code>from[i]</code> to <code>to[i]</code>; the other symbols, i.e. the ones already
+	 * emitted, are fixed).
+	 */
+	synchronized void add(int[] from, int[] to) {
+		int[] gs = RJ.populate(symbols.length, (int p) -> p);
+		for (int i=0; i<from.length; i++) {
+			gs[Arrays.binarySearch(symbols, from[i])] = Arrays.binarySearch(symbols, to[i]);
+		}
+		generators.add(gs);
+		active.add(gs);
+		union(uf, gs);
+	}
+	
+	/**
+	 * Returns true if the symbols are in the same orbit (of the group generated by the active generators).
+	 */
+	synchronized boolean equivalent(int a, int b) {
+		int ia = Arrays.binarySearch(symbols, a);
+		int ib = Arrays.binarySearch(symbols, b);
+		return ia>=0 && ib>=0 && find(uf, ia)==find(uf, ib);
+	}
+
+	/**
+	 * Deactivates the generators which do not fix the given symbol (a pivot).
+	 */
+	synchronized void fix(int a) {
+		int ia = Arrays.binarySearch(symbols, a);
+		if (active.removeIf((int[] gs) -> gs[ia]!=ia)) {
+			uf = RJ.populate(symbols.length, (int p) -> p);
+			for (int[] gs : active) {
+				union(uf, gs);
+			}
+		}
+	}
+	
+	private static void union(int[] uf, int[] gs) {
+		for (int i=0; i<gs.length; i++) {
+			int a = find(uf, i);
+			int b = find(uf, gs[i]);
+			if (a!=b) {
+				uf[Math.max(a, b)] = Math.min(a, b);
+			}
+		}
+	}
+	
+	private static int find(int[] uf, int a) {
+		while (uf[a]!=a) {
+			uf[a] = uf[uf[a]];
+			a = uf[a];
+		}
+		return a;
+	}
+	
+	/**
+	 * Returns the symbols (in ascending order).
+	 * @return The symbols.
+	 * @since 1.2.0
+	 */
+	public synchronized int[] symbols() {
+		return symbols.clone();
+	}
+	
+	/**
+	 * Returns the automorphisms found; each automorphism is expressed as the images of the symbols
+	 * (in the order of {@link #symbols()}).
+	 * @return The automorphisms.
+	 * @since 1.2.0
+	 */
+	public synchronized int[][] generators() {
+		return RJ.populate(int[].class, generators.size(), (int p) -> {
+			int[] gs = generators.get(p);
+			return RJ.populate(gs.length, (int q) -> symbols[gs[q]]);
+		});
+	}
+
+	/**
+	 * Returns the orbits of the group generated by the automorphisms found (each in ascending order,
+	 * ordered by their least symbols).
+	 * @return The orbits of symbols.
+	 * @since 1.2.0
+	 */
+	public synchronized int[][] orbits() {
+		int[] os = RJ.populate(symbols.length, (int p) -> p);
+		for (int[] gs : generators) {
+			union(os, gs);
+		}
+		for (int i=0; i<os.length; i++) {
+			os[i] = find(os, i);
+		}
+		int[][] rt = RJ.groups(symbols.length, (int p) -> p, (int a, int b) -> Integer.compare(os[a], os[b]), null);
+		return RJ.populate(int[].class, rt.length, (int p) -> RJ.populate(rt[p].length, (int q) -> symbols[rt[p][q]]));
+	}
+	
+}
@@ -0,0 +1,149 @@
+/* MIT License
+ *
+ * Copyright (c) 2022 TKNKLA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.tknkla.rj;
+
+import java.util.function.IntBinaryOperator;
+
+import com.tknkla.rj.graphs.IntSparseGraph;
+import com.tknkla.rj.graphs.LongSparseGraph;
+import com.tknkla.rj.groups.IntGroupOperator;
+import com.tknkla.rj.groups.LongGroupOperator;
+
+/**
+ * Selector for the cell from which a pivot is chosen (individualized) in computation of relative order.
+ * 
+ * <p>The selection must be invariant, i.e. depend only on the structure of the preorder (the sizes of the cells
+ * and the relative differences between them), not on the symbols themselves; as the order of the cells is relative,
+ * ties may be broken by the position of the cell. The preorder is equitable (propagated and grouped) and has at
+ * least one cell of more than one symbol.</p>
+ * 
+ * <p>Selection is supported by relative order of symbols expressed as <code>int</code>s only, with relative
+ * differences supplied as a dense operator or as a sparse graph (a sparse graph of <code>long</code> weights is
+ * viewed as an operator which is the identity where the weight is); relative order of symbols expressed as
+ * <code>long</code>s or as objects always pivots from the last cell of more than one symbol.</p>
+ * 
+ * <p>Example: <code>RJ.order(src, fg, g, cmp, null, null, CellSelector.FIRST_SMALLEST)</code>.</p>
+ * 
+ * @see RJ#order(int[][], IntBinaryOperator, IntGroupOperator, IntBinaryOperator, RefinementListener, Automorphisms, CellSelector)
+ * @see RJ#order(int[][], IntSparseGraph, IntGroupOperator, IntBinaryOperator, RefinementListener, Automorphisms, CellSelector)
+ * @see RJ#order(int[][], LongSparseGraph, LongGroupOperator, IntBinaryOperator, RefinementListener, Automorphisms, CellSelector)
+ * 
+ * @author Timo Santasalo
+ * @since 1.2.0
+ */
+@FunctionalInterface
+public interface CellSelector {
+
+	/**
+	 * The last cell of more than one symbol (the default).
+	 * @since 1.2.0
+	 */
+	public static final CellSelector LAST = (int[][] src, IntBinaryOperator fg, IntGroupOperator g) ->
+		RJ.search(src.length, 0, (int p) -> src[p].length>1);
+
+	/**
+	 * The first cell of more than one symbol.
+	 * @since 1.2.0
+	 */
+	public static final CellSelector FIRST = (int[][] src, IntBinaryOperator fg, IntGroupOperator g) ->
+		RJ.search(0, src.length, (int p) -> src[p].length>1);
+
+	/**
+	 * The first smallest cell of more than one symbol.
+	 * @since 1.2.0
+	 */
+	public static final CellSelector FIRST_SMALLEST = (int[][] src, IntBinaryOperator fg, IntGroupOperator g) -> {
+		int rt = -1;
+		for (int i=0; i<src.length; i++) {
+			if (src[i].length>1 && (rt==-1 || src[i].length<src[rt].length)) {
+				rt = i;
+			}
+		}
+		return rt;
+	};
+
+	/**
+	 * The first largest cell.
+	 * @since 1.2.0
+	 */
+	public static final CellSelector FIRST_LARGEST = (int[][] src, IntBinaryOperator fg, IntGroupOperator g) -> {
+		int rt = 0;
+		for (int i=1; i<src.length; i++) {
+			if (src[i].length>src[rt].length) {
+				rt = i;
+			}
+		}
+		return rt;
+	};
+
+	/**
+	 * (P) The first cell of more than one symbol which is non-trivially joined to the most cells of more than
+	 * one symbol (the relative differences between the cells are neither all nor none equal to the identity);
+	 * requires a call to <code>fg</code> for each pair of symbols in such cells.
+	 * @since 1.2.0
+	 */
+	public static final CellSelector MOST_CONNECTED = (int[][] src, IntBinaryOperator fg, IntGroupOperator g) -> {
+		int id = g.identityAsInt();
+		int[] ks = RJ.populate(src.length, (int p) -> {
+			if (src[p].length<=1) {
+				return -1;
+			}
+			int rt = 0;
+			for (int[] ws : src) {
+				if (ws.length<=1) {
+					continue;
+				}
+				int n = 0;
+				for (int a : src[p]) {
+					for (int b : ws) {
+						if (fg.applyAsInt(a, b)!=id) {
+							n++;
+						}
+					}
+				}
+				if (n>0 && n<src[p].length*ws.length) {
+					rt++;
+				}
+			}
+			return rt;
+		});
+		int rt = 0;
+		for (int i=1; i<ks.length; i++) {
+			if (ks[i]>ks[rt]) {
+				rt = i;
+			}
+		}
+		return rt;
+	};
+
+	/**
+	 * Selects a cell of more than one symbol.
+	 * @param src An equitable preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @return The index of the selected cell.
+	 * @since 1.2.0
+	 */
+	int select(int[][] src, IntBinaryOperator fg, IntGroupOperator g);
+
+}
@@ -25,12 +25,20 @@ package com.tknkla.rj;
 import java.lang.reflect.Array;
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.PrimitiveIterator;
 import java.util.Random;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.IntBinaryOperator;
 import java.util.function.IntConsumer;
 import java.util.function.IntFunction;
@@ -41,15 +49,24 @@ import java.util.function.IntUnaryOperator;
 import java.util.function.LongBinaryOperator;
 import java.util.function.LongConsumer;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
 
 import com.tknkla.rj.functions.IntBiFunction;
 import com.tknkla.rj.functions.IntBinaryConsumer;
 import com.tknkla.rj.functions.IntBinaryPredicate;
 import com.tknkla.rj.functions.IntToLongBinaryOperator;
 import com.tknkla.rj.functions.LongToIntBinaryOperator;
+import com.tknkla.rj.graphs.IntMatrix;
+import com.tknkla.rj.graphs.IntSparseGraph;
+import com.tknkla.rj.graphs.LongMatrix;
+import com.tknkla.rj.graphs.LongSparseGraph;
 import com.tknkla.rj.groups.GroupOperator;
 import com.tknkla.rj.groups.IntGroupOperator;
 import com.tknkla.rj.groups.LongGroupOperator;
+import com.tknkla.rj.groups.WideGroupOperator;
+import com.tknkla.rj.sets.CompressedIntSet;
+import com.tknkla.rj.sets.IntBitSet;
 
 /**
  * Elementary algorithms and related utilities for relative programming.
@@ -86,6 +103,11 @@ public final class RJ {
 	 */
 	public static final long[] EMPTY_LONG = new long[0];
 	
+	/**
+	 * Number of iterations (minus one) between checks of the halting condition in opportunistic searches.
+	 */
+	private static final int TEST_HALT_INTERVAL = 0x3ff;
+	
 	private static ExecutionStrategy xs = ExecutionStrategy.LOCAL;
 
 	private RJ() {}
@@ -731,6 +753,14 @@ public final class RJ {
 	 * (P) Executes the iterative propagation part of relative order/comparision for a preorder
 	 * of symbols expressed as <code>int</code>s.
 	 * 
+	 * <p>The relative difference of each symbol to each cell of the preorder is aggregated once per iteration
+	 * (and cached). Refinement is incremental: cells that were not split on the previous iteration are not
+	 * used as splitters again and the aggregate for the largest part of a split cell is derived from those of
+	 * the other parts (the "process the smaller half" rule).</p>
+	 * 
+	 * <p>With {@link IntGroupOperator#ADDITIVE_EXACT}, a cell in which an overflow occurs is refined again with
+	 * aggregates expressed as <code>long</code>s.</p>
+	 * 
 	 * @param src A preorder of symbols.
 	 * @param fg Supplies the relative difference between a pair of symbols.
 	 * @param cmp Comparator for equivalent items; if null, the order between equivalent items is preserved.
@@ -740,896 +770,4542 @@ public final class RJ {
 	 * @since 1.0.0
 	 */
 	public static int[][] propagate(int[][] src, IntBinaryOperator fg, IntBinaryOperator cmp, IntGroupOperator g, Predicate<int[][]> fh) {
-		while (fh==null || fh.test(src)) {
-			int[][] _src = src;
-			int[][] nsrc = groups(src, (int a, int b) -> {
-				for (int i=_src.length-1; i>=0; i--) {
-					int _i = i;
-					int rt = g.signum(g.applyAsInt(0, _src[i].length, (int p) -> {
-						int c = _src[_i][p];
-						return g.cancelAsInt(fg.applyAsInt(a, c), fg.applyAsInt(b, c));
-					}));
-					if (rt!=0) {
-						return rt;
-					}
-				}
-				return 0;
-			}, cmp);
-			if (nsrc.length==src.length) {
-				break;
-			}
-			src = nsrc;
-		}
-		return src;
+		return propagate(src, fg, cmp, g, fh, null);
 	}
 
 	/**
 	 * (P) Executes the iterative propagation part of relative order/comparision for a preorder
-	 * of symbols expressed as <code>long</code>s.
+	 * of symbols expressed as <code>int</code>s.
+	 * 
+	 * <p>The relative difference of each symbol to each cell of the preorder is aggregated once per iteration
+	 * (and cached). Refinement is incremental: cells that were not split on the previous iteration are not
+	 * used as splitters again and the aggregate for the largest part of a split cell is derived from those of
+	 * the other parts (the "process the smaller half" rule).</p>
+	 * 
+	 * <p>With {@link IntGroupOperator#ADDITIVE_EXACT}, a cell in which an overflow occurs is refined again with
+	 * aggregates expressed as <code>long</code>s.</p>
 	 * 
 	 * @param src A preorder of symbols.
 	 * @param fg Supplies the relative difference between a pair of symbols.
 	 * @param cmp Comparator for equivalent items; if null, the order between equivalent items is preserved.
 	 * @param g Group operator.
 	 * @param fh Halting condition; if null, iteration is repeated as long as differences are found.
+	 * @param fr Listener for the stages of the computation; may be null.
 	 * @return An order of symbols.
-	 * @since 1.0.0
+	 * @since 1.2.0
 	 */
-	public static long[][] propagate(long[][] src, LongBinaryOperator fg, LongToIntBinaryOperator cmp, LongGroupOperator g, Predicate<long[][]> fh) {
+	public static int[][] propagate(int[][] src, IntBinaryOperator fg, IntBinaryOperator cmp, IntGroupOperator g, Predicate<int[][]> fh, RefinementListener<? super int[][]> fr) {
+		return _propagate(src, null, null, fg, cmp, g, fh, fr);
+	}
+
+	/**
+	 * Executes the iterative propagation part of relative order/comparision, starting from the given families
+	 * of cells (see below); if null, all cells are used as splitters on the first iteration.
+	 */
+	private static int[][] _propagate(int[][] src, int[] ff, int[] fl, IntBinaryOperator fg, IntBinaryOperator cmp, IntGroupOperator g, Predicate<int[][]> fh, RefinementListener<? super int[][]> fr) {
+		if (fr!=null) {
+			fr.beforePropagate(src);
+		}
 		while (fh==null || fh.test(src)) {
-			long[][] _src = src;
-			long[][] nsrc = groups(src, (long a, long b) -> {
-				for (int i=_src.length-1; i>=0; i--) {
-					int _i = i;
-					int rt = g.signum(g.applyAsLong(0, _src[i].length, (int p) -> {
-						long c = _src[_i][p];
-						return g.cancelAsLong(fg.applyAsLong(a, c), fg.applyAsLong(b, c));
-					}));
-					if (rt!=0) {
-						return rt;
-					}
+			int[][] _src = src;
+			int[] _ff = ff;
+			int[] _fl = fl;
+			int[][][] rt = populate(int[][].class, src.length, (int p) -> {
+				if (_src[p].length<=1) {
+					return null;
 				}
-				return 0;
-			}, cmp);
-			if (nsrc.length==src.length) {
+				int[][] r = g==IntGroupOperator.ADDITIVE_EXACT ? _propagateExact(_src[p], _src, _ff, _fl, fg, cmp) : _propagate(_src[p], _src, _ff, _fl, fg, cmp, g);
+				return r.length==1 ? null : r;
+			});
+			int ln = 0;
+			for (int i=0; i<rt.length; i++) {
+				ln += rt[i]==null ? 1 : rt[i].length;
+			}
+			if (ln==src.length) {
 				break;
 			}
+			int[][] nsrc = new int[ln][];
+			ff = new int[ln];
+			fl = new int[ln];
+			for (int i=0, q=0; i<rt.length; i++) {
+				if (rt[i]==null) {
+					nsrc[q] = src[i];
+					ff[q] = q;
+					fl[q] = q;
+					q++;
+				} else {
+					int l = q;
+					for (int j=0; j<rt[i].length; j++) {
+						nsrc[q+j] = rt[i][j];
+						if (rt[i][j].length>nsrc[l].length) {
+							l = q+j;
+						}
+					}
+					for (int j=0; j<rt[i].length; j++) {
+						ff[q+j] = q;
+						fl[q+j] = l;
+					}
+					q += rt[i].length;
+				}
+			}
 			src = nsrc;
+			if (fr!=null) {
+				fr.iterPropagate(src);
+			}
+		}
+		if (fr!=null) {
+			fr.afterPropagate(src);
 		}
 		return src;
 	}
-	
+
 	/**
-	 * (P) Executes the iterative propagation part of relative order/comparision for a preorder
-	 * of symbols expressed as <code>long</code>s.
-	 * 
-	 * If no order is done, input order is returned as is.
+	 * Splits a cell by the aggregated relative differences of its symbols to each cell of the preorder
+	 * (from the last cell to the first); equivalent to sorting the cell lexicographically by the same.
 	 * 
-	 * @param <T> Symbol type.
-	 * @param <E> Element type.
-	 * @param rc Symbol type.
-	 * @param src A preorder of symbols.
-	 * @param fg Supplies the relative difference between a pair of symbols.
-	 * @param cmp Comparator for equivalent items; if null, the order between equivalent items is preserved.
-	 * @param g Group operator.
-	 * @param fh Halting condition; if null, iteration is repeated as long as differences are found.
-	 * @return An order of symbols.
-	 * @since 1.0.0
+	 * <p>Cells which were split on the previous iteration are processed as families (<code>ff</code> holds the
+	 * index of the first cell of the family and <code>fl</code> the index of the largest cell of the family). A cell
+	 * which forms a family of it's own has not been split and is hence skipped (the aggregates are equal for all
+	 * symbols of the cell). The aggregate for the largest cell of a family is derived from the aggregate of the
+	 * whole family (computed for one symbol only) and the aggregates for the other cells of the family, if cheaper.
+	 * On the first iteration (<code>ff</code> is null) each cell is processed as is.</p>
 	 */
-	public static <T,E> T[][] propagate(Class<? extends T> rc, T[][] src, BiFunction<T,T,E> fg, Comparator<T> cmp, GroupOperator<E> g, Predicate<T[][]> fh) {
-		while (fh==null || fh.test(src)) {
-			T[][] _src = src;
-			T[][] nsrc = groups(rc, src, (T a, T b) -> {
-				for (int i=_src.length-1; i>=0; i--) {
-					int _i = i;
-					int rt = g.signum(g.apply(0, _src[i].length, (int p) -> {
-						T c = _src[_i][p];
-						return g.cancel(fg.apply(a, c), fg.apply(b, c));
-					}));
-					if (rt!=0) {
-						return rt;
+	private static int[][] _propagate(int[] vs, int[][] src, int[] ff, int[] fl, IntBinaryOperator fg, IntBinaryOperator cmp, IntGroupOperator g) {
+		int[][] rt = new int[][] { populate(vs.length, (int p) -> p) };
+		int[] sv = new int[vs.length];
+		for (int e=src.length; e>0 && rt.length<vs.length; ) {
+			int f = ff==null ? e-1 : ff[e-1];
+			int l = fl==null ? -1 : fl[e-1];
+			if (f==e-1 && l==e-1) {
+				e--;
+				continue;
+			}
+			int[] ss = null;
+			int[][] ps = null;
+			if (l>=0) {
+				int id = g.identityAsInt();
+				ss = populate(vs.length, (int p) -> id);
+			}
+			for (int k=e-1; k>=f && rt.length<vs.length; k--) {
+				int[][] _rt = rt;
+				int[] as = joinAsInt(rt.length, (int p) -> _rt[p].length>1 ? _rt[p] : EMPTY_INT);
+				int[] cv;
+				if (ps!=null && k<l) {
+					cv = ps[k-f];
+				} else if (k==l && _cost(src, f, l)<src[l].length) {
+					int[] _ss = ss;
+					ps = populate(int[].class, l-f, (int j) -> {
+						int[] rs = new int[vs.length];
+						_aggregate(as, vs, src[j+f], rs, fg, g);
+						return rs;
+					});
+					int[][] _ps = ps;
+					execute(0, as.length, (int q) -> {
+						int p = as[q];
+						for (int j=0; j<_ps.length; j++) {
+							_ss[p] = g.applyAsInt(_ss[p], _ps[j][p]);
+						}
+					});
+					int[] cs = src[l];
+					int sa = g.applyAsInt(_ss[as[0]], _aggregate(vs[as[0]], cs, fg, g));
+					execute(0, as.length, (int q) -> sv[as[q]] = g.cancelAsInt(sa, _ss[as[q]]));
+					cv = sv;
+				} else {
+					_aggregate(as, vs, src[k], sv, fg, g);
+					if (k>l && l>=0) {
+						int[] _ss = ss;
+						execute(0, as.length, (int q) -> _ss[as[q]] = g.applyAsInt(_ss[as[q]], sv[as[q]]));
 					}
+					cv = sv;
 				}
-				return 0;
-			}, cmp);
-			if (nsrc.length==src.length) {
-				break;
+				int[] _cv = cv;
+				rt = join(int[].class, rt.length, (int p) -> {
+					int[] ws = _rt[p];
+					if (ws.length<=1) {
+						return new int[][] { ws };
+					}
+					int[][] qs = _groups(ws.length, (int q) -> _cv[ws[q]], (int u, int v) -> g.signum(g.cancelAsInt(_cv[ws[u]], _cv[ws[v]])));
+					return qs.length==1 ? new int[][] { ws } : populate(int[].class, qs.length, (int q) -> populate(qs[q].length, (int r) -> ws[qs[q][r]]));
+				});
 			}
-			src = nsrc;
+			e = f;
 		}
-		return src;
+		if (rt.length==1) {
+			return new int[][] { vs };
+		}
+		int[][] ret = rt;
+		return populate(int[].class, ret.length, (int p) -> ret[p].length<=1 || cmp==null
+				? populate(ret[p].length, (int q) -> vs[ret[p][q]])
+				: order(ret[p].length, (int q) -> vs[ret[p][q]], cmp, (int u, int v) -> u));
 	}
-	
-	/* COMPARE/R */
-	
+
 	/**
-	 * (P) Computes the relative order between a pair of symbols expressed as <code>int</code>s.
-	 * Returns -1, 0 or 1, depending whether left symbol is less than (absolute),
-	 * equivalent to (neutral) or more than (relative) the right symbol.
-	 * 
-	 * If no order is done, input order is returned as is.
-	 *  
-	 * @param a Left symbol.
-	 * @param b Right symbol.
-	 * @param src A preorder of symbols.
-	 * @param fg Supplies the relative difference between a pair of symbols.
-	 * @param g Group operator.
-	 * @return Result of comparision (-1, 0 or 1).
-	 * @since 1.0.0
+	 * Returns the total size of a range of cells.
 	 */
-	public static int compare(int a, int b, int[][] src, IntBinaryOperator fg, IntGroupOperator g) {
-		if (a==b) {
-			return 0;
+	private static int _cost(int[][] src, int from, int to) {
+		int rt = 0;
+		for (int i=from; i<to; i++) {
+			rt += src[i].length;
 		}
-		
-		int[][] rt = propagate(populate(int[].class, src.length+1, (int p) -> {
-					if (p==0) {
-						return new int[] { a<<1, (b<<1)|1 };
-					} else {
-						int[] ks = src[p-1];
-						int[] rs = new int[ks.length<<1];
-						int q=0;
-						for (int i=0; i<ks.length; i++) {
-							if (ks[i]!=a) {
-								rs[q++] = ks[i]<<1;
-							}
-							if (ks[i]!=b) {
-								rs[q++] = (ks[i]<<1)|1;
-							}
-						}
-						return q==rs.length ? rs : Arrays.copyOf(rs, q);
-					}
-				}),
-				(int u, int v) -> (u&1)==(v&1)
-					? fg.applyAsInt(u>>1, v>>1)
-					: g.identityAsInt(),
-				null, g,
-				(int[][] s) -> s[0].length==2);
-		
-		return rt[0].length==2 ? 0 : rt[0][0]==a<<1 ? -1 : 1;
+		return rt;
 	}
-	
+
 	/**
-	 * (P) Computes the relative order between a pair of symbols expressed as <code>long</code>s.
-	 * Returns -1, 0 or 1, depending whether left symbol is less than (absolute),
-	 * equivalent to (neutral) or more than (relative) the right symbol.
-	 * 
-	 * If no order is done, input order is returned as is.
-	 *  
-	 * @param a Left symbol.
-	 * @param b Right symbol.
-	 * @param src A preorder of symbols.
-	 * @param fg Supplies the relative difference between a pair of symbols.
-	 * @param g Group operator.
-	 * @return Result of comparision (-1, 0 or 1).
-	 * @since 1.0.0
+	 * Aggregates the relative differences of (a subset of) symbols of a cell to another cell (a dense matrix,
+	 * or a doubled view of one, is scanned by row directly).
 	 */
-	public static int compare(long a, long b, long[][] src, LongBinaryOperator fg, LongGroupOperator g) {
-		if (a==b) {
-			return 0;
+	private static void _aggregate(int[] as, int[] vs, int[] cs, int[] rs, IntBinaryOperator fg, IntGroupOperator g) {
+		if (fg instanceof IntMatrix) {
+			IntMatrix m = (IntMatrix) fg;
+			execute(0, as.length, (int q) -> rs[as[q]] = m.aggregate(vs[as[q]], cs, g));
+		} else if (fg instanceof DoubledIntMatrix) {
+			DoubledIntMatrix m = (DoubledIntMatrix) fg;
+			execute(0, as.length, (int q) -> rs[as[q]] = m.aggregate(vs[as[q]], cs, g));
+		} else {
+			execute(0, as.length, (int q) -> rs[as[q]] = _aggregate(vs[as[q]], cs, fg, g));
 		}
-		
-		long[][] rt = propagate(populate(long[].class, src.length+1, (int p) -> {
-					if (p==0) {
-						return new long[] { a<<1, (b<<1)|1 };
-					} else {
-						long[] ks = src[p-1];
-						long[] rs = new long[ks.length<<1];
-						int q=0;
-						for (int i=0; i<ks.length; i++) {
-							if (ks[i]!=a) {
-								rs[q++] = ks[i]<<1;
-							}
-							if (ks[i]!=b) {
-								rs[q++] = (ks[i]<<1)|1;
-							}
-						}
-						return q==rs.length ? rs : Arrays.copyOf(rs, q);
-					}
-				}),
-				(long u, long v) -> (u&1)==(v&1)
-					? fg.applyAsLong(u>>1, v>>1)
-					: g.identityAsLong(),
-				null, g,
-				(long[][] s) -> s[0].length==2);
-		
-		return rt[0].length==2 ? 0 : rt[0][0]==a<<1 ? -1 : 1;
 	}
 
 	/**
-	 * (P) Computes the relative order between a pair of symbols expressed as objects.
-	 * Returns -1, 0 or 1, depending whether left symbol is less than (absolute),
-	 * equivalent to (neutral) or more than (relative) the right symbol.
-	 *  
-	 * @param <T> Symbol type.
-	 * @param <E> Element type.
-	 * @param rc Symbol type.
-	 * @param a Left symbol.
-	 * @param b Right symbol.
-	 * @param src A preorder of symbols.
-	 * @param fg Supplies the relative difference between a pair of symbols.
-	 * @param g Group operator.
-	 * @return Result of comparision (-1, 0 or 1).
-	 * @since 1.0.0
+	 * Splits a cell with additive aggregates; if an overflow occurs, the cell is split again with
+	 * aggregates expressed as <code>long</code>s (equivalent, as the aggregates are exact in both cases).
+	 * Overflows are flagged rather than thrown, as parallel tasks may not propagate exceptions.
 	 */
-	@SuppressWarnings("unchecked")
-	public static <T,E> int compare(Class<? extends T> rc, T a, T b, T[][] src, BiFunction<T,T,E> fg, GroupOperator<E> g) {
-		if (Objects.equals(a,b)) {
-			return 0;
+	private static int[][] _propagateExact(int[] vs, int[][] src, int[] ff, int[] fl, IntBinaryOperator fg, IntBinaryOperator cmp) {
+		AtomicBoolean ov = new AtomicBoolean();
+		int[][] ret = _propagate(vs, src, ff, fl, fg, cmp, new IntGroupOperator() {
+
+			@Override
+			public int signum(int v) {
+				return v;
+			}
+
+			@Override
+			public int identityAsInt() {
+				return 0;
+			}
+
+			@Override
+			public int applyAsInt(int a, int b) {
+				int r = a+b;
+				if (((a^r)&(b^r))<0) {
+					ov.set(true);
+				}
+				return r;
+			}
+
+			@Override
+			public int cancelAsInt(int a, int b) {
+				int r = a-b;
+				if (((a^b)&(a^r))<0) {
+					ov.set(true);
+				}
+				return r;
+			}
+
+		});
+		if (!ov.get()) {
+			return ret;
 		}
-		
-		BPrefix<T>[][] rt = propagate((Class<? extends BPrefix<T>>)BPrefix.class.asSubclass( BPrefix.class), (BPrefix<T>[][]) populate(BPrefix[].class, src.length+1, (int p) -> {
-					if (p==0) {
-						return new BPrefix[] { new BPrefix<>(false, a), new BPrefix<>(true, b) };
-					} else {
-						T[] ks = src[p-1];
-						BPrefix<T>[] rs = new BPrefix[ks.length<<1];
-						int q=0;
-						for (int i=0; i<ks.length; i++) {
-							if (ks[i]!=a) {
-								rs[q++] = new BPrefix<>(false, ks[i]);
-							}
-							if (ks[i]!=b) {
-								rs[q++] = new BPrefix<>(true, ks[i]);
-							}
-						}
-						return q==rs.length ? rs : Arrays.copyOf(rs, q);
-					}
-				}),
-				(BPrefix<T> u, BPrefix<T> v) -> u.b==v.b
-					? fg.apply(u.v, v.v)
-					: g.identity(),
-				null, g,
-				(BPrefix<T>[][] s) -> s[0].length==2);
-		
-		return rt[0].length==2 ? 0 : rt[0][0].v==a ? -1 : 1;
+		long[][] rt = _propagateExact(populate(vs.length, (int p) -> (long) vs[p]),
+				populate(long[].class, src.length, (int p) -> populate(src[p].length, (int q) -> (long) src[p][q])), ff, fl,
+				(long a, long b) -> fg.applyAsInt((int) a, (int) b),
+				cmp==null ? null : (long a, long b) -> cmp.applyAsInt((int) a, (int) b));
+		return populate(int[].class, rt.length, (int p) -> populate(rt[p].length, (int q) -> (int) rt[p][q]));
 	}
 
-	private static class BPrefix<T> {
-		
-		final boolean b;
-		final T v;
-		
-		BPrefix(boolean b, T v) {
-			super();
-			this.b = b;
-			this.v = v;
-		}
-				
+	/**
+	 * Aggregates the relative differences of a symbol to a cell.
+	 */
+	private static int _aggregate(int v, int[] cs, IntBinaryOperator fg, IntGroupOperator g) {
+		return g.applyAsInt(0, cs.length, (int r) -> fg.applyAsInt(v, cs[r]));
 	}
-	
-	/* GROUPS/R */
 
 	/**
-	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
-	 * expressed as an array of arrays of <code>int</code>s.
-	 * 
-	 * If no order is done, input order is returned as is.
+	 * (P) Groups a number of items (by index) and orders the groups; equivalent to <code>groups(ln, (int p) -&gt; p, cmp, null)</code>.
 	 * 
-	 * @param src A preorder of symbols.
-	 * @param fg Supplies the relative difference between a pair of symbols.
-	 * @param g Group operator.
-	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
-	 * @return A preorder of automorphic groups of symbols.
-	 * @since 1.0.0
+	 * <p>Items are first partitioned by an invariant hash (equivalent items must have equal hashes, unless the groups
+	 * they form are equivalent by the comparator as a whole). Each bucket is verified by comparing it's items to the
+	 * first item (a bucket of non-equivalent items, i.e. a hash collision, is resolved by sorting it with the comparator)
+	 * and the resulting groups are ordered by comparing their first items. The comparator is hence called a linear number
+	 * of times, unless there are collisions.</p>
 	 */
-	public static int[][] groups(int[][] src, IntBinaryOperator fg, IntGroupOperator g, IntBinaryOperator cmp) {
-		int[][] _src = propagate(src, fg, null, g, null);
-		int[][] ret = groups(_src, (int a, int b) -> compare(a,b, _src, fg, g), null);
-		return cmp==null ? ret : populate(int[].class, ret.length, (int p) -> order(ret[p].length, (int q) -> ret[p][q], cmp, null));
+	private static int[][] _groups(int ln, IntToLongFunction fh, IntBinaryOperator cmp) {
+		if (ln<=1) {
+			return groups(ln, (int p) -> p, cmp, null);
+		}
+		long[] hs = populate(ln, fh);
+		int[][] bs = groups(ln, (int p) -> p, (int a, int b) -> Long.compare(hs[a], hs[b]), null);
+		int[][] cs = join(int[].class, bs.length, (int p) -> {
+			int[] ws = bs[p];
+			for (int i=1; i<ws.length; i++) {
+				if (cmp.applyAsInt(ws[0], ws[i])!=0) {
+					return groups(ws.length, (int q) -> ws[q], cmp, null);
+				}
+			}
+			return new int[][] { ws };
+		});
+		if (cs.length==1) {
+			return cs;
+		}
+		int[][] os = groups(cs.length, (int p) -> p, (int a, int b) -> cmp.applyAsInt(cs[a][0], cs[b][0]), null);
+		return populate(int[].class, os.length, (int p) -> {
+			if (os[p].length==1) {
+				return cs[os[p][0]];
+			}
+			int[] ws = joinAsInt(os[p].length, (int q) -> cs[os[p][q]]);
+			return order(ws.length, (int q) -> ws[q], Integer::compare, null);
+		});
 	}
-	
+
 	/**
-	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
-	 * expressed as an array of arrays of <code>long</code>s.
-	 * 
-	 * If no order is done, input order is returned as is.
-	 * 
-	 * @param src A preorder of symbols.
-	 * @param fg Supplies the relative difference between a pair of symbols.
-	 * @param g Group operator.
-	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
-	 * @return A preorder of automorphic groups of symbols.
-	 * @since 1.0.0
+	 * Computes a hash of a sparse lexicographic key.
 	 */
-	public static long[][] groups(long[][] src, LongBinaryOperator fg, LongGroupOperator g, LongToIntBinaryOperator cmp) {
-		long[][] _src = propagate(src, fg, null, g, null);
-		long[][] ret = groups(_src, (long a, long b) -> compare(a,b, _src, fg, g), null);
-		return cmp==null ? ret : populate(long[].class, ret.length, (int p) -> order(ret[p].length, (int q) -> ret[p][q], cmp, null));
+	private static long _hash(int[] ks, int[] xs) {
+		long rt = ks.length;
+		for (int i=0; i<ks.length; i++) {
+			rt = (rt*31 + ks[i])*0x9e3779b97f4a7c15l + xs[i];
+		}
+		return rt;
 	}
-	
+
 	/**
-	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
-	 * expressed as an array of arrays of objects.
+	 * Computes a hash of a sparse lexicographic key.
+	 */
+	private static long _hash(int[] ks, long[] xs) {
+		long rt = ks.length;
+		for (int i=0; i<ks.length; i++) {
+			rt = (rt*31 + ks[i])*0x9e3779b97f4a7c15l + xs[i];
+		}
+		return rt;
+	}
+
+	/**
+	 * (P) Executes the iterative propagation part of relative order/comparision for a preorder
+	 * of symbols expressed as <code>long</code>s.
 	 * 
-	 * If no order is done, input order is returned as is.
+	 * <p>The relative difference of each symbol to each cell of the preorder is aggregated once per iteration
+	 * (and cached). Refinement is incremental: cells that were not split on the previous iteration are not
+	 * used as splitters again and the aggregate for the largest part of a split cell is derived from those of
+	 * the other parts (the "process the smaller half" rule).</p>
+	 * 
+	 * <p>With {@link LongGroupOperator#ADDITIVE_EXACT}, a cell in which an overflow occurs is refined again with
+	 * wide aggregates (see {@link WideGroupOperator#ADDITIVE}).</p>
 	 * 
-	 * @param <T> Symbol type.
-	 * @param <E> Element type.
-	 * @param rc Symbol type.
 	 * @param src A preorder of symbols.
 	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param cmp Comparator for equivalent items; if null, the order between equivalent items is preserved.
 	 * @param g Group operator.
-	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
-	 * @return A preorder of automorphic groups of symbols.
+	 * @param fh Halting condition; if null, iteration is repeated as long as differences are found.
+	 * @return An order of symbols.
 	 * @since 1.0.0
 	 */
-	public static <T,E> T[][] groups(Class<? extends T> rc, T[][] src, BiFunction<T,T,E> fg, GroupOperator<E> g, Comparator<T> cmp) {
-		T[][] _src = propagate(rc, src, fg, null, g, null);
-		T[][] ret = groups(rc, _src, (T a, T b) -> compare(rc, a,b, _src, fg, g), null);
-		return cmp==null ? ret : populate(wrap(rc), ret.length, (int p) -> order(rc, ret[p].length, (int q) -> ret[p][q], cmp, null));
+	public static long[][] propagate(long[][] src, LongBinaryOperator fg, LongToIntBinaryOperator cmp, LongGroupOperator g, Predicate<long[][]> fh) {
+		return propagate(src, fg, cmp, g, fh, null);
 	}
 
-	/* ORDER/R */
-
 	/**
-	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
-	 * as an array of arrays of <code>int</code>s.
+	 * (P) Executes the iterative propagation part of relative order/comparision for a preorder
+	 * of symbols expressed as <code>long</code>s.
+	 * 
+	 * <p>The relative difference of each symbol to each cell of the preorder is aggregated once per iteration
+	 * (and cached). Refinement is incremental: cells that were not split on the previous iteration are not
+	 * used as splitters again and the aggregate for the largest part of a split cell is derived from those of
+	 * the other parts (the "process the smaller half" rule).</p>
+	 * 
+	 * <p>With {@link LongGroupOperator#ADDITIVE_EXACT}, a cell in which an overflow occurs is refined again with
+	 * wide aggregates (see {@link WideGroupOperator#ADDITIVE}).</p>
 	 * 
 	 * @param src A preorder of symbols.
 	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param cmp Comparator for equivalent items; if null, the order between equivalent items is preserved.
 	 * @param g Group operator.
-	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
-	 * @return A canonical order of symbols.
-	 * @since 1.0.0
+	 * @param fh Halting condition; if null, iteration is repeated as long as differences are found.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return An order of symbols.
+	 * @since 1.2.0
 	 */
-	public static int[] order(int[][] src, IntBinaryOperator fg, IntGroupOperator g, IntBinaryOperator cmp) {
-		int[] ret = EMPTY_INT;
-		while (true) {
-			src = groups(src, fg, g, null);
-			int[][] _src = src;
-			int pv = search(src.length, 0, (int p) -> _src[p].length>1);
-			ret = join(populate(src.length-pv-1, (int p) -> _src[p+pv+1][0]), ret);
-			if (pv==-1) {
-				break;
-			}
-			
-			int sp = cmp==null ? 0 : search(0, src[pv].length, (int nr, int or) -> cmp.applyAsInt(_src[pv][nr], _src[pv][or])>0);
-			int[] ss = new int[src[pv].length-1];
-			System.arraycopy(src[pv], 0, ss, 0, sp);
-			System.arraycopy(src[pv], sp+1, ss, sp, src[pv].length-sp-1);
-			
-			int[][] po = propagate(new int[][] { ss, { src[pv][sp] } }, fg, null, g, null);
-			int[][] nsrc = new int[po.length+pv][];
-			System.arraycopy(src, 0, nsrc, 0, pv);
-			System.arraycopy(po, 0, nsrc, pv, po.length);
+	public static long[][] propagate(long[][] src, LongBinaryOperator fg, LongToIntBinaryOperator cmp, LongGroupOperator g, Predicate<long[][]> fh, RefinementListener<? super long[][]> fr) {
+		if (fr!=null) {
+			fr.beforePropagate(src);
+		}
+		int[] ff = null;
+		int[] fl = null;
+		while (fh==null || fh.test(src)) {
+			long[][] _src = src;
+			int[] _ff = ff;
+			int[] _fl = fl;
+			long[][][] rt = populate(long[][].class, src.length, (int p) -> {
+				if (_src[p].length<=1) {
+					return null;
+				}
+				long[][] r = g==LongGroupOperator.ADDITIVE_EXACT ? _propagateExact(_src[p], _src, _ff, _fl, fg, cmp) : _propagate(_src[p], _src, _ff, _fl, fg, cmp, g);
+				return r.length==1 ? null : r;
+			});
+			int ln = 0;
+			for (int i=0; i<rt.length; i++) {
+				ln += rt[i]==null ? 1 : rt[i].length;
+			}
+			if (ln==src.length) {
+				break;
+			}
+			long[][] nsrc = new long[ln][];
+			ff = new int[ln];
+			fl = new int[ln];
+			for (int i=0, q=0; i<rt.length; i++) {
+				if (rt[i]==null) {
+					nsrc[q] = src[i];
+					ff[q] = q;
+					fl[q] = q;
+					q++;
+				} else {
+					int l = q;
+					for (int j=0; j<rt[i].length; j++) {
+						nsrc[q+j] = rt[i][j];
+						if (rt[i][j].length>nsrc[l].length) {
+							l = q+j;
+						}
+					}
+					for (int j=0; j<rt[i].length; j++) {
+						ff[q+j] = q;
+						fl[q+j] = l;
+					}
+					q += rt[i].length;
+				}
+			}
 			src = nsrc;
+			if (fr!=null) {
+				fr.iterPropagate(src);
+			}
 		}
-		return ret;
+		if (fr!=null) {
+			fr.afterPropagate(src);
+		}
+		return src;
+	}
+
+	private static long[][] _propagate(long[] vs, long[][] src, int[] ff, int[] fl, LongBinaryOperator fg, LongToIntBinaryOperator cmp, LongGroupOperator g) {
+		int[][] rt = new int[][] { populate(vs.length, (int p) -> p) };
+		long[] sv = new long[vs.length];
+		for (int e=src.length; e>0 && rt.length<vs.length; ) {
+			int f = ff==null ? e-1 : ff[e-1];
+			int l = fl==null ? -1 : fl[e-1];
+			if (f==e-1 && l==e-1) {
+				e--;
+				continue;
+			}
+			long[] ss = null;
+			long[][] ps = null;
+			if (l>=0) {
+				long id = g.identityAsLong();
+				ss = populate(vs.length, (int p) -> id);
+			}
+			for (int k=e-1; k>=f && rt.length<vs.length; k--) {
+				int[][] _rt = rt;
+				int[] as = joinAsInt(rt.length, (int p) -> _rt[p].length>1 ? _rt[p] : EMPTY_INT);
+				long[] cv;
+				if (ps!=null && k<l) {
+					cv = ps[k-f];
+				} else if (k==l && _cost(src, f, l)<src[l].length) {
+					long[] _ss = ss;
+					ps = populate(long[].class, l-f, (int j) -> {
+						long[] rs = new long[vs.length];
+						_aggregate(as, vs, src[j+f], rs, fg, g);
+						return rs;
+					});
+					long[][] _ps = ps;
+					execute(0, as.length, (int q) -> {
+						int p = as[q];
+						for (int j=0; j<_ps.length; j++) {
+							_ss[p] = g.applyAsLong(_ss[p], _ps[j][p]);
+						}
+					});
+					long[] cs = src[l];
+					long sa = g.applyAsLong(_ss[as[0]], _aggregate(vs[as[0]], cs, fg, g));
+					execute(0, as.length, (int q) -> sv[as[q]] = g.cancelAsLong(sa, _ss[as[q]]));
+					cv = sv;
+				} else {
+					_aggregate(as, vs, src[k], sv, fg, g);
+					if (k>l && l>=0) {
+						long[] _ss = ss;
+						execute(0, as.length, (int q) -> _ss[as[q]] = g.applyAsLong(_ss[as[q]], sv[as[q]]));
+					}
+					cv = sv;
+				}
+				long[] _cv = cv;
+				rt = join(int[].class, rt.length, (int p) -> {
+					int[] ws = _rt[p];
+					if (ws.length<=1) {
+						return new int[][] { ws };
+					}
+					int[][] qs = _groups(ws.length, (int q) -> _cv[ws[q]], (int u, int v) -> g.signum(g.cancelAsLong(_cv[ws[u]], _cv[ws[v]])));
+					return qs.length==1 ? new int[][] { ws } : populate(int[].class, qs.length, (int q) -> populate(qs[q].length, (int r) -> ws[qs[q][r]]));
+				});
+			}
+			e = f;
+		}
+		if (rt.length==1) {
+			return new long[][] { vs };
+		}
+		int[][] ret = rt;
+		return populate(long[].class, ret.length, (int p) -> ret[p].length<=1 || cmp==null
+				? populate(ret[p].length, (int q) -> vs[ret[p][q]])
+				: order(ret[p].length, (int q) -> vs[ret[p][q]], cmp, (long u, long v) -> u));
+	}
+
+	private static int _cost(long[][] src, int from, int to) {
+		int rt = 0;
+		for (int i=from; i<to; i++) {
+			rt += src[i].length;
+		}
+		return rt;
+	}
+
+	private static void _aggregate(int[] as, long[] vs, long[] cs, long[] rs, LongBinaryOperator fg, LongGroupOperator g) {
+		if (fg instanceof LongMatrix) {
+			LongMatrix m = (LongMatrix) fg;
+			execute(0, as.length, (int q) -> rs[as[q]] = m.aggregate((int) vs[as[q]], cs, g));
+		} else if (fg instanceof DoubledLongMatrix) {
+			DoubledLongMatrix m = (DoubledLongMatrix) fg;
+			execute(0, as.length, (int q) -> rs[as[q]] = m.aggregate(vs[as[q]], cs, g));
+		} else {
+			execute(0, as.length, (int q) -> rs[as[q]] = _aggregate(vs[as[q]], cs, fg, g));
+		}
+	}
+
+	private static long[][] _propagateExact(long[] vs, long[][] src, int[] ff, int[] fl, LongBinaryOperator fg, LongToIntBinaryOperator cmp) {
+		AtomicBoolean ov = new AtomicBoolean();
+		long[][] ret = _propagate(vs, src, ff, fl, fg, cmp, new LongGroupOperator() {
+
+			@Override
+			public int signum(long v) {
+				return Long.signum(v);
+			}
+
+			@Override
+			public long identityAsLong() {
+				return 0;
+			}
+
+			@Override
+			public long applyAsLong(long a, long b) {
+				long r = a+b;
+				if (((a^r)&(b^r))<0) {
+					ov.set(true);
+				}
+				return r;
+			}
+
+			@Override
+			public long cancelAsLong(long a, long b) {
+				long r = a-b;
+				if (((a^b)&(a^r))<0) {
+					ov.set(true);
+				}
+				return r;
+			}
+
+		});
+		return ov.get() ? _propagate(vs, src, ff, fl, fg, cmp, WideGroupOperator.ADDITIVE) : ret;
+	}
+
+	private static long _aggregate(long v, long[] cs, LongBinaryOperator fg, LongGroupOperator g) {
+		return g.applyAsLong(0, cs.length, (int r) -> fg.applyAsLong(v, cs[r]));
 	}
 
 	/**
-	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
-	 * as an array of arrays of <code>long</code>s.
+	 * (P) Executes the iterative propagation part of relative order/comparision for a preorder
+	 * of symbols expressed as <code>long</code>s.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 * 
+	 * <p>The relative difference of each symbol to each cell of the preorder is aggregated once per iteration
+	 * (and cached). Refinement is incremental: cells that were not split on the previous iteration are not
+	 * used as splitters again and the aggregate for the largest part of a split cell is derived from those of
+	 * the other parts (the "process the smaller half" rule).</p>
 	 * 
+	 * @param <T> Symbol type.
+	 * @param <E> Element type.
+	 * @param rc Symbol type.
 	 * @param src A preorder of symbols.
 	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param cmp Comparator for equivalent items; if null, the order between equivalent items is preserved.
 	 * @param g Group operator.
-	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
-	 * @return A canonical order of symbols.
+	 * @param fh Halting condition; if null, iteration is repeated as long as differences are found.
+	 * @return An order of symbols.
 	 * @since 1.0.0
 	 */
-	public static long[] order(long[][] src, LongBinaryOperator fg, LongGroupOperator g, LongToIntBinaryOperator cmp) {
-		long[] ret = EMPTY_LONG;
-		while (true) {
-			src = groups(src, fg, g, null);
-			long[][] _src = src;
-			int pv = search(src.length, 0, (int p) -> _src[p].length>1);
-			ret = join(populate(src.length-pv-1, (int p) -> _src[p+pv+1][0]), ret);
-			if (pv==-1) {
-				break;
-			}
-
-			int sp = cmp==null ? 0 : search(0, src[pv].length, (int nr, int or) -> cmp.applyAsInt(_src[pv][nr], _src[pv][or])>0);
-			long[] ss = new long[src[pv].length-1];
-			System.arraycopy(src[pv], 0, ss, 0, sp);
-			System.arraycopy(src[pv], sp+1, ss, sp, src[pv].length-sp-1);
-			
-			long[][] po = propagate(new long[][] { ss, { src[pv][sp] } }, fg, null, g, null);
-			long[][] nsrc = new long[po.length+pv][];
-			System.arraycopy(src, 0, nsrc, 0, pv);
-			System.arraycopy(po, 0, nsrc, pv, po.length);
-			src = nsrc;
-		}
-		return ret;
+	public static <T,E> T[][] propagate(Class<? extends T> rc, T[][] src, BiFunction<T,T,E> fg, Comparator<T> cmp, GroupOperator<E> g, Predicate<T[][]> fh) {
+		return propagate(rc, src, fg, cmp, g, fh, null);
 	}
 
 	/**
-	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
-	 * as an array of arrays of objects.
+	 * (P) Executes the iterative propagation part of relative order/comparision for a preorder
+	 * of symbols expressed as objects (of type <code>T</code>).
+	 * 
+	 * If no order is done, input order is returned as is.
+	 * 
+	 * <p>The relative difference of each symbol to each cell of the preorder is aggregated once per iteration
+	 * (and cached). Refinement is incremental: cells that were not split on the previous iteration are not
+	 * used as splitters again and the aggregate for the largest part of a split cell is derived from those of
+	 * the other parts (the "process the smaller half" rule).</p>
 	 * 
 	 * @param <T> Symbol type.
 	 * @param <E> Element type.
 	 * @param rc Symbol type.
 	 * @param src A preorder of symbols.
 	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param cmp Comparator for equivalent items; if null, the order between equivalent items is preserved.
 	 * @param g Group operator.
-	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
-	 * @return A canonical order of symbols.
-	 * @since 1.0.0
+	 * @param fh Halting condition; if null, iteration is repeated as long as differences are found.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return An order of symbols.
+	 * @since 1.2.0
 	 */
 	@SuppressWarnings("unchecked")
-	public static <T,E> T[] order(Class<? extends T> rc, T[][] src, BiFunction<T,T,E> fg, GroupOperator<E> g, Comparator<T> cmp) {
-		Class<? extends T[]> rca = wrap(rc);
-		T[] ret = empty(rc);
-		while (true) {
-			src = groups(rc, src, fg, g, null);
+	public static <T,E> T[][] propagate(Class<? extends T> rc, T[][] src, BiFunction<T,T,E> fg, Comparator<T> cmp, GroupOperator<E> g, Predicate<T[][]> fh, RefinementListener<? super T[][]> fr) {
+		if (fr!=null) {
+			fr.beforePropagate(src);
+		}
+		Class<? extends T[]> wrc = wrap(rc);
+		Class<? extends T[][]> wwrc = wrap(wrc);
+		int[] ff = null;
+		int[] fl = null;
+		while (fh==null || fh.test(src)) {
 			T[][] _src = src;
-			int pv = search(src.length, 0, (int p) -> _src[p].length>1);
-			ret = join(populate(rc, src.length-pv-1, (int p) -> _src[p+pv+1][0]), ret);
-			if (pv==-1) {
+			int[] _ff = ff;
+			int[] _fl = fl;
+			T[][][] rt = populate(wwrc, src.length, (int p) -> {
+				if (_src[p].length<=1) {
+					return null;
+				}
+				T[][] r = _propagate(rc, _src[p], _src, _ff, _fl, fg, cmp, g);
+				return r.length==1 ? null : r;
+			});
+			int ln = 0;
+			for (int i=0; i<rt.length; i++) {
+				ln += rt[i]==null ? 1 : rt[i].length;
+			}
+			if (ln==src.length) {
 				break;
 			}
-			
-			int sp = cmp==null ? 0 : search(0, src[pv].length, (int nr, int or) -> cmp.compare(_src[pv][nr], _src[pv][or])>0);
-			T[] ss = (T[]) Array.newInstance(rc, src[pv].length-1);
-			System.arraycopy(src[pv], 0, ss, 0, sp);
-			System.arraycopy(src[pv], sp+1, ss, sp, src[pv].length-sp-1);
-
-			T[][] po = (T[][]) Array.newInstance(rca,2);
-			po[0] = ss;
-			po[1] = wrap(rc, src[pv][sp]);
-
-			po = propagate(rc, po, fg, null, g, null);
-			T[][] nsrc = (T[][]) Array.newInstance(rca,po.length+pv);
-			System.arraycopy(src, 0, nsrc, 0, pv);
-			System.arraycopy(po, 0, nsrc, pv, po.length);
+			T[][] nsrc = (T[][]) Array.newInstance(wrc, ln);
+			ff = new int[ln];
+			fl = new int[ln];
+			for (int i=0, q=0; i<rt.length; i++) {
+				if (rt[i]==null) {
+					nsrc[q] = src[i];
+					ff[q] = q;
+					fl[q] = q;
+					q++;
+				} else {
+					int l = q;
+					for (int j=0; j<rt[i].length; j++) {
+						nsrc[q+j] = rt[i][j];
+						if (rt[i][j].length>nsrc[l].length) {
+							l = q+j;
+						}
+					}
+					for (int j=0; j<rt[i].length; j++) {
+						ff[q+j] = q;
+						fl[q+j] = l;
+					}
+					q += rt[i].length;
+				}
+			}
 			src = nsrc;
+			if (fr!=null) {
+				fr.iterPropagate(src);
+			}
 		}
-		return ret;
+		if (fr!=null) {
+			fr.afterPropagate(src);
+		}
+		return src;
 	}
 
-
-	/* WRAP */
-
-	/**
-	 * Wraps an object with an array (intended for internal use).
-	 * 
-	 * @param <T> Item type.
-	 * @param rc Item type.
-	 * @param v Item.
-	 * @return An array.
-	 * @since 1.1.0
-	 */
 	@SuppressWarnings("unchecked")
-	public static <T> T[] wrap(Class<? extends T> rc, T v) {
-		T[] rt = (T[]) Array.newInstance(rc, 1);
-		rt[0] = v;
-		return rt;
+	private static <T,E> T[][] _propagate(Class<? extends T> rc, T[] vs, T[][] src, int[] ff, int[] fl, BiFunction<T,T,E> fg, Comparator<T> cmp, GroupOperator<E> g) {
+		Class<? extends T[]> wrc = wrap(rc);
+		int[][] rt = new int[][] { populate(vs.length, (int p) -> p) };
+		E[] sv = (E[]) new Object[vs.length];
+		for (int e=src.length; e>0 && rt.length<vs.length; ) {
+			int f = ff==null ? e-1 : ff[e-1];
+			int l = fl==null ? -1 : fl[e-1];
+			if (f==e-1 && l==e-1) {
+				e--;
+				continue;
+			}
+			E[] ss = null;
+			E[][] ps = null;
+			if (l>=0) {
+				E id = g.identity();
+				ss = (E[]) new Object[vs.length];
+				Arrays.fill(ss, id);
+			}
+			for (int k=e-1; k>=f && rt.length<vs.length; k--) {
+				int[][] _rt = rt;
+				int[] as = joinAsInt(rt.length, (int p) -> _rt[p].length>1 ? _rt[p] : EMPTY_INT);
+				E[] cv;
+				if (ps!=null && k<l) {
+					cv = ps[k-f];
+				} else if (k==l && _cost(src, f, l)<src[l].length) {
+					E[] _ss = ss;
+					E[][] _ps = (E[][]) new Object[l-f][];
+					execute(0, l-f, (int j) -> {
+						_ps[j] = (E[]) new Object[vs.length];
+						_aggregate(as, vs, src[j+f], _ps[j], fg, g);
+					});
+					ps = _ps;
+					execute(0, as.length, (int q) -> {
+						int p = as[q];
+						for (int j=0; j<_ps.length; j++) {
+							_ss[p] = g.apply(_ss[p], _ps[j][p]);
+						}
+					});
+					T[] cs = src[l];
+					E sa = g.apply(_ss[as[0]], g.apply(0, cs.length, (int r) -> fg.apply(vs[as[0]], cs[r])));
+					execute(0, as.length, (int q) -> sv[as[q]] = g.cancel(sa, _ss[as[q]]));
+					cv = sv;
+				} else {
+					_aggregate(as, vs, src[k], sv, fg, g);
+					if (k>l && l>=0) {
+						E[] _ss = ss;
+						execute(0, as.length, (int q) -> _ss[as[q]] = g.apply(_ss[as[q]], sv[as[q]]));
+					}
+					cv = sv;
+				}
+				E[] _cv = cv;
+				rt = join(int[].class, rt.length, (int p) -> {
+					int[] ws = _rt[p];
+					if (ws.length<=1) {
+						return new int[][] { ws };
+					}
+					int[][] qs = _groups(ws.length, (int q) -> Objects.hashCode(_cv[ws[q]]), (int u, int v) -> g.signum(g.cancel(_cv[ws[u]], _cv[ws[v]])));
+					return qs.length==1 ? new int[][] { ws } : populate(int[].class, qs.length, (int q) -> populate(qs[q].length, (int r) -> ws[qs[q][r]]));
+				});
+			}
+			e = f;
+		}
+		if (rt.length==1) {
+			return wrap(wrc, vs);
+		}
+		int[][] ret = rt;
+		return populate(wrc, ret.length, (int p) -> ret[p].length<=1 || cmp==null
+				? populate(rc, ret[p].length, (int q) -> vs[ret[p][q]])
+				: order(rc, ret[p].length, (int q) -> vs[ret[p][q]], cmp, (T u, T v) -> u));
 	}
 
-	/**
-	 * Wraps a pair of objects with an array (intended for internal use).
-	 * 
-	 * @param <T> Item type.
-	 * @param rc Item type.
-	 * @param a First item.
-	 * @param b Second item.
-	 * @return An array.
-	 * @since 1.1.0
-	 */
-	@SuppressWarnings("unchecked")
-	public static <T> T[] wrap(Class<? extends T> rc, T a, T b) {
-		T[] rt = (T[]) Array.newInstance(rc, 2);
-		rt[0] = a;
-		rt[1] = b;
+	private static <T> int _cost(T[][] src, int from, int to) {
+		int rt = 0;
+		for (int i=from; i<to; i++) {
+			rt += src[i].length;
+		}
 		return rt;
 	}
-	
+
+	private static <T,E> void _aggregate(int[] as, T[] vs, T[] cs, E[] rs, BiFunction<T,T,E> fg, GroupOperator<E> g) {
+		execute(0, as.length, (int q) -> rs[as[q]] = g.apply(0, cs.length, (int r) -> fg.apply(vs[as[q]], cs[r])));
+	}
+
 	/**
-	 * Wraps a type into an array type (intended for internal use).
-	 * @param <T> Item type.
-	 * @param rc Item type.
-	 * @return An array type.
-	 * @since 1.0.0
+	 * Executes the iterative propagation part of relative comparision for a preorder of symbols expressed as
+	 * <code>int</code>s (indices of objects), with relative differences expressed as objects.
 	 */
+	private static <E> int[][] _propagate(int[][] src, IntBiFunction<E> fg, GroupOperator<E> g, Predicate<int[][]> fh) {
+		int[] ff = null;
+		int[] fl = null;
+		while (fh==null || fh.test(src)) {
+			int[][] _src = src;
+			int[] _ff = ff;
+			int[] _fl = fl;
+			int[][][] rt = populate(int[][].class, src.length, (int p) -> {
+				if (_src[p].length<=1) {
+					return null;
+				}
+				int[][] r = _propagate(_src[p], _src, _ff, _fl, fg, g);
+				return r.length==1 ? null : r;
+			});
+			int ln = 0;
+			for (int i=0; i<rt.length; i++) {
+				ln += rt[i]==null ? 1 : rt[i].length;
+			}
+			if (ln==src.length) {
+				break;
+			}
+			int[][] nsrc = new int[ln][];
+			ff = new int[ln];
+			fl = new int[ln];
+			for (int i=0, q=0; i<rt.length; i++) {
+				if (rt[i]==null) {
+					nsrc[q] = src[i];
+					ff[q] = q;
+					fl[q] = q;
+					q++;
+				} else {
+					int l = q;
+					for (int j=0; j<rt[i].length; j++) {
+						nsrc[q+j] = rt[i][j];
+						if (rt[i][j].length>nsrc[l].length) {
+							l = q+j;
+						}
+					}
+					for (int j=0; j<rt[i].length; j++) {
+						ff[q+j] = q;
+						fl[q+j] = l;
+					}
+					q += rt[i].length;
+				}
+			}
+			src = nsrc;
+		}
+		return src;
+	}
+
 	@SuppressWarnings("unchecked")
-	public static <T> Class<T[]> wrap(Class<? extends T> rc) {
-		return (Class<T[]>) Array.newInstance(rc, 0).getClass();
+	private static <E> int[][] _propagate(int[] vs, int[][] src, int[] ff, int[] fl, IntBiFunction<E> fg, GroupOperator<E> g) {
+		int[][] rt = new int[][] { populate(vs.length, (int p) -> p) };
+		E[] sv = (E[]) new Object[vs.length];
+		for (int e=src.length; e>0 && rt.length<vs.length; ) {
+			int f = ff==null ? e-1 : ff[e-1];
+			int l = fl==null ? -1 : fl[e-1];
+			if (f==e-1 && l==e-1) {
+				e--;
+				continue;
+			}
+			E[] ss = null;
+			E[][] ps = null;
+			if (l>=0) {
+				E id = g.identity();
+				ss = (E[]) new Object[vs.length];
+				Arrays.fill(ss, id);
+			}
+			for (int k=e-1; k>=f && rt.length<vs.length; k--) {
+				int[][] _rt = rt;
+				int[] as = joinAsInt(rt.length, (int p) -> _rt[p].length>1 ? _rt[p] : EMPTY_INT);
+				E[] cv;
+				if (ps!=null && k<l) {
+					cv = ps[k-f];
+				} else if (k==l && _cost(src, f, l)<src[l].length) {
+					E[] _ss = ss;
+					E[][] _ps = (E[][]) new Object[l-f][];
+					execute(0, l-f, (int j) -> {
+						_ps[j] = (E[]) new Object[vs.length];
+						_aggregate(as, vs, src[j+f], _ps[j], fg, g);
+					});
+					ps = _ps;
+					execute(0, as.length, (int q) -> {
+						int p = as[q];
+						for (int j=0; j<_ps.length; j++) {
+							_ss[p] = g.apply(_ss[p], _ps[j][p]);
+						}
+					});
+					int[] cs = src[l];
+					E sa = g.apply(_ss[as[0]], g.apply(0, cs.length, (int r) -> fg.apply(vs[as[0]], cs[r])));
+					execute(0, as.length, (int q) -> sv[as[q]] = g.cancel(sa, _ss[as[q]]));
+					cv = sv;
+				} else {
+					_aggregate(as, vs, src[k], sv, fg, g);
+					if (k>l && l>=0) {
+						E[] _ss = ss;
+						execute(0, as.length, (int q) -> _ss[as[q]] = g.apply(_ss[as[q]], sv[as[q]]));
+					}
+					cv = sv;
+				}
+				E[] _cv = cv;
+				rt = join(int[].class, rt.length, (int p) -> {
+					int[] ws = _rt[p];
+					if (ws.length<=1) {
+						return new int[][] { ws };
+					}
+					int[][] qs = _groups(ws.length, (int q) -> Objects.hashCode(_cv[ws[q]]), (int u, int v) -> g.signum(g.cancel(_cv[ws[u]], _cv[ws[v]])));
+					return qs.length==1 ? new int[][] { ws } : populate(int[].class, qs.length, (int q) -> populate(qs[q].length, (int r) -> ws[qs[q][r]]));
+				});
+			}
+			e = f;
+		}
+		if (rt.length==1) {
+			return new int[][] { vs };
+		}
+		int[][] ret = rt;
+		return populate(int[].class, ret.length, (int p) -> populate(ret[p].length, (int q) -> vs[ret[p][q]]));
+	}
+
+	private static <E> void _aggregate(int[] as, int[] vs, int[] cs, E[] rs, IntBiFunction<E> fg, GroupOperator<E> g) {
+		execute(0, as.length, (int q) -> rs[as[q]] = g.apply(0, cs.length, (int r) -> fg.apply(vs[as[q]], cs[r])));
 	}
+
+	/* COMPARE/R */
 	
 	/**
-	 * Returns an empty array of the supplied type (intended for internal use).
-	 * @param <T> Item type.
-	 * @param rc Item type.
-	 * @return An empty array.
+	 * (P) Computes the relative order between a pair of symbols expressed as <code>int</code>s.
+	 * Returns -1, 0 or 1, depending whether left symbol is less than (absolute),
+	 * equivalent to (neutral) or more than (relative) the right symbol.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 *  
+	 * @param a Left symbol.
+	 * @param b Right symbol.
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @return Result of comparision (-1, 0 or 1).
 	 * @since 1.0.0
 	 */
-	@SuppressWarnings("unchecked")
-	public static <T> T[] empty(Class<? extends T> rc) {
-		return (T[]) Array.newInstance(rc, 0);
+	public static int compare(int a, int b, int[][] src, IntBinaryOperator fg, IntGroupOperator g) {
+		return _compare(a, b, src, fg, g, null);
 	}
-	
-	/* MERGE/ANARY */
 
 	/**
-	 * (P) Applies an anary set operation to an array of sets of <code>int</code>s.
+	 * Computes the relative order between a pair of symbols expressed as <code>int</code>s; if the symbols are
+	 * equivalent, an automorphism mapping the left symbol to the right symbol is searched for (if <code>fa</code> is not null).
+	 */
+	private static int _compare(int a, int b, int[][] src, IntBinaryOperator fg, IntGroupOperator g, Automorphisms fa) {
+		if (a==b) {
+			return 0;
+		}
+		
+		IntBinaryOperator fd = fg instanceof IntMatrix
+				? new DoubledIntMatrix((IntMatrix) fg, g.identityAsInt())
+				: (int u, int v) -> (u&1)==(v&1)
+					? fg.applyAsInt(u>>1, v>>1)
+					: g.identityAsInt();
+		int[][] rt = propagate(_double(a, b, src), fd, null, g, (int[][] s) -> s[0].length==2);
+		
+		if (rt[0].length!=2) {
+			return rt[0][0]==a<<1 ? -1 : 1;
+		}
+		if (fa!=null) {
+			_automorphism(rt, (int[][] s, int[] ff) -> _propagate(s, ff, ff, fd, null, g, null, null), fa);
+		}
+		return 0;
+	}
+
+	/**
+	 * Individualizes a propagated doubled preorder (a pair of symbols of the first cell of each cell of more than
+	 * two symbols) until it's discrete; if it stays balanced (each cell has as many left symbols as right symbols),
+	 * the pairs of left and right symbols define an automorphism (as the aggregates are equal for each pair).
+	 * The individualized preorder is propagated by <code>fp</code>, with the families of splitters.
+	 */
+	private static void _automorphism(int[][] src, BiFunction<int[][], int[], int[][]> fp, Automorphisms fa) {
+		while (true) {
+			int[][] _src = src;
+			if (search(0, src.length, (int p) -> _balance(_src[p])!=0)!=src.length) {
+				return;
+			}
+			int c = search(0, src.length, (int p) -> _src[p].length>2);
+			if (c==src.length) {
+				break;
+			}
+			int[] ws = src[c];
+			int x = ws[search(0, ws.length, (int q) -> (ws[q]&1)==0)];
+			int y = ws[search(0, ws.length, (int q) -> (ws[q]&1)==1)];
+			int[][] nsrc = new int[src.length+1][];
+			System.arraycopy(src, 0, nsrc, 0, c);
+			nsrc[c] = joinAsInt(ws.length, (int q) -> ws[q]==x || ws[q]==y ? EMPTY_INT : new int[] { ws[q] });
+			nsrc[c+1] = new int[] { x, y };
+			System.arraycopy(src, c+1, nsrc, c+2, src.length-c-1);
+			int[] ff = populate(nsrc.length, (int p) -> p==c+1 ? c : p);
+			src = fp.apply(nsrc, ff);
+		}
+		int[][] _src = src;
+		fa.add(populate(src.length, (int p) -> _src[p][(_src[p][0]&1)]>>1), populate(src.length, (int p) -> _src[p][1-(_src[p][0]&1)]>>1));
+	}
+	
+	/**
+	 * Returns the difference between the numbers of left and right symbols of a cell of a doubled preorder.
+	 */
+	private static int _balance(int[] ws) {
+		int rt = 0;
+		for (int i=0; i<ws.length; i++) {
+			rt += (ws[i]&1)==0 ? 1 : -1;
+		}
+		return rt;
+	}
+	
+	/**
+	 * Doubles a preorder of symbols expressed as <code>int</code>s for comparision; the left symbol
+	 * and the right symbol are individualized as <code>a&lt;&lt;1</code> and <code>(b&lt;&lt;1)|1</code>.
+	 */
+	private static int[][] _double(int a, int b, int[][] src) {
+		return populate(int[].class, src.length+1, (int p) -> {
+			if (p==0) {
+				return new int[] { a<<1, (b<<1)|1 };
+			} else {
+				int[] ks = src[p-1];
+				int[] rs = new int[ks.length<<1];
+				int q=0;
+				for (int i=0; i<ks.length; i++) {
+					if (ks[i]!=a) {
+						rs[q++] = ks[i]<<1;
+					}
+					if (ks[i]!=b) {
+						rs[q++] = (ks[i]<<1)|1;
+					}
+				}
+				return q==rs.length ? rs : Arrays.copyOf(rs, q);
+			}
+		});
+	}
+	
+	/**
+	 * A view of a dense matrix for a doubled preorder: symbols of the same side are related as by the matrix,
+	 * symbols of different sides by the identity; rows are aggregated by scanning the matrix directly.
+	 */
+	private static final class DoubledIntMatrix implements IntBinaryOperator {
+		
+		private final IntMatrix m;
+		private final int id;
+		
+		DoubledIntMatrix(IntMatrix m, int id) {
+			this.m = m;
+			this.id = id;
+		}
+		
+		@Override
+		public int applyAsInt(int u, int v) {
+			return (u&1)==(v&1) ? m.applyAsInt(u>>1, v>>1) : id;
+		}
+		
+		int aggregate(int v, int[] cs, IntGroupOperator g) {
+			int a = v>>1;
+			int s = v&1;
+			int rt = g.identityAsInt();
+			if (g==IntGroupOperator.ADDITIVE) {
+				for (int i=0; i<cs.length; i++) {
+					if ((cs[i]&1)==s) {
+						rt += m.applyAsInt(a, cs[i]>>1);
+					}
+				}
+			} else {
+				for (int i=0; i<cs.length; i++) {
+					rt = g.applyAsInt(rt, (cs[i]&1)==s ? m.applyAsInt(a, cs[i]>>1) : id);
+				}
+			}
+			return rt;
+		}
+		
+	}
+	
+	/**
+	 * (P) Computes the relative order between a pair of symbols expressed as <code>long</code>s.
+	 * Returns -1, 0 or 1, depending whether left symbol is less than (absolute),
+	 * equivalent to (neutral) or more than (relative) the right symbol.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 *  
+	 * @param a Left symbol.
+	 * @param b Right symbol.
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @return Result of comparision (-1, 0 or 1).
+	 * @since 1.0.0
+	 */
+	public static int compare(long a, long b, long[][] src, LongBinaryOperator fg, LongGroupOperator g) {
+		if (a==b) {
+			return 0;
+		}
+		
+		LongBinaryOperator fd = fg instanceof LongMatrix
+				? new DoubledLongMatrix((LongMatrix) fg, g.identityAsLong())
+				: (long u, long v) -> (u&1)==(v&1)
+					? fg.applyAsLong(u>>1, v>>1)
+					: g.identityAsLong();
+		long[][] rt = propagate(_double(a, b, src), fd, null, g, (long[][] s) -> s[0].length==2);
+		
+		return rt[0].length==2 ? 0 : rt[0][0]==a<<1 ? -1 : 1;
+	}
+
+	/**
+	 * Doubles a preorder of symbols expressed as <code>long</code>s for comparision; the left symbol
+	 * and the right symbol are individualized as <code>a&lt;&lt;1</code> and <code>(b&lt;&lt;1)|1</code>.
+	 */
+	private static long[][] _double(long a, long b, long[][] src) {
+		return populate(long[].class, src.length+1, (int p) -> {
+			if (p==0) {
+				return new long[] { a<<1, (b<<1)|1 };
+			} else {
+				long[] ks = src[p-1];
+				long[] rs = new long[ks.length<<1];
+				int q=0;
+				for (int i=0; i<ks.length; i++) {
+					if (ks[i]!=a) {
+						rs[q++] = ks[i]<<1;
+					}
+					if (ks[i]!=b) {
+						rs[q++] = (ks[i]<<1)|1;
+					}
+				}
+				return q==rs.length ? rs : Arrays.copyOf(rs, q);
+			}
+		});
+	}
+	
+	/**
+	 * A view of a dense matrix for a doubled preorder of symbols expressed as <code>long</code>s
+	 * (see {@link DoubledIntMatrix}).
+	 */
+	private static final class DoubledLongMatrix implements LongBinaryOperator {
+		
+		private final LongMatrix m;
+		private final long id;
+		
+		DoubledLongMatrix(LongMatrix m, long id) {
+			this.m = m;
+			this.id = id;
+		}
+		
+		@Override
+		public long applyAsLong(long u, long v) {
+			return (u&1)==(v&1) ? m.get((int) (u>>1), (int) (v>>1)) : id;
+		}
+		
+		long aggregate(long v, long[] cs, LongGroupOperator g) {
+			int a = (int) (v>>1);
+			long s = v&1;
+			long rt = g.identityAsLong();
+			if (g==LongGroupOperator.ADDITIVE) {
+				for (int i=0; i<cs.length; i++) {
+					if ((cs[i]&1)==s) {
+						rt += m.get(a, (int) (cs[i]>>1));
+					}
+				}
+			} else {
+				for (int i=0; i<cs.length; i++) {
+					rt = g.applyAsLong(rt, (cs[i]&1)==s ? m.get(a, (int) (cs[i]>>1)) : id);
+				}
+			}
+			return rt;
+		}
+		
+		void aggregate(long[] rs, int r, long v, long[] cs, WideGroupOperator g) {
+			int a = (int) (v>>1);
+			long s = v&1;
+			g.identity(rs, r);
+			for (int i=0; i<cs.length; i++) {
+				g.apply(rs, r, (cs[i]&1)==s ? m.get(a, (int) (cs[i]>>1)) : id);
+			}
+		}
+		
+	}
+
+	/**
+	 * (P) Computes the relative order between a pair of symbols expressed as objects.
+	 * Returns -1, 0 or 1, depending whether left symbol is less than (absolute),
+	 * equivalent to (neutral) or more than (relative) the right symbol.
+	 *  
+	 * @param <T> Symbol type.
+	 * @param <E> Element type.
+	 * @param rc Symbol type.
+	 * @param a Left symbol.
+	 * @param b Right symbol.
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @return Result of comparision (-1, 0 or 1).
+	 * @since 1.0.0
+	 */
+	public static <T,E> int compare(Class<? extends T> rc, T a, T b, T[][] src, BiFunction<T,T,E> fg, GroupOperator<E> g) {
+		if (Objects.equals(a,b)) {
+			return 0;
+		}
+		T[] ts = join(join(rc, src.length, (int p) -> src[p]), wrap(rc, a, b));
+		int ln = ts.length-2;
+		int ia = search(0, ln, (int p) -> ts[p]==a);
+		int ib = search(0, ln, (int p) -> ts[p]==b);
+		return _compare(ia, ib==ln ? ln+1 : ib, _index(src), (int u, int v) -> fg.apply(ts[u], ts[v]), g);
+	}
+
+	/**
+	 * Computes the relative order between a pair of symbols expressed as indices (of objects); the doubled
+	 * preorder is refined by the kernel for <code>int</code>s, so that no objects are allocated for it.
+	 */
+	private static <E> int _compare(int a, int b, int[][] src, IntBiFunction<E> fg, GroupOperator<E> g) {
+		E id = g.identity();
+		int[][] rt = _propagate(_double(a, b, src),
+				(int u, int v) -> (u&1)==(v&1)
+					? fg.apply(u>>1, v>>1)
+					: id,
+				g,
+				(int[][] s) -> s[0].length==2);
+		
+		return rt[0].length==2 ? 0 : rt[0][0]==a<<1 ? -1 : 1;
+	}
+
+	/**
+	 * Replaces the symbols of a preorder by their indices (in order of appearance).
+	 */
+	private static <T> int[][] _index(T[][] src) {
+		int[] os = new int[src.length];
+		for (int i=1; i<src.length; i++) {
+			os[i] = os[i-1]+src[i-1].length;
+		}
+		return populate(int[].class, src.length, (int p) -> populate(src[p].length, (int q) -> os[p]+q));
+	}
+	
+	/* GROUPS/R */
+
+	/**
+	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
+	 * expressed as an array of arrays of <code>int</code>s.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
+	 * @return A preorder of automorphic groups of symbols.
+	 * @since 1.0.0
+	 */
+	public static int[][] groups(int[][] src, IntBinaryOperator fg, IntGroupOperator g, IntBinaryOperator cmp) {
+		return groups(src, fg, g, cmp, null);
+	}
+
+	/**
+	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
+	 * expressed as an array of arrays of <code>int</code>s.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return A preorder of automorphic groups of symbols.
+	 * @since 1.2.0
+	 */
+	public static int[][] groups(int[][] src, IntBinaryOperator fg, IntGroupOperator g, IntBinaryOperator cmp, RefinementListener<? super int[][]> fr) {
+		int[][] _src = propagate(src, fg, null, g, null, fr);
+		if (fr!=null) {
+			fr.beforeGroups(_src);
+		}
+		int[][] ret = _classes(_src, (int a, int b) -> {
+			int rt = compare(a,b, _src, fg, g);
+			if (fr!=null) {
+				fr.afterCompare(rt);
+			}
+			return rt;
+		});
+		if (fr!=null) {
+			fr.afterGroups(ret);
+		}
+		return cmp==null ? ret : populate(int[].class, ret.length, (int p) -> order(ret[p].length, (int q) -> ret[p][q], cmp, null));
+	}
+	
+	/**
+	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
+	 * expressed as an array of arrays of <code>long</code>s.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
+	 * @return A preorder of automorphic groups of symbols.
+	 * @since 1.0.0
+	 */
+	public static long[][] groups(long[][] src, LongBinaryOperator fg, LongGroupOperator g, LongToIntBinaryOperator cmp) {
+		return groups(src, fg, g, cmp, null);
+	}
+
+	/**
+	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
+	 * expressed as an array of arrays of <code>long</code>s.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return A preorder of automorphic groups of symbols.
+	 * @since 1.2.0
+	 */
+	public static long[][] groups(long[][] src, LongBinaryOperator fg, LongGroupOperator g, LongToIntBinaryOperator cmp, RefinementListener<? super long[][]> fr) {
+		long[][] _src = propagate(src, fg, null, g, null, fr);
+		if (fr!=null) {
+			fr.beforeGroups(_src);
+		}
+		long[][] ret = _classes(_src, (long a, long b) -> {
+			int rt = compare(a,b, _src, fg, g);
+			if (fr!=null) {
+				fr.afterCompare(rt);
+			}
+			return rt;
+		});
+		if (fr!=null) {
+			fr.afterGroups(ret);
+		}
+		return cmp==null ? ret : populate(long[].class, ret.length, (int p) -> order(ret[p].length, (int q) -> ret[p][q], cmp, null));
+	}
+	
+	/**
+	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
+	 * expressed as an array of arrays of objects.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 * 
+	 * @param <T> Symbol type.
+	 * @param <E> Element type.
+	 * @param rc Symbol type.
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
+	 * @return A preorder of automorphic groups of symbols.
+	 * @since 1.0.0
+	 */
+	public static <T,E> T[][] groups(Class<? extends T> rc, T[][] src, BiFunction<T,T,E> fg, GroupOperator<E> g, Comparator<T> cmp) {
+		return groups(rc, src, fg, g, cmp, null);
+	}
+
+	/**
+	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
+	 * expressed as an array of arrays of objects.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 * 
+	 * @param <T> Symbol type.
+	 * @param <E> Element type.
+	 * @param rc Symbol type.
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return A preorder of automorphic groups of symbols.
+	 * @since 1.2.0
+	 */
+	public static <T,E> T[][] groups(Class<? extends T> rc, T[][] src, BiFunction<T,T,E> fg, GroupOperator<E> g, Comparator<T> cmp, RefinementListener<? super T[][]> fr) {
+		T[][] _src = propagate(rc, src, fg, null, g, null, fr);
+		if (fr!=null) {
+			fr.beforeGroups(_src);
+		}
+		T[] ts = join(rc, _src.length, (int p) -> _src[p]);
+		int[][] is = _index(_src);
+		int[][] rs = _classes(is, (int a, int b) -> {
+			int rt = Objects.equals(ts[a], ts[b]) ? 0 : _compare(a, b, is, (int u, int v) -> fg.apply(ts[u], ts[v]), g);
+			if (fr!=null) {
+				fr.afterCompare(rt);
+			}
+			return rt;
+		});
+		T[][] ret = rs==is ? _src : populate(wrap(rc), rs.length, (int p) -> populate(rc, rs[p].length, (int q) -> ts[rs[p][q]]));
+		if (fr!=null) {
+			fr.afterGroups(ret);
+		}
+		return cmp==null ? ret : populate(wrap(rc), ret.length, (int p) -> order(rc, ret[p].length, (int q) -> ret[p][q], cmp, null));
+	}
+
+	/**
+	 * Groups the items of each cell of a preorder of <code>int</code>s by a comparator; equivalent to
+	 * <code>groups(src, cmp, null)</code>.
+	 */
+	private static int[][] _classes(int[][] src, IntBinaryOperator cmp) {
+		int[][] ret = join(int[].class, src.length, (int p) -> _classes(src[p], cmp));
+		return ret.length==src.length ? src : ret;
+	}
+
+	/**
+	 * Groups the items of a cell of <code>int</code>s by a comparator (the cell is returned as is if not split).
+	 */
+	private static int[][] _classes(int[] ws, IntBinaryOperator cmp) {
+		if (ws.length<=1) {
+			return new int[][] { ws };
+		}
+		int[][] rt = _classes(ws.length, (int u, int v) -> cmp.applyAsInt(ws[u], ws[v]));
+		return rt.length==1 ? new int[][] { ws } : populate(int[].class, rt.length, (int q) -> populate(rt[q].length, (int r) -> ws[rt[q][r]]));
+	}
+
+	/**
+	 * Groups the items of each cell of a preorder of <code>long</code>s by a comparator; equivalent to
+	 * <code>groups(src, cmp, null)</code>.
+	 */
+	private static long[][] _classes(long[][] src, LongToIntBinaryOperator cmp) {
+		long[][] ret = join(long[].class, src.length, (int p) -> {
+			long[] ws = src[p];
+			if (ws.length<=1) {
+				return new long[][] { ws };
+			}
+			int[][] rt = _classes(ws.length, (int u, int v) -> cmp.applyAsInt(ws[u], ws[v]));
+			return rt.length==1 ? new long[][] { ws } : populate(long[].class, rt.length, (int q) -> populate(rt[q].length, (int r) -> ws[rt[q][r]]));
+		});
+		return ret.length==src.length ? src : ret;
+	}
+
+	/**
+	 * (P) Groups a number of items (by index) into ordered classes of equivalent items; equivalent to
+	 * <code>groups(ln, (int p) -&gt; p, cmp, null)</code>.
+	 * 
+	 * <p>Intended for expensive comparators: no relation is computed twice (relations between other items follow
+	 * from transitivity). With local execution, the items are inserted one by one (see <code>_insert</code>),
+	 * otherwise they are partitioned by a pivot in parallel (see <code>_partition</code>).</p>
+	 */
+	private static int[][] _classes(int ln, IntBinaryOperator cmp) {
+		return xs==ExecutionStrategy.LOCAL ? _insert(ln, cmp) : _partition(populate(ln, (int p) -> p), cmp);
+	}
+
+	/**
+	 * Groups a number of items (by index) into ordered classes of equivalent items by insertion.
+	 * 
+	 * <p>Each item is compared to the representatives (first items) of the classes found so far only, which are
+	 * kept in order, so that a binary search is sufficient. The number of comparisons is hence <code>O(k log c)</code>
+	 * for <code>k</code> items in <code>c</code> classes (<code>k-1</code> if all items are equivalent).</p>
+	 */
+	private static int[][] _insert(int ln, IntBinaryOperator cmp) {
+		int[] rs = new int[ln];
+		int[] cs = new int[ln];
+		int rn = 0;
+		for (int i=0; i<ln; i++) {
+			int _i = i;
+			int p = search(0, rn, (int q) -> cmp.applyAsInt(rs[q], _i));
+			if (p>=0) {
+				cs[i] = rs[p];
+			} else {
+				p = ~p;
+				System.arraycopy(rs, p, rs, p+1, rn-p);
+				rs[p] = i;
+				cs[i] = i;
+				rn++;
+			}
+		}
+		int[] ks = new int[ln];
+		int[] ns = new int[rn];
+		for (int q=0; q<rn; q++) {
+			ks[rs[q]] = q;
+		}
+		for (int i=0; i<ln; i++) {
+			ns[ks[cs[i]]]++;
+		}
+		int[][] rt = new int[rn][];
+		for (int q=0; q<rn; q++) {
+			rt[q] = new int[ns[q]];
+			ns[q] = 0;
+		}
+		for (int i=0; i<ln; i++) {
+			int q = ks[cs[i]];
+			rt[q][ns[q]++] = i;
+		}
+		return rt;
+	}
+
+	/**
+	 * (P) Groups items (by index) into ordered classes of equivalent items by partitioning.
+	 * 
+	 * <p>All items are compared to a randomly chosen item (the pivot) in parallel, and the items which are less than
+	 * or more than the pivot are partitioned recursively (in parallel); the result does not depend on the choice
+	 * of the pivots. This takes more comparisons than insertion if there are many classes (<code>O(k log c)</code>
+	 * expected and <code>O(k c)</code> in the worst case, <code>k-1</code> if all items are equivalent), but keeps
+	 * all threads busy.</p>
+	 */
+	private static int[][] _partition(int[] ws, IntBinaryOperator cmp) {
+		if (ws.length<=1) {
+			return ws.length==0 ? new int[0][] : new int[][] { ws };
+		}
+		int x = ThreadLocalRandom.current().nextInt(ws.length);
+		int[] rs = populate(ws.length, (int q) -> q==x ? 0 : Integer.signum(cmp.applyAsInt(ws[x], ws[q])));
+		int[][] ps = populate(int[].class, 3, (int s) -> joinAsInt(ws.length, (int q) -> rs[q]==1-s ? new int[] { ws[q] } : EMPTY_INT));
+		if (ps[1].length==ws.length) {
+			return new int[][] { ws };
+		}
+		int[][][] qs = populate(int[][].class, 2, (int s) -> _partition(ps[s<<1], cmp));
+		return join(qs[0], join(new int[][] { ps[1] }, qs[1]));
+	}
+
+	/* ORDER/R */
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>int</code>s.
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @return A canonical order of symbols.
+	 * @since 1.0.0
+	 */
+	public static int[] order(int[][] src, IntBinaryOperator fg, IntGroupOperator g, IntBinaryOperator cmp) {
+		return order(src, fg, g, cmp, null);
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>int</code>s.
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return A canonical order of symbols.
+	 * @since 1.2.0
+	 */
+	public static int[] order(int[][] src, IntBinaryOperator fg, IntGroupOperator g, IntBinaryOperator cmp, RefinementListener<? super int[][]> fr) {
+		return order(src, fg, g, cmp, fr, null);
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>int</code>s.
+	 * 
+	 * <p>If <code>fa</code> is not null, automorphisms found by relative comparisions are recorded to it and
+	 * symbols in the same orbit (of the automorphisms fixing the pivots chosen so far) are grouped without
+	 * comparision; the order is the same, but far less comparisions are done for symmetric inputs. An automorphism
+	 * is recorded as soon as it's comparision finishes, but it prunes only comparisions started after that; under
+	 * parallel execution the comparisions of a cell to a pivot run concurrently, so fewer of them are pruned than
+	 * under local execution.</p>
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @param fa Automorphisms found (reinitialized); may be null.
+	 * @return A canonical order of symbols.
+	 * @since 1.2.0
+	 */
+	public static int[] order(int[][] src, IntBinaryOperator fg, IntGroupOperator g, IntBinaryOperator cmp, RefinementListener<? super int[][]> fr, Automorphisms fa) {
+		return order(src, fg, g, cmp, fr, fa, null);
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>int</code>s.
+	 * 
+	 * <p>The cell from which a pivot is chosen (individualized) is selected by <code>fc</code>; the order is
+	 * canonical for any (isomorphism invariant) selector, but it depends on the selector.</p>
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @param fa Automorphisms found (reinitialized); may be null.
+	 * @param fc Selector for the cell of the pivot; if null, {@link CellSelector#LAST} is used.
+	 * @return A canonical order of symbols.
+	 * @since 1.2.0
+	 */
+	public static int[] order(int[][] src, IntBinaryOperator fg, IntGroupOperator g, IntBinaryOperator cmp, RefinementListener<? super int[][]> fr, Automorphisms fa, CellSelector fc) {
+		if (fa!=null) {
+			fa.init(src);
+		}
+		int[] ret = EMPTY_INT;
+		int[] ff = null;
+		int[] fl = null;
+		while (true) {
+			int[][] ps = _propagate(src, ff, fl, fg, null, g, null, fr);
+			if (fr!=null) {
+				fr.beforeGroups(ps);
+			}
+			int[][][] cs = populate(int[][].class, ps.length, (int p) -> _classes(ps[p], (int a, int b) -> {
+				if (fa!=null && fa.equivalent(a, b)) {
+					return 0;
+				}
+				int rt = _compare(a,b, ps, fg, g, fa);
+				if (fr!=null) {
+					fr.afterCompare(rt);
+				}
+				return rt;
+			}));
+			src = join(int[].class, cs.length, (int p) -> cs[p]);
+			if (fr!=null) {
+				fr.afterGroups(src);
+			}
+			int[][] _src = src;
+			int pl = search(src.length, 0, (int p) -> _src[p].length>1);
+			ret = join(populate(src.length-pl-1, (int p) -> _src[p+pl+1][0]), ret);
+			if (pl==-1) {
+				break;
+			}
+			int pv = fc==null ? pl : fc.select(src, fg, g);
+			
+			if (fr!=null) {
+				fr.beforePivot(src, pv);
+			}
+			int sp = cmp==null ? 0 : search(0, src[pv].length, (int nr, int or) -> cmp.applyAsInt(_src[pv][nr], _src[pv][or])>0);
+			int[] ss = new int[src[pv].length-1];
+			System.arraycopy(src[pv], 0, ss, 0, sp);
+			System.arraycopy(src[pv], sp+1, ss, sp, src[pv].length-sp-1);
+			if (fa!=null) {
+				fa.fix(src[pv][sp]);
+			}
+			
+			int[][] po = propagate(new int[][] { ss, { src[pv][sp] } }, fg, null, g, null, fr);
+			int d = po.length-1;
+			int[][] nsrc = new int[pl+1+d][];
+			System.arraycopy(src, 0, nsrc, 0, pv);
+			System.arraycopy(po, 0, nsrc, pv, po.length);
+			System.arraycopy(src, pv+1, nsrc, pv+po.length, pl-pv);
+			if (fr!=null) {
+				fr.afterPivot(nsrc);
+			}
+			
+			// the cells of the previous (equitable) partition are uniform, hence only the classes of the cells which
+			// were split are used as splitters (as families); the classes following the last non-singleton class are
+			// dropped, so the aggregate of the largest cell of the last family can be derived only if there are none
+			ff = new int[nsrc.length];
+			fl = new int[nsrc.length];
+			for (int p=0, o=0; o<=pl; o+=cs[p++].length) {
+				int n = cs[p].length;
+				int b = o>pv ? o+d : o;
+				int e = o+n-1>pl ? nsrc.length : o+n-1>=pv ? o+n+d : o+n;
+				int l = b;
+				for (int i=b+1; i<e; i++) {
+					if (nsrc[i].length>nsrc[l].length) {
+						l = i;
+					}
+				}
+				if (o+n-1>pl) {
+					l = -1;
+				}
+				for (int i=b; i<e; i++) {
+					ff[i] = b;
+					fl[i] = l;
+				}
+			}
+			src = nsrc;
+		}
+		return ret;
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>long</code>s.
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @return A canonical order of symbols.
+	 * @since 1.0.0
+	 */
+	public static long[] order(long[][] src, LongBinaryOperator fg, LongGroupOperator g, LongToIntBinaryOperator cmp) {
+		return order(src, fg, g, cmp, null);
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>long</code>s.
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return A canonical order of symbols.
+	 * @since 1.2.0
+	 */
+	public static long[] order(long[][] src, LongBinaryOperator fg, LongGroupOperator g, LongToIntBinaryOperator cmp, RefinementListener<? super long[][]> fr) {
+		long[] ret = EMPTY_LONG;
+		while (true) {
+			src = groups(src, fg, g, null, fr);
+			long[][] _src = src;
+			int pv = search(src.length, 0, (int p) -> _src[p].length>1);
+			ret = join(populate(src.length-pv-1, (int p) -> _src[p+pv+1][0]), ret);
+			if (pv==-1) {
+				break;
+			}
+
+			if (fr!=null) {
+				fr.beforePivot(src, pv);
+			}
+			int sp = cmp==null ? 0 : search(0, src[pv].length, (int nr, int or) -> cmp.applyAsInt(_src[pv][nr], _src[pv][or])>0);
+			long[] ss = new long[src[pv].length-1];
+			System.arraycopy(src[pv], 0, ss, 0, sp);
+			System.arraycopy(src[pv], sp+1, ss, sp, src[pv].length-sp-1);
+			
+			long[][] po = propagate(new long[][] { ss, { src[pv][sp] } }, fg, null, g, null, fr);
+			long[][] nsrc = new long[po.length+pv][];
+			System.arraycopy(src, 0, nsrc, 0, pv);
+			System.arraycopy(po, 0, nsrc, pv, po.length);
+			if (fr!=null) {
+				fr.afterPivot(nsrc);
+			}
+			src = nsrc;
+		}
+		return ret;
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of objects.
+	 * 
+	 * @param <T> Symbol type.
+	 * @param <E> Element type.
+	 * @param rc Symbol type.
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @return A canonical order of symbols.
+	 * @since 1.0.0
+	 */
+	public static <T,E> T[] order(Class<? extends T> rc, T[][] src, BiFunction<T,T,E> fg, GroupOperator<E> g, Comparator<T> cmp) {
+		return order(rc, src, fg, g, cmp, null);
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of objects.
+	 * 
+	 * @param <T> Symbol type.
+	 * @param <E> Element type.
+	 * @param rc Symbol type.
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return A canonical order of symbols.
+	 * @since 1.2.0
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T,E> T[] order(Class<? extends T> rc, T[][] src, BiFunction<T,T,E> fg, GroupOperator<E> g, Comparator<T> cmp, RefinementListener<? super T[][]> fr) {
+		Class<? extends T[]> rca = wrap(rc);
+		T[] ret = empty(rc);
+		while (true) {
+			src = groups(rc, src, fg, g, null, fr);
+			T[][] _src = src;
+			int pv = search(src.length, 0, (int p) -> _src[p].length>1);
+			ret = join(populate(rc, src.length-pv-1, (int p) -> _src[p+pv+1][0]), ret);
+			if (pv==-1) {
+				break;
+			}
+			
+			if (fr!=null) {
+				fr.beforePivot(src, pv);
+			}
+			int sp = cmp==null ? 0 : search(0, src[pv].length, (int nr, int or) -> cmp.compare(_src[pv][nr], _src[pv][or])>0);
+			T[] ss = (T[]) Array.newInstance(rc, src[pv].length-1);
+			System.arraycopy(src[pv], 0, ss, 0, sp);
+			System.arraycopy(src[pv], sp+1, ss, sp, src[pv].length-sp-1);
+
+			T[][] po = (T[][]) Array.newInstance(rca,2);
+			po[0] = ss;
+			po[1] = wrap(rc, src[pv][sp]);
+
+			po = propagate(rc, po, fg, null, g, null, fr);
+			T[][] nsrc = (T[][]) Array.newInstance(rca,po.length+pv);
+			System.arraycopy(src, 0, nsrc, 0, pv);
+			System.arraycopy(po, 0, nsrc, pv, po.length);
+			if (fr!=null) {
+				fr.afterPivot(nsrc);
+			}
+			src = nsrc;
+		}
+		return ret;
+	}
+
+
+	/* RELATIVE/WIDE */
+
+	/**
+	 * (P) Executes the iterative propagation part of relative order/comparision for a preorder
+	 * of symbols expressed as <code>long</code>s, with relative differences aggregated as wide (128-bit) elements.
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param cmp Comparator for equivalent items; if null, the order between equivalent items is preserved.
+	 * @param g Group operator.
+	 * @param fh Halting condition; if null, iteration is repeated as long as differences are found.
+	 * @return An order of symbols.
+	 * @since 1.2.0
+	 */
+	public static long[][] propagate(long[][] src, LongBinaryOperator fg, LongToIntBinaryOperator cmp, WideGroupOperator g, Predicate<long[][]> fh) {
+		return propagate(src, fg, cmp, g, fh, null);
+	}
+
+	/**
+	 * (P) Executes the iterative propagation part of relative order/comparision for a preorder
+	 * of symbols expressed as <code>long</code>s, with relative differences aggregated as wide (128-bit) elements.
+	 * 
+	 * <p>Aggregates are stored as pairs of <code>long</code>s in flat arrays, so that aggregation does not allocate
+	 * per element (unlike with {@link GroupOperator#BIGINTEGER_ADDITIVE}).</p>
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param cmp Comparator for equivalent items; if null, the order between equivalent items is preserved.
+	 * @param g Group operator.
+	 * @param fh Halting condition; if null, iteration is repeated as long as differences are found.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return An order of symbols.
+	 * @since 1.2.0
+	 */
+	public static long[][] propagate(long[][] src, LongBinaryOperator fg, LongToIntBinaryOperator cmp, WideGroupOperator g, Predicate<long[][]> fh, RefinementListener<? super long[][]> fr) {
+		if (fr!=null) {
+			fr.beforePropagate(src);
+		}
+		int[] ff = null;
+		int[] fl = null;
+		while (fh==null || fh.test(src)) {
+			long[][] _src = src;
+			int[] _ff = ff;
+			int[] _fl = fl;
+			long[][][] rt = populate(long[][].class, src.length, (int p) -> {
+				if (_src[p].length<=1) {
+					return null;
+				}
+				long[][] r = _propagate(_src[p], _src, _ff, _fl, fg, cmp, g);
+				return r.length==1 ? null : r;
+			});
+			int ln = 0;
+			for (int i=0; i<rt.length; i++) {
+				ln += rt[i]==null ? 1 : rt[i].length;
+			}
+			if (ln==src.length) {
+				break;
+			}
+			long[][] nsrc = new long[ln][];
+			ff = new int[ln];
+			fl = new int[ln];
+			for (int i=0, q=0; i<rt.length; i++) {
+				if (rt[i]==null) {
+					nsrc[q] = src[i];
+					ff[q] = q;
+					fl[q] = q;
+					q++;
+				} else {
+					int l = q;
+					for (int j=0; j<rt[i].length; j++) {
+						nsrc[q+j] = rt[i][j];
+						if (rt[i][j].length>nsrc[l].length) {
+							l = q+j;
+						}
+					}
+					for (int j=0; j<rt[i].length; j++) {
+						ff[q+j] = q;
+						fl[q+j] = l;
+					}
+					q += rt[i].length;
+				}
+			}
+			src = nsrc;
+			if (fr!=null) {
+				fr.iterPropagate(src);
+			}
+		}
+		if (fr!=null) {
+			fr.afterPropagate(src);
+		}
+		return src;
+	}
+
+	private static long[][] _propagate(long[] vs, long[][] src, int[] ff, int[] fl, LongBinaryOperator fg, LongToIntBinaryOperator cmp, WideGroupOperator g) {
+		int[][] rt = new int[][] { populate(vs.length, (int p) -> p) };
+		long[] sv = new long[vs.length<<1];
+		for (int e=src.length; e>0 && rt.length<vs.length; ) {
+			int f = ff==null ? e-1 : ff[e-1];
+			int l = fl==null ? -1 : fl[e-1];
+			if (f==e-1 && l==e-1) {
+				e--;
+				continue;
+			}
+			long[] ss = null;
+			long[][] ps = null;
+			if (l>=0) {
+				long[] _ss = ss = new long[vs.length<<1];
+				execute(0, vs.length, (int p) -> g.identity(_ss, p));
+			}
+			for (int k=e-1; k>=f && rt.length<vs.length; k--) {
+				int[][] _rt = rt;
+				int[] as = joinAsInt(rt.length, (int p) -> _rt[p].length>1 ? _rt[p] : EMPTY_INT);
+				long[] cv;
+				if (ps!=null && k<l) {
+					cv = ps[k-f];
+				} else if (k==l && _cost(src, f, l)<src[l].length) {
+					long[] _ss = ss;
+					ps = populate(long[].class, l-f, (int j) -> {
+						long[] rs = new long[vs.length<<1];
+						_aggregate(as, vs, src[j+f], rs, fg, g);
+						return rs;
+					});
+					long[][] _ps = ps;
+					execute(0, as.length, (int q) -> {
+						int p = as[q];
+						for (int j=0; j<_ps.length; j++) {
+							g.apply(_ss, p, _ps[j], p);
+						}
+					});
+					long[] sa = new long[2];
+					_aggregate(sa, 0, vs[as[0]], src[l], fg, g);
+					g.apply(sa, 0, _ss, as[0]);
+					execute(0, as.length, (int q) -> g.cancel(sv, as[q], sa, 0, _ss, as[q]));
+					cv = sv;
+				} else {
+					_aggregate(as, vs, src[k], sv, fg, g);
+					if (k>l && l>=0) {
+						long[] _ss = ss;
+						execute(0, as.length, (int q) -> g.apply(_ss, as[q], sv, as[q]));
+					}
+					cv = sv;
+				}
+				long[] _cv = cv;
+				rt = join(int[].class, rt.length, (int p) -> {
+					int[] ws = _rt[p];
+					if (ws.length<=1) {
+						return new int[][] { ws };
+					}
+					int[][] qs = _groups(ws.length, (int q) -> _cv[ws[q]<<1]*31 + _cv[(ws[q]<<1)+1], (int u, int v) -> g.compare(_cv, ws[u], _cv, ws[v]));
+					return qs.length==1 ? new int[][] { ws } : populate(int[].class, qs.length, (int q) -> populate(qs[q].length, (int r) -> ws[qs[q][r]]));
+				});
+			}
+			e = f;
+		}
+		if (rt.length==1) {
+			return new long[][] { vs };
+		}
+		int[][] ret = rt;
+		return populate(long[].class, ret.length, (int p) -> ret[p].length<=1 || cmp==null
+				? populate(ret[p].length, (int q) -> vs[ret[p][q]])
+				: order(ret[p].length, (int q) -> vs[ret[p][q]], cmp, (long u, long v) -> u));
+	}
+
+	private static void _aggregate(int[] as, long[] vs, long[] cs, long[] rs, LongBinaryOperator fg, WideGroupOperator g) {
+		if (fg instanceof LongMatrix) {
+			LongMatrix m = (LongMatrix) fg;
+			execute(0, as.length, (int q) -> {
+				int r = as[q];
+				int a = (int) vs[r];
+				g.identity(rs, r);
+				for (int i=0; i<cs.length; i++) {
+					g.apply(rs, r, m.get(a, (int) cs[i]));
+				}
+			});
+		} else if (fg instanceof DoubledLongMatrix) {
+			DoubledLongMatrix m = (DoubledLongMatrix) fg;
+			execute(0, as.length, (int q) -> m.aggregate(rs, as[q], vs[as[q]], cs, g));
+		} else {
+			execute(0, as.length, (int q) -> _aggregate(rs, as[q], vs[as[q]], cs, fg, g));
+		}
+	}
+
+	private static void _aggregate(long[] rs, int r, long v, long[] cs, LongBinaryOperator fg, WideGroupOperator g) {
+		g.identity(rs, r);
+		for (int i=0; i<cs.length; i++) {
+			g.apply(rs, r, fg.applyAsLong(v, cs[i]));
+		}
+	}
+
+	/**
+	 * (P) Computes the relative order between a pair of symbols expressed as <code>long</code>s,
+	 * with relative differences aggregated as wide (128-bit) elements.
+	 * Returns -1, 0 or 1, depending whether left symbol is less than (absolute),
+	 * equivalent to (neutral) or more than (relative) the right symbol.
+	 *  
+	 * @param a Left symbol.
+	 * @param b Right symbol.
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @return Result of comparision (-1, 0 or 1).
+	 * @since 1.2.0
+	 */
+	public static int compare(long a, long b, long[][] src, LongBinaryOperator fg, WideGroupOperator g) {
+		if (a==b) {
+			return 0;
+		}
+		long id = g.identityAsLong();
+		LongBinaryOperator fd = fg instanceof LongMatrix
+				? new DoubledLongMatrix((LongMatrix) fg, id)
+				: (long u, long v) -> (u&1)==(v&1)
+					? fg.applyAsLong(u>>1, v>>1)
+					: id;
+		long[][] rt = propagate(_double(a, b, src), fd, null, g, (long[][] s) -> s[0].length==2);
+		
+		return rt[0].length==2 ? 0 : rt[0][0]==a<<1 ? -1 : 1;
+	}
+
+	/**
+	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
+	 * expressed as an array of arrays of <code>long</code>s, with relative differences aggregated as wide (128-bit) elements.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
+	 * @return A preorder of automorphic groups of symbols.
+	 * @since 1.2.0
+	 */
+	public static long[][] groups(long[][] src, LongBinaryOperator fg, WideGroupOperator g, LongToIntBinaryOperator cmp) {
+		return groups(src, fg, g, cmp, null);
+	}
+
+	/**
+	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
+	 * expressed as an array of arrays of <code>long</code>s, with relative differences aggregated as wide (128-bit) elements.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return A preorder of automorphic groups of symbols.
+	 * @since 1.2.0
+	 */
+	public static long[][] groups(long[][] src, LongBinaryOperator fg, WideGroupOperator g, LongToIntBinaryOperator cmp, RefinementListener<? super long[][]> fr) {
+		long[][] _src = propagate(src, fg, null, g, null, fr);
+		if (fr!=null) {
+			fr.beforeGroups(_src);
+		}
+		long[][] ret = _classes(_src, (long a, long b) -> {
+			int rt = compare(a,b, _src, fg, g);
+			if (fr!=null) {
+				fr.afterCompare(rt);
+			}
+			return rt;
+		});
+		if (fr!=null) {
+			fr.afterGroups(ret);
+		}
+		return cmp==null ? ret : populate(long[].class, ret.length, (int p) -> order(ret[p].length, (int q) -> ret[p][q], cmp, null));
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>long</code>s, with relative differences aggregated as wide (128-bit) elements.
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @return A canonical order of symbols.
+	 * @since 1.2.0
+	 */
+	public static long[] order(long[][] src, LongBinaryOperator fg, WideGroupOperator g, LongToIntBinaryOperator cmp) {
+		return order(src, fg, g, cmp, null);
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>long</code>s, with relative differences aggregated as wide (128-bit) elements.
+	 * 
+	 * @param src A preorder of symbols.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return A canonical order of symbols.
+	 * @since 1.2.0
+	 */
+	public static long[] order(long[][] src, LongBinaryOperator fg, WideGroupOperator g, LongToIntBinaryOperator cmp, RefinementListener<? super long[][]> fr) {
+		long[] ret = EMPTY_LONG;
+		while (true) {
+			src = groups(src, fg, g, null, fr);
+			long[][] _src = src;
+			int pv = search(src.length, 0, (int p) -> _src[p].length>1);
+			ret = join(populate(src.length-pv-1, (int p) -> _src[p+pv+1][0]), ret);
+			if (pv==-1) {
+				break;
+			}
+
+			if (fr!=null) {
+				fr.beforePivot(src, pv);
+			}
+			int sp = cmp==null ? 0 : search(0, src[pv].length, (int nr, int or) -> cmp.applyAsInt(_src[pv][nr], _src[pv][or])>0);
+			long[] ss = new long[src[pv].length-1];
+			System.arraycopy(src[pv], 0, ss, 0, sp);
+			System.arraycopy(src[pv], sp+1, ss, sp, src[pv].length-sp-1);
+			
+			long[][] po = propagate(new long[][] { ss, { src[pv][sp] } }, fg, null, g, null, fr);
+			long[][] nsrc = new long[po.length+pv][];
+			System.arraycopy(src, 0, nsrc, 0, pv);
+			System.arraycopy(po, 0, nsrc, pv, po.length);
+			if (fr!=null) {
+				fr.afterPivot(nsrc);
+			}
+			src = nsrc;
+		}
+		return ret;
+	}
+
+
+	/* RELATIVE/SPARSE */
+
+	/**
+	 * (P) Executes the iterative propagation part of relative order/comparision for a preorder
+	 * of symbols expressed as <code>int</code>s, with relative differences supplied as a sparse graph.
+	 * 
+	 * <p>Equivalent to {@link #propagate(int[][], IntBinaryOperator, IntBinaryOperator, IntGroupOperator, Predicate)}
+	 * with the graph as <code>fg</code> (the group operation being commutative). Only the edges to the cells which were
+	 * split on the previous iteration are aggregated; the default weight is cancelled from the weights of the edges,
+	 * as it's contribution to an aggregate depends on the size of the cell only.</p>
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param cmp Comparator for equivalent items; if null, the order between equivalent items is preserved.
+	 * @param g Group operator.
+	 * @param fh Halting condition; if null, iteration is repeated as long as differences are found.
+	 * @return An order of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[][] propagate(int[][] src, IntSparseGraph fg, IntBinaryOperator cmp, IntGroupOperator g, Predicate<int[][]> fh) {
+		return propagate(src, fg, cmp, g, fh, null);
+	}
+
+	/**
+	 * (P) Executes the iterative propagation part of relative order/comparision for a preorder
+	 * of symbols expressed as <code>int</code>s, with relative differences supplied as a sparse graph.
+	 * 
+	 * <p>Equivalent to {@link #propagate(int[][], IntBinaryOperator, IntBinaryOperator, IntGroupOperator, Predicate)}
+	 * with the graph as <code>fg</code> (the group operation being commutative). Only the edges to the cells which were
+	 * split on the previous iteration are aggregated; the default weight is cancelled from the weights of the edges,
+	 * as it's contribution to an aggregate depends on the size of the cell only.</p>
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param cmp Comparator for equivalent items; if null, the order between equivalent items is preserved.
+	 * @param g Group operator.
+	 * @param fh Halting condition; if null, iteration is repeated as long as differences are found.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return An order of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[][] propagate(int[][] src, IntSparseGraph fg, IntBinaryOperator cmp, IntGroupOperator g, Predicate<int[][]> fh, RefinementListener<? super int[][]> fr) {
+		return _propagate(src, fg, 0, cmp, g, fh, fr);
+	}
+
+	/**
+	 * Propagation over a sparse graph; symbols are expressed as <code>(a&lt;&lt;sh)|s</code>, where <code>a</code> is a vertex
+	 * of the graph and <code>s</code> a "side", symbols of different sides being related by the identity element (see
+	 * {@link #compare(int, int, int[][], IntSparseGraph, IntGroupOperator)}). Cells with a different number of symbols
+	 * per side have a contribution of the default weight which depends on the side and are aggregated as such.
+	 */
+	private static int[][] _propagate(int[][] src, IntSparseGraph fg, int sh, IntBinaryOperator cmp, IntGroupOperator g, Predicate<int[][]> fh, RefinementListener<? super int[][]> fr) {
+		if (g==IntGroupOperator.ADDITIVE_EXACT) {
+			throw new IllegalArgumentException("ADDITIVE_EXACT is not supported for sparse graphs");
+		}
+		if (fr!=null) {
+			fr.beforePropagate(src);
+		}
+		boolean[] ds = null;
+		while (fh==null || fh.test(src)) {
+			int[][] _src = src;
+			boolean[] _ds = ds;
+			int[] cs = new int[fg.size()<<sh];
+			Arrays.fill(cs, -1);
+			execute(0, src.length, (int p) -> {
+				for (int i=0; i<_src[p].length; i++) {
+					cs[_src[p][i]] = p;
+				}
+			});
+			int[] is = sh==0 || fg.value()==g.identityAsInt() ? EMPTY_INT : joinAsInt(src.length, (int p) -> {
+				if (_ds!=null && !_ds[p]) {
+					return EMPTY_INT;
+				}
+				int c = 0;
+				for (int i=0; i<_src[p].length; i++) {
+					c += (_src[p][i]&1)==0 ? 1 : -1;
+				}
+				return c==0 ? EMPTY_INT : new int[] { p };
+			});
+			int[][] iv = populate(int[].class, is.length, (int j) -> {
+				int c = 0;
+				for (int i=0; i<_src[is[j]].length; i++) {
+					c += (_src[is[j]][i]&1)==0 ? 1 : 0;
+				}
+				return new int[] { _power(fg.value(), c, g), _power(fg.value(), _src[is[j]].length-c, g) };
+			});
+			int[][][] rt = populate(int[][].class, src.length, (int p) -> {
+				if (_src[p].length<=1) {
+					return null;
+				}
+				int[][] r = _split(_src[p], cs, _ds, is, iv, fg, sh, cmp, g);
+				return r.length==1 ? null : r;
+			});
+			int ln = 0;
+			for (int i=0; i<rt.length; i++) {
+				ln += rt[i]==null ? 1 : rt[i].length;
+			}
+			if (ln==src.length) {
+				break;
+			}
+			int[][] nsrc = new int[ln][];
+			ds = new boolean[ln];
+			for (int i=0, q=0; i<rt.length; i++) {
+				if (rt[i]==null) {
+					nsrc[q++] = src[i];
+				} else {
+					for (int j=0; j<rt[i].length; j++) {
+						ds[q] = true;
+						nsrc[q++] = rt[i][j];
+					}
+				}
+			}
+			src = nsrc;
+			if (fr!=null) {
+				fr.iterPropagate(src);
+			}
+		}
+		if (fr!=null) {
+			fr.afterPropagate(src);
+		}
+		return src;
+	}
+
+	/**
+	 * Splits a cell by the aggregated relative differences of its symbols to the cells of the preorder which were
+	 * split on the previous iteration (all cells, if <code>ds</code> is null), expressed as sparse lexicographic keys.
+	 */
+	private static int[][] _split(int[] vs, int[] cs, boolean[] ds, int[] is, int[][] iv, IntSparseGraph fg, int sh, IntBinaryOperator cmp, IntGroupOperator g) {
+		int[][] ks = new int[vs.length][];
+		int[][] xs = new int[vs.length][];
+		execute(0, vs.length, (int q) -> {
+			int a = vs[q]>>sh;
+			int s = vs[q]&((1<<sh)-1);
+			long[] es = new long[fg.to(a)-fg.from(a)+is.length];
+			int n = 0;
+			for (int i=fg.from(a); i<fg.to(a); i++) {
+				int c = cs[(fg.target(i)<<sh)|s];
+				if (c>=0 && (ds==null || ds[c])) {
+					es[n++] = ((long) c<<32) | i;
+				}
+			}
+			for (int j=0; j<is.length; j++) {
+				es[n++] = ((long) is[j]<<32) | 0x80000000l | j;
+			}
+			Arrays.sort(es, 0, n);
+			int[] rk = new int[n];
+			int[] rx = new int[n];
+			int m = 0;
+			for (int i=n-1; i>=0; i--) {
+				int c = (int) (es[i]>>>32);
+				int e = (int) es[i];
+				int x = e<0 ? iv[e&0x7fffffff][s] : g.cancelAsInt(fg.weight(e), fg.value());
+				if (m>0 && rk[m-1]==c) {
+					rx[m-1] = g.applyAsInt(rx[m-1], x);
+				} else {
+					rk[m] = c;
+					rx[m++] = x;
+				}
+			}
+			int id = g.identityAsInt();
+			int k = 0;
+			for (int i=0; i<m; i++) {
+				if (rx[i]!=id) {
+					rk[k] = rk[i];
+					rx[k++] = rx[i];
+				}
+			}
+			m = k;
+			ks[q] = m==n ? rk : Arrays.copyOf(rk, m);
+			xs[q] = m==n ? rx : Arrays.copyOf(rx, m);
+		});
+		int[][] qs = _groups(vs.length, (int q) -> _hash(ks[q], xs[q]), (int u, int v) -> _compare(ks[u], xs[u], ks[v], xs[v], g));
+		if (qs.length==1) {
+			return new int[][] { vs };
+		}
+		return populate(int[].class, qs.length, (int p) -> qs[p].length<=1 || cmp==null
+				? populate(qs[p].length, (int r) -> vs[qs[p][r]])
+				: order(qs[p].length, (int r) -> vs[qs[p][r]], cmp, (int u, int v) -> u));
+	}
+
+	/**
+	 * Compares a pair of sparse lexicographic keys (ordered by descending index); missing elements are identity elements.
+	 */
+	private static int _compare(int[] ka, int[] xa, int[] kb, int[] xb, IntGroupOperator g) {
+		for (int i=0, j=0; i<ka.length || j<kb.length; ) {
+			int rt;
+			if (j==kb.length || (i<ka.length && ka[i]>kb[j])) {
+				rt = g.signum(g.cancelAsInt(xa[i++], g.identityAsInt()));
+			} else if (i==ka.length || kb[j]>ka[i]) {
+				rt = g.signum(g.cancelAsInt(g.identityAsInt(), xb[j++]));
+			} else {
+				rt = g.signum(g.cancelAsInt(xa[i++], xb[j++]));
+			}
+			if (rt!=0) {
+				return rt;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Applies the group operation upon a number of copies of an element.
+	 */
+	private static int _power(int v, int n, IntGroupOperator g) {
+		int rt = g.identityAsInt();
+		for (; n>0; n >>= 1) {
+			if ((n&1)!=0) {
+				rt = g.applyAsInt(rt, v);
+			}
+			v = g.applyAsInt(v, v);
+		}
+		return rt;
+	}
+
+	/**
+	 * (P) Computes the relative order between a pair of symbols expressed as <code>int</code>s, with relative
+	 * differences supplied as a sparse graph.
+	 * Returns -1, 0 or 1, depending whether left symbol is less than (absolute),
+	 * equivalent to (neutral) or more than (relative) the right symbol.
+	 *  
+	 * @param a Left symbol.
+	 * @param b Right symbol.
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param g Group operator.
+	 * @return Result of comparision (-1, 0 or 1).
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int compare(int a, int b, int[][] src, IntSparseGraph fg, IntGroupOperator g) {
+		return _compare(a, b, src, fg, g, null);
+	}
+
+	/**
+	 * Computes the relative order between a pair of symbols with relative differences supplied as a sparse graph; if the
+	 * symbols are equivalent, an automorphism mapping the left symbol to the right symbol is searched for (if <code>fa</code> is not null).
+	 */
+	private static int _compare(int a, int b, int[][] src, IntSparseGraph fg, IntGroupOperator g, Automorphisms fa) {
+		if (a==b) {
+			return 0;
+		}
+		int[][] rt = _propagate(_double(a, b, src), fg, 1, null, g, (int[][] s) -> s[0].length==2, null);
+		if (rt[0].length!=2) {
+			return rt[0][0]==a<<1 ? -1 : 1;
+		}
+		if (fa!=null) {
+			_automorphism(rt, (int[][] s, int[] ff) -> _propagate(s, fg, 1, null, g, null, null), fa);
+		}
+		return 0;
+	}
+
+	/**
+	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
+	 * expressed as an array of arrays of <code>int</code>s, with relative differences supplied as a sparse graph.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
+	 * @return A preorder of automorphic groups of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[][] groups(int[][] src, IntSparseGraph fg, IntGroupOperator g, IntBinaryOperator cmp) {
+		return groups(src, fg, g, cmp, null);
+	}
+
+	/**
+	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
+	 * expressed as an array of arrays of <code>int</code>s, with relative differences supplied as a sparse graph.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return A preorder of automorphic groups of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[][] groups(int[][] src, IntSparseGraph fg, IntGroupOperator g, IntBinaryOperator cmp, RefinementListener<? super int[][]> fr) {
+		return _groups(src, (int[][] s) -> propagate(s, fg, null, g, null, fr), (int[][] s) -> (int a, int b) -> compare(a,b, s, fg, g), cmp, fr, null);
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>int</code>s, with relative differences supplied as a sparse graph.
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @return A canonical order of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[] order(int[][] src, IntSparseGraph fg, IntGroupOperator g, IntBinaryOperator cmp) {
+		return order(src, fg, g, cmp, null);
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>int</code>s, with relative differences supplied as a sparse graph.
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return A canonical order of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[] order(int[][] src, IntSparseGraph fg, IntGroupOperator g, IntBinaryOperator cmp, RefinementListener<? super int[][]> fr) {
+		return order(src, fg, g, cmp, fr, null);
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>int</code>s, with relative differences supplied as a sparse graph.
+	 * 
+	 * <p>If <code>fa</code> is not null, automorphisms found by relative comparisions are recorded to it and
+	 * symbols in the same orbit are grouped without comparision (see
+	 * {@link #order(int[][], IntBinaryOperator, IntGroupOperator, IntBinaryOperator, RefinementListener, Automorphisms)}).</p>
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @param fa Automorphisms found (reinitialized); may be null.
+	 * @return A canonical order of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[] order(int[][] src, IntSparseGraph fg, IntGroupOperator g, IntBinaryOperator cmp, RefinementListener<? super int[][]> fr, Automorphisms fa) {
+		return order(src, fg, g, cmp, fr, fa, null);
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>int</code>s, with relative differences supplied as a sparse graph.
+	 * 
+	 * <p>The cell from which a pivot is chosen (individualized) is selected by <code>fc</code> (see
+	 * {@link #order(int[][], IntBinaryOperator, IntGroupOperator, IntBinaryOperator, RefinementListener, Automorphisms, CellSelector)}).</p>
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @param fa Automorphisms found (reinitialized); may be null.
+	 * @param fc Selector for the cell of the pivot; if null, {@link CellSelector#LAST} is used.
+	 * @return A canonical order of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[] order(int[][] src, IntSparseGraph fg, IntGroupOperator g, IntBinaryOperator cmp, RefinementListener<? super int[][]> fr, Automorphisms fa, CellSelector fc) {
+		return _order(src, (int[][] s) -> propagate(s, fg, null, g, null, fr), (int[][] s) -> (int a, int b) -> _compare(a,b, s, fg, g, fa), cmp, fr, fa,
+				fc==null ? null : (int[][] s) -> fc.select(s, fg, g));
+	}
+
+	/**
+	 * (P) Executes the iterative propagation part of relative order/comparision for a preorder
+	 * of symbols expressed as <code>int</code>s, with relative differences supplied as a sparse graph of <code>long</code> weights.
+	 * 
+	 * <p>Equivalent to {@link #propagate(int[][], IntBinaryOperator, IntBinaryOperator, IntGroupOperator, Predicate)}
+	 * with the graph as <code>fg</code> (the group operation being commutative). Only the edges to the cells which were
+	 * split on the previous iteration are aggregated; the default weight is cancelled from the weights of the edges,
+	 * as it's contribution to an aggregate depends on the size of the cell only.</p>
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param cmp Comparator for equivalent items; if null, the order between equivalent items is preserved.
+	 * @param g Group operator.
+	 * @param fh Halting condition; if null, iteration is repeated as long as differences are found.
+	 * @return An order of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[][] propagate(int[][] src, LongSparseGraph fg, IntBinaryOperator cmp, LongGroupOperator g, Predicate<int[][]> fh) {
+		return propagate(src, fg, cmp, g, fh, null);
+	}
+
+	/**
+	 * (P) Executes the iterative propagation part of relative order/comparision for a preorder
+	 * of symbols expressed as <code>int</code>s, with relative differences supplied as a sparse graph of <code>long</code> weights.
+	 * 
+	 * <p>Equivalent to {@link #propagate(int[][], IntBinaryOperator, IntBinaryOperator, IntGroupOperator, Predicate)}
+	 * with the graph as <code>fg</code> (the group operation being commutative). Only the edges to the cells which were
+	 * split on the previous iteration are aggregated; the default weight is cancelled from the weights of the edges,
+	 * as it's contribution to an aggregate depends on the size of the cell only.</p>
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param cmp Comparator for equivalent items; if null, the order between equivalent items is preserved.
+	 * @param g Group operator.
+	 * @param fh Halting condition; if null, iteration is repeated as long as differences are found.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return An order of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[][] propagate(int[][] src, LongSparseGraph fg, IntBinaryOperator cmp, LongGroupOperator g, Predicate<int[][]> fh, RefinementListener<? super int[][]> fr) {
+		return _propagate(src, fg, 0, cmp, g, fh, fr);
+	}
+
+	/**
+	 * Propagation over a sparse graph; symbols are expressed as <code>(a&lt;&lt;sh)|s</code>, where <code>a</code> is a vertex
+	 * of the graph and <code>s</code> a "side", symbols of different sides being related by the identity element (see
+	 * {@link #compare(int, int, int[][], LongSparseGraph, LongGroupOperator)}). Cells with a different number of symbols
+	 * per side have a contribution of the default weight which depends on the side and are aggregated as such.
+	 */
+	private static int[][] _propagate(int[][] src, LongSparseGraph fg, int sh, IntBinaryOperator cmp, LongGroupOperator g, Predicate<int[][]> fh, RefinementListener<? super int[][]> fr) {
+		if (g==LongGroupOperator.ADDITIVE_EXACT) {
+			throw new IllegalArgumentException("ADDITIVE_EXACT is not supported for sparse graphs");
+		}
+		if (fr!=null) {
+			fr.beforePropagate(src);
+		}
+		boolean[] ds = null;
+		while (fh==null || fh.test(src)) {
+			int[][] _src = src;
+			boolean[] _ds = ds;
+			int[] cs = new int[fg.size()<<sh];
+			Arrays.fill(cs, -1);
+			execute(0, src.length, (int p) -> {
+				for (int i=0; i<_src[p].length; i++) {
+					cs[_src[p][i]] = p;
+				}
+			});
+			int[] is = sh==0 || fg.value()==g.identityAsLong() ? EMPTY_INT : joinAsInt(src.length, (int p) -> {
+				if (_ds!=null && !_ds[p]) {
+					return EMPTY_INT;
+				}
+				int c = 0;
+				for (int i=0; i<_src[p].length; i++) {
+					c += (_src[p][i]&1)==0 ? 1 : -1;
+				}
+				return c==0 ? EMPTY_INT : new int[] { p };
+			});
+			long[][] iv = populate(long[].class, is.length, (int j) -> {
+				int c = 0;
+				for (int i=0; i<_src[is[j]].length; i++) {
+					c += (_src[is[j]][i]&1)==0 ? 1 : 0;
+				}
+				return new long[] { _power(fg.value(), c, g), _power(fg.value(), _src[is[j]].length-c, g) };
+			});
+			int[][][] rt = populate(int[][].class, src.length, (int p) -> {
+				if (_src[p].length<=1) {
+					return null;
+				}
+				int[][] r = _split(_src[p], cs, _ds, is, iv, fg, sh, cmp, g);
+				return r.length==1 ? null : r;
+			});
+			int ln = 0;
+			for (int i=0; i<rt.length; i++) {
+				ln += rt[i]==null ? 1 : rt[i].length;
+			}
+			if (ln==src.length) {
+				break;
+			}
+			int[][] nsrc = new int[ln][];
+			ds = new boolean[ln];
+			for (int i=0, q=0; i<rt.length; i++) {
+				if (rt[i]==null) {
+					nsrc[q++] = src[i];
+				} else {
+					for (int j=0; j<rt[i].length; j++) {
+						ds[q] = true;
+						nsrc[q++] = rt[i][j];
+					}
+				}
+			}
+			src = nsrc;
+			if (fr!=null) {
+				fr.iterPropagate(src);
+			}
+		}
+		if (fr!=null) {
+			fr.afterPropagate(src);
+		}
+		return src;
+	}
+
+	/**
+	 * Splits a cell by the aggregated relative differences of its symbols to the cells of the preorder which were
+	 * split on the previous iteration (all cells, if <code>ds</code> is null), expressed as sparse lexicographic keys.
+	 */
+	private static int[][] _split(int[] vs, int[] cs, boolean[] ds, int[] is, long[][] iv, LongSparseGraph fg, int sh, IntBinaryOperator cmp, LongGroupOperator g) {
+		int[][] ks = new int[vs.length][];
+		long[][] xs = new long[vs.length][];
+		execute(0, vs.length, (int q) -> {
+			int a = vs[q]>>sh;
+			int s = vs[q]&((1<<sh)-1);
+			long[] es = new long[fg.to(a)-fg.from(a)+is.length];
+			int n = 0;
+			for (int i=fg.from(a); i<fg.to(a); i++) {
+				int c = cs[(fg.target(i)<<sh)|s];
+				if (c>=0 && (ds==null || ds[c])) {
+					es[n++] = ((long) c<<32) | i;
+				}
+			}
+			for (int j=0; j<is.length; j++) {
+				es[n++] = ((long) is[j]<<32) | 0x80000000l | j;
+			}
+			Arrays.sort(es, 0, n);
+			int[] rk = new int[n];
+			long[] rx = new long[n];
+			int m = 0;
+			for (int i=n-1; i>=0; i--) {
+				int c = (int) (es[i]>>>32);
+				int e = (int) es[i];
+				long x = e<0 ? iv[e&0x7fffffff][s] : g.cancelAsLong(fg.weight(e), fg.value());
+				if (m>0 && rk[m-1]==c) {
+					rx[m-1] = g.applyAsLong(rx[m-1], x);
+				} else {
+					rk[m] = c;
+					rx[m++] = x;
+				}
+			}
+			long id = g.identityAsLong();
+			int k = 0;
+			for (int i=0; i<m; i++) {
+				if (rx[i]!=id) {
+					rk[k] = rk[i];
+					rx[k++] = rx[i];
+				}
+			}
+			m = k;
+			ks[q] = m==n ? rk : Arrays.copyOf(rk, m);
+			xs[q] = m==n ? rx : Arrays.copyOf(rx, m);
+		});
+		int[][] qs = _groups(vs.length, (int q) -> _hash(ks[q], xs[q]), (int u, int v) -> _compare(ks[u], xs[u], ks[v], xs[v], g));
+		if (qs.length==1) {
+			return new int[][] { vs };
+		}
+		return populate(int[].class, qs.length, (int p) -> qs[p].length<=1 || cmp==null
+				? populate(qs[p].length, (int r) -> vs[qs[p][r]])
+				: order(qs[p].length, (int r) -> vs[qs[p][r]], cmp, (int u, int v) -> u));
+	}
+
+	/**
+	 * Compares a pair of sparse lexicographic keys (ordered by descending index); missing elements are identity elements.
+	 */
+	private static int _compare(int[] ka, long[] xa, int[] kb, long[] xb, LongGroupOperator g) {
+		for (int i=0, j=0; i<ka.length || j<kb.length; ) {
+			int rt;
+			if (j==kb.length || (i<ka.length && ka[i]>kb[j])) {
+				rt = g.signum(g.cancelAsLong(xa[i++], g.identityAsLong()));
+			} else if (i==ka.length || kb[j]>ka[i]) {
+				rt = g.signum(g.cancelAsLong(g.identityAsLong(), xb[j++]));
+			} else {
+				rt = g.signum(g.cancelAsLong(xa[i++], xb[j++]));
+			}
+			if (rt!=0) {
+				return rt;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Applies the group operation upon a number of copies of an element.
+	 */
+	private static long _power(long v, int n, LongGroupOperator g) {
+		long rt = g.identityAsLong();
+		for (; n>0; n >>= 1) {
+			if ((n&1)!=0) {
+				rt = g.applyAsLong(rt, v);
+			}
+			v = g.applyAsLong(v, v);
+		}
+		return rt;
+	}
+
+	/**
+	 * (P) Computes the relative order between a pair of symbols expressed as <code>int</code>s, with relative
+	 * differences supplied as a sparse graph of <code>long</code> weights.
+	 * Returns -1, 0 or 1, depending whether left symbol is less than (absolute),
+	 * equivalent to (neutral) or more than (relative) the right symbol.
+	 *  
+	 * @param a Left symbol.
+	 * @param b Right symbol.
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param g Group operator.
+	 * @return Result of comparision (-1, 0 or 1).
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int compare(int a, int b, int[][] src, LongSparseGraph fg, LongGroupOperator g) {
+		return _compare(a, b, src, fg, g, null);
+	}
+
+	/**
+	 * Computes the relative order between a pair of symbols with relative differences supplied as a sparse graph of <code>long</code> weights; if the
+	 * symbols are equivalent, an automorphism mapping the left symbol to the right symbol is searched for (if <code>fa</code> is not null).
+	 */
+	private static int _compare(int a, int b, int[][] src, LongSparseGraph fg, LongGroupOperator g, Automorphisms fa) {
+		if (a==b) {
+			return 0;
+		}
+		int[][] rt = _propagate(_double(a, b, src), fg, 1, null, g, (int[][] s) -> s[0].length==2, null);
+		if (rt[0].length!=2) {
+			return rt[0][0]==a<<1 ? -1 : 1;
+		}
+		if (fa!=null) {
+			_automorphism(rt, (int[][] s, int[] ff) -> _propagate(s, fg, 1, null, g, null, null), fa);
+		}
+		return 0;
+	}
+
+	/**
+	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
+	 * expressed as an array of arrays of <code>int</code>s, with relative differences supplied as a sparse graph of <code>long</code> weights.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
+	 * @return A preorder of automorphic groups of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[][] groups(int[][] src, LongSparseGraph fg, LongGroupOperator g, IntBinaryOperator cmp) {
+		return groups(src, fg, g, cmp, null);
+	}
+
+	/**
+	 * (P) Computes a (truly) relative (pre)order of automorphic groups of a preorder of symbols
+	 * expressed as an array of arrays of <code>int</code>s, with relative differences supplied as a sparse graph of <code>long</code> weights.
+	 * 
+	 * If no order is done, input order is returned as is.
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols; if null, the order between equivalent symbols is preserved.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return A preorder of automorphic groups of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[][] groups(int[][] src, LongSparseGraph fg, LongGroupOperator g, IntBinaryOperator cmp, RefinementListener<? super int[][]> fr) {
+		return _groups(src, (int[][] s) -> propagate(s, fg, null, g, null, fr), (int[][] s) -> (int a, int b) -> compare(a,b, s, fg, g), cmp, fr, null);
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>int</code>s, with relative differences supplied as a sparse graph of <code>long</code> weights.
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @return A canonical order of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[] order(int[][] src, LongSparseGraph fg, LongGroupOperator g, IntBinaryOperator cmp) {
+		return order(src, fg, g, cmp, null);
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>int</code>s, with relative differences supplied as a sparse graph of <code>long</code> weights.
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @return A canonical order of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[] order(int[][] src, LongSparseGraph fg, LongGroupOperator g, IntBinaryOperator cmp, RefinementListener<? super int[][]> fr) {
+		return order(src, fg, g, cmp, fr, null);
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>int</code>s, with relative differences supplied as a sparse graph of <code>long</code> weights.
+	 * 
+	 * <p>If <code>fa</code> is not null, automorphisms found by relative comparisions are recorded to it and
+	 * symbols in the same orbit are grouped without comparision (see
+	 * {@link #order(int[][], IntBinaryOperator, IntGroupOperator, IntBinaryOperator, RefinementListener, Automorphisms)}).</p>
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @param fa Automorphisms found (reinitialized); may be null.
+	 * @return A canonical order of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[] order(int[][] src, LongSparseGraph fg, LongGroupOperator g, IntBinaryOperator cmp, RefinementListener<? super int[][]> fr, Automorphisms fa) {
+		return order(src, fg, g, cmp, fr, fa, null);
+	}
+
+	/**
+	 * (P) Computes a (strongly) relative (canonical) order of symbols expressed
+	 * as an array of arrays of <code>int</code>s, with relative differences supplied as a sparse graph of <code>long</code> weights.
+	 * 
+	 * <p>The cell from which a pivot is chosen (individualized) is selected by <code>fc</code> (see
+	 * {@link #order(int[][], IntBinaryOperator, IntGroupOperator, IntBinaryOperator, RefinementListener, Automorphisms, CellSelector)}).
+	 * The selector is given a view of the graph which is 0 (the identity of
+	 * {@link IntGroupOperator#ADDITIVE}) if and only if the weight is the identity of <code>g</code>.</p>
+	 * 
+	 * @param src A preorder of symbols (within <code>[0, fg.size())</code>).
+	 * @param fg Supplies the relative differences between pairs of symbols.
+	 * @param g Group operator.
+	 * @param cmp Comparator for equivalent symbols and pivoting; if null, the order between equivalent symbols is preserved and used for pivoting.
+	 * @param fr Listener for the stages of the computation; may be null.
+	 * @param fa Automorphisms found (reinitialized); may be null.
+	 * @param fc Selector for the cell of the pivot; if null, {@link CellSelector#LAST} is used.
+	 * @return A canonical order of symbols.
+	 * @throws IllegalArgumentException If <code>g</code> is <code>ADDITIVE_EXACT</code> (overflows can not be detected as the default weight is cancelled).
+	 * @since 1.2.0
+	 */
+	public static int[] order(int[][] src, LongSparseGraph fg, LongGroupOperator g, IntBinaryOperator cmp, RefinementListener<? super int[][]> fr, Automorphisms fa, CellSelector fc) {
+		return _order(src, (int[][] s) -> propagate(s, fg, null, g, null, fr), (int[][] s) -> (int a, int b) -> _compare(a,b, s, fg, g, fa), cmp, fr, fa,
+				fc==null ? null : (int[][] s) -> fc.select(s, (int a, int b) -> Long.compare(fg.applyAsLong(a, b), g.identityAsLong()), IntGroupOperator.ADDITIVE));
+	}
+
+	/**
+	 * Groups a preorder of symbols expressed as <code>int</code>s by relative comparision (see
+	 * {@link #groups(int[][], IntSparseGraph, IntGroupOperator, IntBinaryOperator, RefinementListener)}),
+	 * with the propagation and the comparision (within a propagated preorder) supplied as lambdas; symbols
+	 * in the same orbit of <code>fa</code> (if not null) are grouped without comparision.
+	 */
+	private static int[][] _groups(int[][] src, UnaryOperator<int[][]> fp, Function<int[][], IntBinaryOperator> fc, IntBinaryOperator cmp, RefinementListener<? super int[][]> fr, Automorphisms fa) {
+		int[][] _src = fp.apply(src);
+		if (fr!=null) {
+			fr.beforeGroups(_src);
+		}
+		IntBinaryOperator fd = fc.apply(_src);
+		int[][] ret = _classes(_src, (int a, int b) -> {
+			if (fa!=null && fa.equivalent(a, b)) {
+				return 0;
+			}
+			int rt = fd.applyAsInt(a, b);
+			if (fr!=null) {
+				fr.afterCompare(rt);
+			}
+			return rt;
+		});
+		if (fr!=null) {
+			fr.afterGroups(ret);
+		}
+		return cmp==null ? ret : populate(int[].class, ret.length, (int p) -> order(ret[p].length, (int q) -> ret[p][q], cmp, null));
+	}
+
+	/**
+	 * Computes a relative order of symbols expressed as <code>int</code>s (see
+	 * {@link #order(int[][], IntSparseGraph, IntGroupOperator, IntBinaryOperator, RefinementListener, Automorphisms, CellSelector)}),
+	 * with the propagation and the comparision (within a propagated preorder) supplied as lambdas; the comparision
+	 * is expected to record the automorphisms found to <code>fa</code> (if not null). The cell of the pivot is
+	 * selected by <code>fs</code> (the last cell of more than one symbol if null).
+	 */
+	private static int[] _order(int[][] src, UnaryOperator<int[][]> fp, Function<int[][], IntBinaryOperator> fc, IntBinaryOperator cmp, RefinementListener<? super int[][]> fr, Automorphisms fa, ToIntFunction<int[][]> fs) {
+		if (fa!=null) {
+			fa.init(src);
+		}
+		int[] ret = EMPTY_INT;
+		while (true) {
+			src = _groups(src, fp, fc, null, fr, fa);
+			int[][] _src = src;
+			int pl = search(src.length, 0, (int p) -> _src[p].length>1);
+			ret = join(populate(src.length-pl-1, (int p) -> _src[p+pl+1][0]), ret);
+			if (pl==-1) {
+				break;
+			}
+			int pv = fs==null ? pl : fs.applyAsInt(src);
+			
+			if (fr!=null) {
+				fr.beforePivot(src, pv);
+			}
+			int sp = cmp==null ? 0 : search(0, src[pv].length, (int nr, int or) -> cmp.applyAsInt(_src[pv][nr], _src[pv][or])>0);
+			int[] ss = new int[src[pv].length-1];
+			System.arraycopy(src[pv], 0, ss, 0, sp);
+			System.arraycopy(src[pv], sp+1, ss, sp, src[pv].length-sp-1);
+			if (fa!=null) {
+				fa.fix(src[pv][sp]);
+			}
+			
+			int[][] po = fp.apply(new int[][] { ss, { src[pv][sp] } });
+			int[][] nsrc = new int[pl+po.length][];
+			System.arraycopy(src, 0, nsrc, 0, pv);
+			System.arraycopy(po, 0, nsrc, pv, po.length);
+			System.arraycopy(src, pv+1, nsrc, pv+po.length, pl-pv);
+			if (fr!=null) {
+				fr.afterPivot(nsrc);
+			}
+			src = nsrc;
+		}
+		return ret;
+	}
+
+	/* WRAP */
+
+	/**
+	 * Wraps an object with an array (intended for internal use).
+	 * 
+	 * @param <T> Item type.
+	 * @param rc Item type.
+	 * @param v Item.
+	 * @return An array.
+	 * @since 1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T[] wrap(Class<? extends T> rc, T v) {
+		T[] rt = (T[]) Array.newInstance(rc, 1);
+		rt[0] = v;
+		return rt;
+	}
+
+	/**
+	 * Wraps a pair of objects with an array (intended for internal use).
+	 * 
+	 * @param <T> Item type.
+	 * @param rc Item type.
+	 * @param a First item.
+	 * @param b Second item.
+	 * @return An array.
+	 * @since 1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T[] wrap(Class<? extends T> rc, T a, T b) {
+		T[] rt = (T[]) Array.newInstance(rc, 2);
+		rt[0] = a;
+		rt[1] = b;
+		return rt;
+	}
+	
+	/**
+	 * Wraps a type into an array type (intended for internal use).
+	 * @param <T> Item type.
+	 * @param rc Item type.
+	 * @return An array type.
+	 * @since 1.0.0
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Class<T[]> wrap(Class<? extends T> rc) {
+		return (Class<T[]>) Array.newInstance(rc, 0).getClass();
+	}
+	
+	/**
+	 * Returns an empty array of the supplied type (intended for internal use).
+	 * @param <T> Item type.
+	 * @param rc Item type.
+	 * @return An empty array.
+	 * @since 1.0.0
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T[] empty(Class<? extends T> rc) {
+		return (T[]) Array.newInstance(rc, 0);
+	}
+	
+	/* MERGE/ANARY */
+
+	/**
+	 * (P) Applies an anary set operation to an array of sets of <code>int</code>s.
+	 * 
+	 * @param n Number of sets to merge.
+	 * @param fn Supplies nth set to merge.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Symmetric set operation.
+	 * @return The merged set.
+	 * @since 1.0.0
+	 */
+	public static int[] merge(int n, IntFunction<int[]> fn, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op) {
+		op.requireSymmetric();
+		return op==SetOperator.EMPTY
+				? EMPTY_INT
+				: execute(0, n, EMPTY_INT, fn, (int[] a, int[] b) -> merge(a, b, cmp, fm, op));
+	}
+	
+	/**
+	 * (P) Applies an anary set operation to an array of sets of <code>long</code>s.
+	 * 
+	 * @param n Number of sets to merge.
+	 * @param fn Supplies nth set to merge.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Symmetric set operation.
+	 * @return The merged set.
+	 * @since 1.0.0
+	 */
+	public static long[] merge(int n, IntFunction<long[]> fn, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op) {
+		op.requireSymmetric();
+		return op==SetOperator.EMPTY
+				? EMPTY_LONG
+				: execute(0, n, EMPTY_LONG, fn, (long[] a, long[] b) -> merge(a, b, cmp, fm, op));
+	}
+	
+	/**
+	 * (P) Applies an anary set operation to an array of sets of objects.
+	 * 
+	 * <p>Note that if the item type is a generic type, the lambdas must work with the raw types.
+	 * For example, assuming there is a generic class <code>SomeType&lt;T&gt;</code> which implements
+	 * <code>Comparable&lt;SomeType&lt;T&gt;&gt;</code> and lambda <code>fn</code> is of type
+	 * <code>IntFunction&lt;SomeType&lt;T&gt;&gt;</code>, then:
+	 * </p>
+	 * 
+	 * <pre>
+	 * @SuppressWarnings({ "unchecked", "rawtypes" })
+	 * SomeType&lt;T&gt;[] ns = RJ.merge(SomeType.class, n,
+	 * 		(int p) -> (SomeType[]) fn.apply(p),
+	 * 		Comparator.naturalOrder(),
+	 * 		(AbstractLNode a, AbstractLNode b) -> a,
+	 * 		SetOperator.UNION);
+	 * </pre>
+	 * 
+	 * @param <T> Item type.
+	 * @param rc Item type.
+	 * @param n Number of sets to merge.
+	 * @param fn Supplies nth set to merge.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Symmetric set operation.
+	 * @return The merged set.
+	 * @since 1.0.0
+	 */
+	public static <T> T[] merge(Class<? extends T> rc, int n, IntFunction<T[]> fn, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op) {
+		op.requireSymmetric();
+		return op==SetOperator.EMPTY
+				? empty(rc)
+				: execute(0, n, empty(rc), fn, (T[] a, T[] b) -> merge(rc, a, b, cmp, fm, op));
+	}
+
+	/* MERGE/BINARY/ONE-ONE */
+	
+	/**
+	 * Applies a set operation upon a pair of <code>int</code>s.
+	 * 
+	 * @param a Left item.
+	 * @param b Right item.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @since 1.1.0
+	 */
+	public static int[] merge(int a, int b, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op) {
+		if (op==SetOperator.EMPTY) {
+			return EMPTY_INT;
+		}
+		int cv = cmp.applyAsInt(a, b);
+		return cv==0 ? op.both ? new int[] { fm.applyAsInt(a, b) } : EMPTY_INT
+				: op.left && op.right ? cv<0 ? new int[] { a, b } : new int[] { b, a }
+					: op.left ? new int[] { a }
+					: op.right ? new int[] { b }
+					: EMPTY_INT;
+	}
+
+	/**
+	 * Applies a set operation upon a pair of <code>long</code>s.
+	 * 
+	 * @param a Left item.
+	 * @param b Right item.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @since 1.1.0
+	 */
+	public static long[] merge(long a, long b, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op) {
+		if (op==SetOperator.EMPTY) {
+			return RJ.EMPTY_LONG;
+		}
+		int cv = cmp.applyAsInt(a, b);
+		return cv==0 ? op.both ? new long[] { fm.applyAsLong(a, b) } : EMPTY_LONG
+				: op.left && op.right ? cv<0 ? new long[] { a, b } : new long[] { b, a }
+					: op.left ? new long[] { a }
+					: op.right ? new long[] { b }
+					: RJ.EMPTY_LONG;
+	}
+	
+	/**
+	 * Applies a set operation upon a pair of objects.
+	 * 
+	 * @param <T> Item type.
+	 * @param rc Item type.
+	 * @param a Left item.
+	 * @param b Right item.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @since 1.1.0
+	 */
+	public static <T> T[] merge(Class<? extends T> rc, T a, T b, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op) {
+		if (op==SetOperator.EMPTY) {
+			return RJ.empty(rc);
+		}
+		int cv = cmp.compare(a, b);
+		return cv==0 ? op.both ? wrap(rc, fm.apply(a, b)) : RJ.empty(rc)
+				: op.left && op.right ? cv<0 ? wrap(rc, a, b) : wrap(rc, b, a)
+					: op.left ? wrap(rc, a)
+					: op.right ? wrap(rc, b)
+					: RJ.empty(rc);
+	}
+
+	/* MERGE/BINARY/ONE-MANY */
+
+	/**
+	 * Applies a set operation upon an <code>int</code> and a set expressed an ordered array of <code>int</code>s.
+	 * 
+	 * @param a Left item.
+	 * @param bfrom Start of the right set (inclusive).
+	 * @param bto End of the right set (exclusive).
+	 * @param bs Right set.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @since 1.1.0
+	 */
+	public static int[] merge(int a, int bfrom, int bto, int[] bs, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op) {
+		if (bto-bfrom<=0) {
+			return op.left ? new int[] { a } : EMPTY_INT;
+		} else if (bto-bfrom==1) {
+			return merge(a, bs[bfrom], cmp, fm, op);
+		} else if (op==SetOperator.EMPTY) {
+			return EMPTY_INT;
+		}
+		
+		int p = search(bfrom, bto, (int r) -> cmp.applyAsInt(bs[r], a));
+		if (p<0) {
+			p = ~p;
+			if (op.left) {
+				if (op.right) {
+					int[] ret = new int[bto-bfrom+1];
+					System.arraycopy(bs, bfrom, ret, 0, p-bfrom);
+					System.arraycopy(bs, p, ret, p-bfrom+1, bto-p);
+					ret[p-bfrom] = a;
+					return ret;
+				} else {
+					return new int[] { a };
+				}
+			} else {
+				return op.right ? Arrays.copyOfRange(bs, bfrom, bto) : EMPTY_INT;
+			}
+		} else if (op.both) {
+			if (op.right) {
+				int[] ret = Arrays.copyOfRange(bs, bfrom, bto);
+				ret[p-bfrom] = fm.applyAsInt(a, bs[p]);
+				return ret;
+			} else {
+				return new int[] { fm.applyAsInt(a, bs[p]) };
+			}
+		} else if (op.right) {
+			int[] ret = new int[bto-bfrom-1];
+			System.arraycopy(bs, bfrom, ret, 0, p-bfrom);
+			System.arraycopy(bs, p+1, ret, p-bfrom, bto-p-1);
+			return ret;
+		} else {
+			return EMPTY_INT;
+		}
+	}
+
+	/**
+	 * Applies a set operation upon an <code>long</code> and a set expressed an ordered array of <code>long</code>s.
+	 * 
+	 * @param a Left item.
+	 * @param bfrom Start of the right set (inclusive).
+	 * @param bto End of the right set (exclusive).
+	 * @param bs Right set.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @since 1.1.0
+	 */
+	public static long[] merge(long a, int bfrom, int bto,long[] bs, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op) {
+		if (bto-bfrom<=0) {
+			return op.left ? new long[] { a } : EMPTY_LONG;
+		} else if (bto-bfrom==1) {
+			return merge(a, bs[bfrom], cmp, fm, op);
+		} else if (op==SetOperator.EMPTY) {
+			return EMPTY_LONG;
+		}
+		
+		int p = search(bfrom, bto, (int r) -> cmp.applyAsInt(bs[r], a));
+		if (p<0) {
+			p = ~p;
+			if (op.left) {
+				if (op.right) {
+					long[] ret = new long[bto-bfrom+1];
+					System.arraycopy(bs, bfrom, ret, 0, p-bfrom);
+					System.arraycopy(bs, p, ret, p-bfrom+1, bto-p);
+					ret[p-bfrom] = a;
+					return ret;
+				} else {
+					return new long[] { a };
+				}
+			} else {
+				return op.right ? Arrays.copyOfRange(bs, bfrom, bto) : EMPTY_LONG;
+			}
+		} else if (op.both) {
+			if (op.right) {
+				long[] ret = Arrays.copyOfRange(bs, bfrom, bto);
+				ret[p-bfrom] = fm.applyAsLong(a, bs[p]);
+				return ret;
+			} else {
+				return new long[] { fm.applyAsLong(a, bs[p]) };
+			}
+		} else if (op.right) {
+			long[] ret = new long[bto-bfrom-1];
+			System.arraycopy(bs, bfrom, ret, 0, p-bfrom);
+			System.arraycopy(bs, p+1, ret, p-bfrom, bto-p-1);
+			return ret;
+		} else {
+			return EMPTY_LONG;
+		}
+	}
+	
+	/**
+	 * Applies a set operation upon an object and a set expressed an ordered array of objects.
+	 * 
+	 * @param <T> Item type.
+	 * @param rc Item type.
+	 * @param a Left item.
+	 * @param bfrom Start of the right set (inclusive).
+	 * @param bto End of the right set (exclusive).
+	 * @param bs Right set.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @since 1.1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T[] merge(Class<? extends T> rc, T a, int bfrom, int bto, T[] bs, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op) {
+		if (bto-bfrom<=0) {
+			return op.left ? wrap(rc, a) : empty(rc);
+		} else if (bto-bfrom==1) {
+			return merge(rc, a, bs[bfrom], cmp, fm, op);
+		} else if (op==SetOperator.EMPTY) {
+			return empty(rc);
+		}
+		
+		int p = search(bfrom, bto, (int r) -> cmp.compare(bs[r], a));
+		if (p<0) {
+			p = ~p;
+			if (op.left) {
+				if (op.right) {
+					T[] ret = (T[])Array.newInstance(rc, bto-bfrom+1);
+					System.arraycopy(bs, bfrom, ret, 0, p-bfrom);
+					System.arraycopy(bs, p, ret, p-bfrom+1, bto-p);
+					ret[p-bfrom] = a;
+					return ret;
+				} else {
+					return wrap(rc, a);
+				}
+			} else {
+				return op.right ? Arrays.copyOfRange(bs, bfrom, bto) : empty(rc);
+			}
+		} else if (op.both) {
+			if (op.right) {
+				T[] ret = Arrays.copyOfRange(bs, bfrom, bto);
+				ret[p-bfrom] = fm.apply(a, bs[p]);
+				return ret;
+			} else {
+				return wrap(rc, fm.apply(a, bs[p]));
+			}
+		} else if (op.right) {
+			T[] ret = (T[])Array.newInstance(rc, bto-bfrom-1);
+			System.arraycopy(bs, bfrom, ret, 0, p-bfrom);
+			System.arraycopy(bs, p+1, ret, p-bfrom, bto-p-1);
+			return ret;
+		} else {
+			return empty(rc);
+		}
+	}
+
+	/* MERGE/BINARY/MANY-ONE */
+
+	/**
+	 * Applies a set operation upon an <code>int</code> and a set expressed an ordered array of <code>int</code>s.
+	 * 
+	 * @param afrom Start of the left set (inclusive).
+	 * @param ato End of the left set (exclusive).
+	 * @param as Left set.
+	 * @param b Right item.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @since 1.1.0
+	 */
+	public static int[] merge(int afrom, int ato, int[] as, int b, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op) {
+		return merge(b, afrom, ato, as, cmp, (int va, int vb) -> fm.applyAsInt(vb, va), op.reverse());
+	}
+
+	/**
+	 * Applies a set operation upon an <code>long</code> and a set expressed an ordered array of <code>long</code>s.
+	 * 
+	 * @param afrom Start of the left set (inclusive).
+	 * @param ato End of the left set (exclusive).
+	 * @param as Left set.
+	 * @param b Right item.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @since 1.1.0
+	 */
+	public static long[] merge(int afrom, int ato, long[] as, long b, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op) {
+		return merge(b, afrom, ato, as, cmp, (long va, long vb) -> fm.applyAsLong(vb, va), op.reverse());
+	}
+
+	/**
+	 * Applies a set operation upon an object and a set expressed an ordered array of objects.
+	 * 
+	 * @param <T> Item type.
+	 * @param rc Item type.
+	 * @param afrom Start of the left set (inclusive).
+	 * @param ato End of the left set (exclusive).
+	 * @param as Left set.
+	 * @param b Right item.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @since 1.1.0
+	 */
+	public static <T> T[] merge(Class<? extends T> rc, int afrom, int ato, T[] as, T b, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op) {
+		return merge(rc, b, afrom, ato, as, cmp, (T va, T vb) -> fm.apply(vb, va), op.reverse());
+	}
+	
+	/* MERGE/BINARY/MANY-MANY */
+	
+	/**
+	 * (P) Applies a set operation upon a pair of sets expressed as ordered arrays of <code>int</code>s.
+	 * 
+	 * @param as Left set.
+	 * @param bs Right set.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @since 1.0.0
+	 */
+	public static int[] merge(int[] as, int[] bs, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op) {
+		return op==SetOperator.EMPTY ? EMPTY_INT
+				: op==SetOperator.LEFT ? as
+				: op==SetOperator.RIGHT ? bs
+				: xs.fork(as.length+bs.length) ? xs.executeAsObj((Consumer<int[]> h) -> _merge(0, as.length, as, 0, bs.length, bs, cmp, fm, op, h))
+				: _merge(0, as.length, as, 0, bs.length, bs, cmp, fm, op);
+	}
+
+	private static void _merge(int afrom, int ato, int[] as, int bfrom, int bto, int[] bs, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op, Consumer<int[]> fh) {
+		int aln = ato-afrom;
+		int bln = bto-bfrom;
+		if (aln>2 && bln>2 && xs.fork(aln+bln)) {
+			int ap, bp;
+			if (aln >= bln) {
+				ap = (aln>>1)+afrom;
+				int _bp = search(bfrom, bto, (int p) -> cmp.applyAsInt(bs[p],as[ap]));
+				if (_bp==~bfrom) {
+					_merge(ap, ato, as, bfrom, bto, bs, cmp, fm, op,
+							op.left ? (int[] r) -> fh.accept(join(Arrays.copyOfRange(as, afrom, ap), r)) : fh);
+					return;
+				} else if (_bp==~bto) {
+					_merge(afrom, ap, as, bfrom, bto, bs, cmp, fm, op,
+							op.left ? (int[] r) -> fh.accept(join(r, Arrays.copyOfRange(as, ap, ato))) : fh);
+					return;
+				}
+				bp = _bp<0 ? ~_bp : _bp;
+			} else {
+				bp = (bln>>1)+bfrom;
+				int _ap = search(afrom, ato, (int p) -> cmp.applyAsInt(as[p],bs[bp]));
+				if (_ap==~afrom) {
+					_merge(afrom, ato, as, bp, bto, bs, cmp, fm, op,
+							op.right ? (int[] r) -> fh.accept(join(Arrays.copyOfRange(bs, bfrom, bp), r)) : fh);
+					return;
+				} else if (_ap==~ato) {
+					_merge(afrom, ato, as, bfrom, bp, bs, cmp, fm, op,
+							op.right ? (int[] r) -> fh.accept(join(r,Arrays.copyOfRange(bs, bp, bto))) : fh);
+					return;
+				}
+				ap = _ap<0 ? ~_ap : _ap;
+			}
+			xs.queue((Consumer<int[]> h) -> _merge(afrom, ap, as, bfrom, bp, bs, cmp, fm, op, h),
+					(Consumer<int[]> h) -> _merge(ap, ato, as, bp, bto, bs, cmp, fm, op, h),
+					fh, RJ::join);
+		} else {
+			fh.accept(_merge(afrom, ato, as, bfrom, bto, bs, cmp, fm, op));
+		}		
+	}
+
+	private static int[] _merge(int afrom, int ato, int[] as, int bfrom, int bto, int[] bs, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op) {
+		int aln = ato-afrom;
+		int bln = bto-bfrom;
+		if (aln<2) {
+			 return aln==1 ? merge(as[afrom], bfrom, bto, bs, cmp, fm, op)
+					 : op.right && bto>bfrom ? Arrays.copyOfRange(bs,bfrom,bto) : EMPTY_INT;
+		} else if (bln<2) {
+			return bln==1 ? merge(afrom, ato, as, bs[bfrom], cmp, fm, op)
+					: op.left  && ato>afrom? Arrays.copyOfRange(as,afrom,ato) : EMPTY_INT;
+		}
+		
+		int[] rt = new int[aln+bln];
+		int ap=afrom, bp=bfrom, p=0;
+		while (ap<ato && bp<bto) {
+			int cv = cmp.applyAsInt(as[ap], bs[bp]);
+			if (cv<0) {
+				if (op.left) {
+					rt[p++] = as[ap];
+				}
+				ap++;
+			} else if (cv>0) {
+				if (op.right) {
+					rt[p++] = bs[bp];
+				}
+				bp++;
+			} else {
+				if (op.both) {
+					rt[p++] = fm.applyAsInt(as[ap], bs[bp]);
+				}
+				ap++;
+				bp++;
+			}
+		}
+		if (op.left) {
+			System.arraycopy(as, ap, rt, p, ato-ap);
+			p += ato-ap;
+		}		
+		if (op.right) {
+			System.arraycopy(bs, bp, rt, p, bto-bp);
+			p += bto-bp;
+		}
+		return p==rt.length ? rt : Arrays.copyOf(rt, p);
+	}
+	
+	/**
+	 * (P) Applies a set operation upon a pair of sets expressed as ordered arrays of <code>long</code>s.
+	 * 
+	 * @param as Left set.
+	 * @param bs Right set.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @since 1.0.0
+	 */
+	public static long[] merge(long[] as, long[] bs, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op) {
+		return op==SetOperator.EMPTY ? EMPTY_LONG
+				: op==SetOperator.LEFT ? as
+				: op==SetOperator.RIGHT ? bs
+				: xs.fork(as.length+bs.length) ? xs.executeAsObj((Consumer<long[]> h) -> _merge(0, as.length, as, 0, bs.length, bs, cmp, fm, op, h))
+				: _merge(0, as.length, as, 0, bs.length, bs, cmp, fm, op);
+	}
+
+	private static void _merge(int afrom, int ato, long[] as, int bfrom, int bto, long[] bs, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op, Consumer<long[]> fh) {
+		int aln = ato-afrom;
+		int bln = bto-bfrom;
+		if (aln>2 && bln>2 && xs.fork(aln+bln)) {
+			int ap, bp;
+			if (aln >= bln) {
+				ap = (aln>>1)+afrom;
+				int _bp = search(bfrom, bto, (int p) -> cmp.applyAsInt(bs[p],as[ap]));
+				if (_bp==~bfrom) {
+					_merge(ap, ato, as, bfrom, bto, bs, cmp, fm, op,
+							op.left ? (long[] r) -> fh.accept(join(Arrays.copyOfRange(as, afrom, ap), r)) : fh);
+					return;
+				} else if (_bp==~bto) {
+					_merge(afrom, ap, as, bfrom, bto, bs, cmp, fm, op,
+							op.left ? (long[] r) -> fh.accept(join(r, Arrays.copyOfRange(as, ap, ato))) : fh);
+					return;
+				}
+				bp = _bp<0 ? ~_bp : _bp;
+			} else {
+				bp = (bln>>1)+bfrom;
+				int _ap = search(afrom, ato, (int p) -> cmp.applyAsInt(as[p],bs[bp]));
+				if (_ap==~afrom) {
+					_merge(afrom, ato, as, bp, bto, bs, cmp, fm, op,
+							op.right ? (long[] r) -> fh.accept(join(Arrays.copyOfRange(bs, bfrom, bp), r)) : fh);
+					return;
+				} else if (_ap==~ato) {
+					_merge(afrom, ato, as, bfrom, bp, bs, cmp, fm, op,
+							op.right ? (long[] r) -> fh.accept(join(r,Arrays.copyOfRange(bs, bp, bto))) : fh);
+					return;
+				}
+				ap = _ap<0 ? ~_ap : _ap;
+			}
+			xs.queue((Consumer<long[]> h) -> _merge(afrom, ap, as, bfrom, bp, bs, cmp, fm, op, h),
+					(Consumer<long[]> h) -> _merge(ap, ato, as, bp, bto, bs, cmp, fm, op, h),
+					fh, RJ::join);
+		} else {
+			fh.accept(_merge(afrom, ato, as, bfrom, bto, bs, cmp, fm, op));
+		}
+	}
+
+	private static long[] _merge(int afrom, int ato, long[] as, int bfrom, int bto, long[] bs, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op) {
+		int aln = ato-afrom;
+		int bln = bto-bfrom;
+		if (aln<2) {
+			 return aln==1 ? merge(as[afrom], bfrom, bto, bs, cmp, fm, op)
+					 : op.right && bto>bfrom ? Arrays.copyOfRange(bs,bfrom,bto) : EMPTY_LONG;
+		} else if (bln<2) {
+			return bln==1 ? merge(afrom, ato, as, bs[bfrom], cmp, fm, op)
+					: op.left  && ato>afrom? Arrays.copyOfRange(as,afrom,ato) : EMPTY_LONG;
+		}
+		
+		long[] rt = new long[aln+bln];
+		int ap=afrom, bp=bfrom, p=0;
+		while (ap<ato && bp<bto) {
+			int cv = cmp.applyAsInt(as[ap], bs[bp]);
+			if (cv<0) {
+				if (op.left) {
+					rt[p++] = as[ap];
+				}
+				ap++;
+			} else if (cv>0) {
+				if (op.right) {
+					rt[p++] = bs[bp];
+				}
+				bp++;
+			} else {
+				if (op.both) {
+					rt[p++] = fm.applyAsLong(as[ap], bs[bp]);
+				}
+				ap++;
+				bp++;
+			}
+		}
+		if (op.left) {
+			System.arraycopy(as, ap, rt, p, ato-ap);
+			p += ato-ap;
+		}		
+		if (op.right) {
+			System.arraycopy(bs, bp, rt, p, bto-bp);
+			p += bto-bp;
+		}
+		return p==rt.length ? rt : Arrays.copyOf(rt, p);
+	}
+	
+	/**
+	 * (P) Applies a set operation upon a pair of sets expressed as ordered arrays of objects.
 	 * 
-	 * @param n Number of sets to merge.
-	 * @param fn Supplies nth set to merge.
+	 * @param <T> Item type.
+	 * @param rc Item type.
+	 * @param as Left set.
+	 * @param bs Right set.
 	 * @param cmp Comparator (both arguments must abide the order).
 	 * @param fm Merge function (for combining equivalent items).
-	 * @param op Symmetric set operation.
-	 * @return The merged set.
+	 * @param op Set operation.
+	 * @return Result set.
 	 * @since 1.0.0
 	 */
-	public static int[] merge(int n, IntFunction<int[]> fn, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op) {
-		op.requireSymmetric();
-		return op==SetOperator.EMPTY
-				? EMPTY_INT
-				: execute(0, n, EMPTY_INT, fn, (int[] a, int[] b) -> merge(a, b, cmp, fm, op));
+	@SuppressWarnings("unchecked")
+	public static <T> T[] merge(Class<? extends T> rc, T[] as, T[] bs, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op) {
+		return op==SetOperator.EMPTY ? (T[])empty(as.getClass().getComponentType())
+				: op==SetOperator.LEFT ? as
+				: op==SetOperator.RIGHT ? bs
+				: xs.fork(as.length+bs.length) ? xs.executeAsObj((Consumer<T[]> h) -> _merge(rc, 0, as.length, as, 0, bs.length, bs, cmp, fm, op, h))
+				: _merge(rc, 0, as.length, as, 0, bs.length, bs, cmp, fm, op);
+	}
+
+	private static <T> void _merge(Class<? extends T> rc, int afrom, int ato, T[] as, int bfrom, int bto, T[] bs, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op, Consumer<T[]> fh) {
+		int aln = ato-afrom;
+		int bln = bto-bfrom;
+		if (aln>2 && bln>2 && xs.fork(aln+bln)) {
+			int ap, bp;
+			if (aln >= bln) {
+				ap = (aln>>1)+afrom;
+				int _bp = search(bfrom, bto, (int p) -> cmp.compare(bs[p],as[ap]));
+				if (_bp==~bfrom) {
+					_merge(rc, ap, ato, as, bfrom, bto, bs, cmp, fm, op,
+							op.left ? (T[] r) -> fh.accept(join(Arrays.copyOfRange(as, afrom, ap), r)) : fh);
+					return;
+				} else if (_bp==~bto) {
+					_merge(rc, afrom, ap, as, bfrom, bto, bs, cmp, fm, op,
+							op.left ? (T[] r) -> fh.accept(join(r, Arrays.copyOfRange(as, ap, ato))) : fh);
+					return;
+				}
+				bp = _bp<0 ? ~_bp : _bp;
+			} else {
+				bp = (bln>>1)+bfrom;
+				int _ap = search(afrom, ato, (int p) -> cmp.compare(as[p],bs[bp]));
+				if (_ap==~afrom) {
+					_merge(rc, afrom, ato, as, bp, bto, bs, cmp, fm, op,
+							op.right ? (T[] r) -> fh.accept(join(Arrays.copyOfRange(bs, bfrom, bp), r)) : fh);
+					return;
+				} else if (_ap==~ato) {
+					_merge(rc, afrom, ato, as, bfrom, bp, bs, cmp, fm, op,
+							op.right ? (T[] r) -> fh.accept(join(r,Arrays.copyOfRange(bs, bp, bto))) : fh);
+					return;
+				}
+				ap = _ap<0 ? ~_ap : _ap;
+			}
+			xs.queue((Consumer<T[]> h) -> _merge(rc, afrom, ap, as, bfrom, bp, bs, cmp, fm, op, h),
+					(Consumer<T[]> h) -> _merge(rc, ap, ato, as, bp, bto, bs, cmp, fm, op, h),
+					fh, RJ::join);
+		} else {
+			fh.accept(_merge(rc, afrom, ato, as, bfrom, bto, bs, cmp, fm, op));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T[] _merge(Class<? extends T> rc, int afrom, int ato, T[] as, int bfrom, int bto, T[] bs, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op) {
+		int aln = ato-afrom;
+		int bln = bto-bfrom;
+		if (aln<2) {
+			 return aln==1 ? merge(rc, as[afrom], bfrom, bto, bs, cmp, fm, op)
+					 : op.right && bto>bfrom ? Arrays.copyOfRange(bs,bfrom,bto) : empty(rc);
+		} else if (bln<2) {
+			return bln==1 ? merge(rc, afrom, ato, as, bs[bfrom], cmp, fm, op)
+					: op.left  && ato>afrom? Arrays.copyOfRange(as,afrom,ato) : empty(rc);
+		}
+		
+		T[] rt = (T[]) Array.newInstance(rc, aln+bln);
+		int ap=afrom, bp=bfrom, p=0;
+		while (ap<ato && bp<bto) {
+			int cv = cmp.compare(as[ap], bs[bp]);
+			if (cv<0) {
+				if (op.left) {
+					rt[p++] = as[ap];
+				}
+				ap++;
+			} else if (cv>0) {
+				if (op.right) {
+					rt[p++] = bs[bp];
+				}
+				bp++;
+			} else {
+				if (op.both) {
+					rt[p++] = fm.apply(as[ap], bs[bp]);
+				}
+				ap++;
+				bp++;
+			}
+		}
+		if (op.left) {
+			System.arraycopy(as, ap, rt, p, ato-ap);
+			p += ato-ap;
+		}		
+		if (op.right) {
+			System.arraycopy(bs, bp, rt, p, bto-bp);
+			p += bto-bp;
+		}
+		return p==rt.length ? rt : Arrays.copyOf(rt, p);
 	}
 	
+	/* MERGE/STREAM */
+
+	/**
+	 * Applies a set operation upon a pair of sets expressed as ordered iterators of <code>int</code>s.
+	 * 
+	 * <p>The result is evaluated lazily (one item at a time) as the returned iterator is consumed; only the
+	 * current item of each argument is retained, so the result may be used as an argument of another
+	 * operation without materializing the intermediate set. Arguments are not consumed any further
+	 * than what is required to determine the result.</p>
+	 * 
+	 * @param as Left set.
+	 * @param bs Right set.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @see #merge(int[], int[], IntBinaryOperator, IntBinaryOperator, SetOperator)
+	 * @since 1.2.0
+	 */
+	public static PrimitiveIterator.OfInt merge(PrimitiveIterator.OfInt as, PrimitiveIterator.OfInt bs, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op) {
+		if (op==SetOperator.EMPTY) {
+			return Spliterators.iterator(Spliterators.emptyIntSpliterator());
+		} else if (op==SetOperator.LEFT) {
+			return as;
+		} else if (op==SetOperator.RIGHT) {
+			return bs;
+		}
+		return new PrimitiveIterator.OfInt() {
+			
+			private boolean init, ha, hb, hv;
+			private int a, b, v;
+
+			@Override
+			public boolean hasNext() {
+				if (!hv) {
+					if (!init) {
+						init = true;
+						if (ha = as.hasNext()) {
+							a = as.nextInt();
+						}
+						if (hb = bs.hasNext()) {
+							b = bs.nextInt();
+						}
+					}
+					while (!hv && (ha ? hb || op.left : hb && op.right)) {
+						int cv = !ha ? 1 : !hb ? -1 : cmp.applyAsInt(a, b);
+						if (cv<0) {
+							if (op.left) {
+								v = a;
+								hv = true;
+							}
+							if (ha = as.hasNext()) {
+								a = as.nextInt();
+							}
+						} else if (cv>0) {
+							if (op.right) {
+								v = b;
+								hv = true;
+							}
+							if (hb = bs.hasNext()) {
+								b = bs.nextInt();
+							}
+						} else {
+							if (op.both) {
+								v = fm.applyAsInt(a, b);
+								hv = true;
+							}
+							if (ha = as.hasNext()) {
+								a = as.nextInt();
+							}
+							if (hb = bs.hasNext()) {
+								b = bs.nextInt();
+							}
+						}
+					}
+				}
+				return hv;
+			}
+
+			@Override
+			public int nextInt() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				hv = false;
+				return v;
+			}
+			
+		};
+	}
+
+	/**
+	 * Applies a set operation upon a pair of sets expressed as ordered iterators of <code>long</code>s.
+	 * 
+	 * <p>The result is evaluated lazily (one item at a time) as the returned iterator is consumed; only the
+	 * current item of each argument is retained, so the result may be used as an argument of another
+	 * operation without materializing the intermediate set. Arguments are not consumed any further
+	 * than what is required to determine the result.</p>
+	 * 
+	 * @param as Left set.
+	 * @param bs Right set.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @see #merge(long[], long[], LongToIntBinaryOperator, LongBinaryOperator, SetOperator)
+	 * @since 1.2.0
+	 */
+	public static PrimitiveIterator.OfLong merge(PrimitiveIterator.OfLong as, PrimitiveIterator.OfLong bs, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op) {
+		if (op==SetOperator.EMPTY) {
+			return Spliterators.iterator(Spliterators.emptyLongSpliterator());
+		} else if (op==SetOperator.LEFT) {
+			return as;
+		} else if (op==SetOperator.RIGHT) {
+			return bs;
+		}
+		return new PrimitiveIterator.OfLong() {
+			
+			private boolean init, ha, hb, hv;
+			private long a, b, v;
+
+			@Override
+			public boolean hasNext() {
+				if (!hv) {
+					if (!init) {
+						init = true;
+						if (ha = as.hasNext()) {
+							a = as.nextLong();
+						}
+						if (hb = bs.hasNext()) {
+							b = bs.nextLong();
+						}
+					}
+					while (!hv && (ha ? hb || op.left : hb && op.right)) {
+						int cv = !ha ? 1 : !hb ? -1 : cmp.applyAsInt(a, b);
+						if (cv<0) {
+							if (op.left) {
+								v = a;
+								hv = true;
+							}
+							if (ha = as.hasNext()) {
+								a = as.nextLong();
+							}
+						} else if (cv>0) {
+							if (op.right) {
+								v = b;
+								hv = true;
+							}
+							if (hb = bs.hasNext()) {
+								b = bs.nextLong();
+							}
+						} else {
+							if (op.both) {
+								v = fm.applyAsLong(a, b);
+								hv = true;
+							}
+							if (ha = as.hasNext()) {
+								a = as.nextLong();
+							}
+							if (hb = bs.hasNext()) {
+								b = bs.nextLong();
+							}
+						}
+					}
+				}
+				return hv;
+			}
+
+			@Override
+			public long nextLong() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				hv = false;
+				return v;
+			}
+			
+		};
+	}
+
+	/**
+	 * Applies a set operation upon a pair of sets expressed as ordered iterators of objects.
+	 * 
+	 * <p>The result is evaluated lazily (one item at a time) as the returned iterator is consumed; only the
+	 * current item of each argument is retained, so the result may be used as an argument of another
+	 * operation without materializing the intermediate set. Arguments are not consumed any further
+	 * than what is required to determine the result.</p>
+	 * 
+	 * @param <T> Item type.
+	 * @param as Left set.
+	 * @param bs Right set.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @see #merge(Class, Object[], Object[], Comparator, BinaryOperator, SetOperator)
+	 * @since 1.2.0
+	 */
+	public static <T> Iterator<T> merge(Iterator<T> as, Iterator<T> bs, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op) {
+		if (op==SetOperator.EMPTY) {
+			return Collections.emptyIterator();
+		} else if (op==SetOperator.LEFT) {
+			return as;
+		} else if (op==SetOperator.RIGHT) {
+			return bs;
+		}
+		return new Iterator<T>() {
+			
+			private boolean init, ha, hb, hv;
+			private T a, b, v;
+
+			@Override
+			public boolean hasNext() {
+				if (!hv) {
+					if (!init) {
+						init = true;
+						if (ha = as.hasNext()) {
+							a = as.next();
+						}
+						if (hb = bs.hasNext()) {
+							b = bs.next();
+						}
+					}
+					while (!hv && (ha ? hb || op.left : hb && op.right)) {
+						int cv = !ha ? 1 : !hb ? -1 : cmp.compare(a, b);
+						if (cv<0) {
+							if (op.left) {
+								v = a;
+								hv = true;
+							}
+							if (ha = as.hasNext()) {
+								a = as.next();
+							}
+						} else if (cv>0) {
+							if (op.right) {
+								v = b;
+								hv = true;
+							}
+							if (hb = bs.hasNext()) {
+								b = bs.next();
+							}
+						} else {
+							if (op.both) {
+								v = fm.apply(a, b);
+								hv = true;
+							}
+							if (ha = as.hasNext()) {
+								a = as.next();
+							}
+							if (hb = bs.hasNext()) {
+								b = bs.next();
+							}
+						}
+					}
+				}
+				return hv;
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				hv = false;
+				return v;
+			}
+			
+		};
+	}
+
+	/* PROVENANCE/BINARY */
+
 	/**
-	 * (P) Applies an anary set operation to an array of sets of <code>long</code>s.
+	 * Packs the provenance of an item of a result of a binary set operation.
 	 * 
-	 * @param n Number of sets to merge.
-	 * @param fn Supplies nth set to merge.
-	 * @param cmp Comparator (both arguments must abide the order).
-	 * @param fm Merge function (for combining equivalent items).
-	 * @param op Symmetric set operation.
-	 * @return The merged set.
-	 * @since 1.0.0
+	 * @param a Index of the item in the left set (or -1).
+	 * @param b Index of the item in the right set (or -1).
+	 * @return Provenance.
+	 * @see #provenance(int[], int[], IntBinaryOperator, SetOperator)
+	 * @since 1.2.0
 	 */
-	public static long[] merge(int n, IntFunction<long[]> fn, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op) {
-		op.requireSymmetric();
-		return op==SetOperator.EMPTY
-				? EMPTY_LONG
-				: execute(0, n, EMPTY_LONG, fn, (long[] a, long[] b) -> merge(a, b, cmp, fm, op));
+	public static long provenance(int a, int b) {
+		return ((long) a<<32) | (b & 0xffffffffl);
 	}
-	
+
 	/**
-	 * (P) Applies an anary set operation to an array of sets of objects.
-	 * 
-	 * <p>Note that if the item type is a generic type, the lambdas must work with the raw types.
-	 * For example, assuming there is a generic class <code>SomeType&lt;T&gt;</code> which implements
-	 * <code>Comparable&lt;SomeType&lt;T&gt;&gt;</code> and lambda <code>fn</code> is of type
-	 * <code>IntFunction&lt;SomeType&lt;T&gt;&gt;</code>, then:
-	 * </p>
-	 * 
-	 * <pre>
-	 * @SuppressWarnings({ "unchecked", "rawtypes" })
-	 * SomeType&lt;T&gt;[] ns = RJ.merge(SomeType.class, n,
-	 * 		(int p) -> (SomeType[]) fn.apply(p),
-	 * 		Comparator.naturalOrder(),
-	 * 		(AbstractLNode a, AbstractLNode b) -> a,
-	 * 		SetOperator.UNION);
-	 * </pre>
+	 * Returns the index of an item in the left set from a provenance.
 	 * 
-	 * @param <T> Item type.
-	 * @param rc Item type.
-	 * @param n Number of sets to merge.
-	 * @param fn Supplies nth set to merge.
-	 * @param cmp Comparator (both arguments must abide the order).
-	 * @param fm Merge function (for combining equivalent items).
-	 * @param op Symmetric set operation.
-	 * @return The merged set.
-	 * @since 1.0.0
+	 * @param v Provenance.
+	 * @return Index of the item in the left set (or -1).
+	 * @see #provenance(int[], int[], IntBinaryOperator, SetOperator)
+	 * @since 1.2.0
 	 */
-	public static <T> T[] merge(Class<? extends T> rc, int n, IntFunction<T[]> fn, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op) {
-		op.requireSymmetric();
-		return op==SetOperator.EMPTY
-				? empty(rc)
-				: execute(0, n, empty(rc), fn, (T[] a, T[] b) -> merge(rc, a, b, cmp, fm, op));
+	public static int leftIndex(long v) {
+		return (int) (v>>32);
 	}
 
-	/* MERGE/BINARY/ONE-ONE */
-	
 	/**
-	 * Applies a set operation upon a pair of <code>int</code>s.
+	 * Returns the index of an item in the right set from a provenance.
 	 * 
-	 * @param a Left item.
-	 * @param b Right item.
-	 * @param cmp Comparator (both arguments must abide the order).
-	 * @param fm Merge function (for combining equivalent items).
-	 * @param op Set operation.
-	 * @return Result set.
-	 * @since 1.1.0
+	 * @param v Provenance.
+	 * @return Index of the item in the right set (or -1).
+	 * @see #provenance(int[], int[], IntBinaryOperator, SetOperator)
+	 * @since 1.2.0
 	 */
-	public static int[] merge(int a, int b, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op) {
-		if (op==SetOperator.EMPTY) {
-			return EMPTY_INT;
-		}
-		int cv = cmp.applyAsInt(a, b);
-		return cv==0 ? op.both ? new int[] { fm.applyAsInt(a, b) } : EMPTY_INT
-				: op.left && op.right ? cv<0 ? new int[] { a, b } : new int[] { b, a }
-					: op.left ? new int[] { a }
-					: op.right ? new int[] { b }
-					: EMPTY_INT;
+	public static int rightIndex(long v) {
+		return (int) v;
 	}
 
 	/**
-	 * Applies a set operation upon a pair of <code>long</code>s.
+	 * (P) Applies a set operation upon a pair of sets expressed as ordered arrays of <code>int</code>s and returns the
+	 * provenance of each item of the result set.
 	 * 
-	 * @param a Left item.
-	 * @param b Right item.
+	 * <p>The nth item of the returned array describes the nth item of the result of
+	 * <code>merge(as, bs, cmp, fm, op)</code>: its upper 32 bits hold the index of the item in the left set and the
+	 * lower 32 bits the index of the item in the right set (-1 if the item is not in the set); see
+	 * {@link #leftIndex(long)} and {@link #rightIndex(long)}. Payload arrays associated with the arguments can thus be
+	 * joined in linear time.</p>
+	 * 
+	 * @param as Left set.
+	 * @param bs Right set.
 	 * @param cmp Comparator (both arguments must abide the order).
-	 * @param fm Merge function (for combining equivalent items).
 	 * @param op Set operation.
-	 * @return Result set.
-	 * @since 1.1.0
+	 * @return Provenance of the result set.
+	 * @see #merge(int[], int[], IntBinaryOperator, IntBinaryOperator, SetOperator)
+	 * @since 1.2.0
 	 */
-	public static long[] merge(long a, long b, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op) {
+	public static long[] provenance(int[] as, int[] bs, IntBinaryOperator cmp, SetOperator op) {
 		if (op==SetOperator.EMPTY) {
-			return RJ.EMPTY_LONG;
+			return EMPTY_LONG;
+		} else if (op==SetOperator.LEFT) {
+			return populate(as.length, (int p) -> provenance(p, -1));
+		} else if (op==SetOperator.RIGHT) {
+			return populate(bs.length, (int p) -> provenance(-1, p));
 		}
-		int cv = cmp.applyAsInt(a, b);
-		return cv==0 ? op.both ? new long[] { fm.applyAsLong(a, b) } : EMPTY_LONG
-				: op.left && op.right ? cv<0 ? new long[] { a, b } : new long[] { b, a }
-					: op.left ? new long[] { a }
-					: op.right ? new long[] { b }
-					: RJ.EMPTY_LONG;
+		return xs.fork(as.length+bs.length) ? xs.executeAsObj((Consumer<long[]> h) -> _provenance(0, as.length, as, 0, bs.length, bs, cmp, op, h))
+				: _provenance(0, as.length, as, 0, bs.length, bs, cmp, op);
 	}
-	
+
+	private static void _provenance(int afrom, int ato, int[] as, int bfrom, int bto, int[] bs, IntBinaryOperator cmp, SetOperator op, Consumer<long[]> fh) {
+		int aln = ato-afrom;
+		int bln = bto-bfrom;
+		if (aln>2 && bln>2 && xs.fork(aln+bln)) {
+			int ap, bp;
+			if (aln >= bln) {
+				ap = (aln>>1)+afrom;
+				int _bp = search(bfrom, bto, (int p) -> cmp.applyAsInt(bs[p],as[ap]));
+				bp = _bp<0 ? ~_bp : _bp;
+			} else {
+				bp = (bln>>1)+bfrom;
+				int _ap = search(afrom, ato, (int p) -> cmp.applyAsInt(as[p],bs[bp]));
+				ap = _ap<0 ? ~_ap : _ap;
+			}
+			xs.queue((Consumer<long[]> h) -> _provenance(afrom, ap, as, bfrom, bp, bs, cmp, op, h),
+					(Consumer<long[]> h) -> _provenance(ap, ato, as, bp, bto, bs, cmp, op, h),
+					fh, RJ::join);
+		} else {
+			fh.accept(_provenance(afrom, ato, as, bfrom, bto, bs, cmp, op));
+		}
+	}
+
+	private static long[] _provenance(int afrom, int ato, int[] as, int bfrom, int bto, int[] bs, IntBinaryOperator cmp, SetOperator op) {
+		long[] rt = new long[ato-afrom+bto-bfrom];
+		int ap=afrom, bp=bfrom, p=0;
+		while (ap<ato && bp<bto) {
+			int cv = cmp.applyAsInt(as[ap], bs[bp]);
+			if (cv<0) {
+				if (op.left) {
+					rt[p++] = provenance(ap, -1);
+				}
+				ap++;
+			} else if (cv>0) {
+				if (op.right) {
+					rt[p++] = provenance(-1, bp);
+				}
+				bp++;
+			} else {
+				if (op.both) {
+					rt[p++] = provenance(ap, bp);
+				}
+				ap++;
+				bp++;
+			}
+		}
+		for (; op.left && ap<ato; ap++) {
+			rt[p++] = provenance(ap, -1);
+		}
+		for (; op.right && bp<bto; bp++) {
+			rt[p++] = provenance(-1, bp);
+		}
+		return p==rt.length ? rt : Arrays.copyOf(rt, p);
+	}
+
 	/**
-	 * Applies a set operation upon a pair of objects.
+	 * (P) Applies a set operation upon a pair of sets expressed as ordered arrays of <code>long</code>s and returns the
+	 * provenance of each item of the result set.
 	 * 
-	 * @param <T> Item type.
-	 * @param rc Item type.
-	 * @param a Left item.
-	 * @param b Right item.
+	 * <p>The nth item of the returned array describes the nth item of the result of
+	 * <code>merge(as, bs, cmp, fm, op)</code>: its upper 32 bits hold the index of the item in the left set and the
+	 * lower 32 bits the index of the item in the right set (-1 if the item is not in the set); see
+	 * {@link #leftIndex(long)} and {@link #rightIndex(long)}. Payload arrays associated with the arguments can thus be
+	 * joined in linear time.</p>
+	 * 
+	 * @param as Left set.
+	 * @param bs Right set.
 	 * @param cmp Comparator (both arguments must abide the order).
-	 * @param fm Merge function (for combining equivalent items).
 	 * @param op Set operation.
-	 * @return Result set.
-	 * @since 1.1.0
+	 * @return Provenance of the result set.
+	 * @see #merge(long[], long[], LongToIntBinaryOperator, LongBinaryOperator, SetOperator)
+	 * @since 1.2.0
 	 */
-	public static <T> T[] merge(Class<? extends T> rc, T a, T b, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op) {
+	public static long[] provenance(long[] as, long[] bs, LongToIntBinaryOperator cmp, SetOperator op) {
 		if (op==SetOperator.EMPTY) {
-			return RJ.empty(rc);
+			return EMPTY_LONG;
+		} else if (op==SetOperator.LEFT) {
+			return populate(as.length, (int p) -> provenance(p, -1));
+		} else if (op==SetOperator.RIGHT) {
+			return populate(bs.length, (int p) -> provenance(-1, p));
 		}
-		int cv = cmp.compare(a, b);
-		return cv==0 ? op.both ? wrap(rc, fm.apply(a, b)) : RJ.empty(rc)
-				: op.left && op.right ? cv<0 ? wrap(rc, a, b) : wrap(rc, b, a)
-					: op.left ? wrap(rc, a)
-					: op.right ? wrap(rc, b)
-					: RJ.empty(rc);
+		return xs.fork(as.length+bs.length) ? xs.executeAsObj((Consumer<long[]> h) -> _provenance(0, as.length, as, 0, bs.length, bs, cmp, op, h))
+				: _provenance(0, as.length, as, 0, bs.length, bs, cmp, op);
 	}
 
-	/* MERGE/BINARY/ONE-MANY */
+	private static void _provenance(int afrom, int ato, long[] as, int bfrom, int bto, long[] bs, LongToIntBinaryOperator cmp, SetOperator op, Consumer<long[]> fh) {
+		int aln = ato-afrom;
+		int bln = bto-bfrom;
+		if (aln>2 && bln>2 && xs.fork(aln+bln)) {
+			int ap, bp;
+			if (aln >= bln) {
+				ap = (aln>>1)+afrom;
+				int _bp = search(bfrom, bto, (int p) -> cmp.applyAsInt(bs[p],as[ap]));
+				bp = _bp<0 ? ~_bp : _bp;
+			} else {
+				bp = (bln>>1)+bfrom;
+				int _ap = search(afrom, ato, (int p) -> cmp.applyAsInt(as[p],bs[bp]));
+				ap = _ap<0 ? ~_ap : _ap;
+			}
+			xs.queue((Consumer<long[]> h) -> _provenance(afrom, ap, as, bfrom, bp, bs, cmp, op, h),
+					(Consumer<long[]> h) -> _provenance(ap, ato, as, bp, bto, bs, cmp, op, h),
+					fh, RJ::join);
+		} else {
+			fh.accept(_provenance(afrom, ato, as, bfrom, bto, bs, cmp, op));
+		}
+	}
+
+	private static long[] _provenance(int afrom, int ato, long[] as, int bfrom, int bto, long[] bs, LongToIntBinaryOperator cmp, SetOperator op) {
+		long[] rt = new long[ato-afrom+bto-bfrom];
+		int ap=afrom, bp=bfrom, p=0;
+		while (ap<ato && bp<bto) {
+			int cv = cmp.applyAsInt(as[ap], bs[bp]);
+			if (cv<0) {
+				if (op.left) {
+					rt[p++] = provenance(ap, -1);
+				}
+				ap++;
+			} else if (cv>0) {
+				if (op.right) {
+					rt[p++] = provenance(-1, bp);
+				}
+				bp++;
+			} else {
+				if (op.both) {
+					rt[p++] = provenance(ap, bp);
+				}
+				ap++;
+				bp++;
+			}
+		}
+		for (; op.left && ap<ato; ap++) {
+			rt[p++] = provenance(ap, -1);
+		}
+		for (; op.right && bp<bto; bp++) {
+			rt[p++] = provenance(-1, bp);
+		}
+		return p==rt.length ? rt : Arrays.copyOf(rt, p);
+	}
 
 	/**
-	 * Applies a set operation upon an <code>int</code> and a set expressed an ordered array of <code>int</code>s.
+	 * (P) Applies a set operation upon a pair of sets expressed as ordered arrays of objects and returns the
+	 * provenance of each item of the result set.
 	 * 
-	 * @param a Left item.
-	 * @param bfrom Start of the right set (inclusive).
-	 * @param bto End of the right set (exclusive).
+	 * <p>The nth item of the returned array describes the nth item of the result of
+	 * <code>merge(as, bs, cmp, fm, op)</code>: its upper 32 bits hold the index of the item in the left set and the
+	 * lower 32 bits the index of the item in the right set (-1 if the item is not in the set); see
+	 * {@link #leftIndex(long)} and {@link #rightIndex(long)}. Payload arrays associated with the arguments can thus be
+	 * joined in linear time.</p>
+	 * 
+	 * @param <T> Item type.
+	 * @param as Left set.
 	 * @param bs Right set.
 	 * @param cmp Comparator (both arguments must abide the order).
-	 * @param fm Merge function (for combining equivalent items).
 	 * @param op Set operation.
-	 * @return Result set.
-	 * @since 1.1.0
+	 * @return Provenance of the result set.
+	 * @see #merge(Class, Object[], Object[], Comparator, BinaryOperator, SetOperator)
+	 * @since 1.2.0
 	 */
-	public static int[] merge(int a, int bfrom, int bto, int[] bs, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op) {
-		if (bto-bfrom<=0) {
-			return op.left ? new int[] { a } : EMPTY_INT;
-		} else if (bto-bfrom==1) {
-			return merge(a, bs[bfrom], cmp, fm, op);
-		} else if (op==SetOperator.EMPTY) {
-			return EMPTY_INT;
+	public static <T> long[] provenance(T[] as, T[] bs, Comparator<T> cmp, SetOperator op) {
+		if (op==SetOperator.EMPTY) {
+			return EMPTY_LONG;
+		} else if (op==SetOperator.LEFT) {
+			return populate(as.length, (int p) -> provenance(p, -1));
+		} else if (op==SetOperator.RIGHT) {
+			return populate(bs.length, (int p) -> provenance(-1, p));
 		}
-		
-		int p = search(bfrom, bto, (int r) -> cmp.applyAsInt(bs[r], a));
-		if (p<0) {
-			p = ~p;
-			if (op.left) {
-				if (op.right) {
-					int[] ret = new int[bto-bfrom+1];
-					System.arraycopy(bs, bfrom, ret, 0, p-bfrom);
-					System.arraycopy(bs, p, ret, p-bfrom+1, bto-p);
-					ret[p-bfrom] = a;
-					return ret;
-				} else {
-					return new int[] { a };
-				}
+		return xs.fork(as.length+bs.length) ? xs.executeAsObj((Consumer<long[]> h) -> _provenance(0, as.length, as, 0, bs.length, bs, cmp, op, h))
+				: _provenance(0, as.length, as, 0, bs.length, bs, cmp, op);
+	}
+
+	private static <T> void _provenance(int afrom, int ato, T[] as, int bfrom, int bto, T[] bs, Comparator<T> cmp, SetOperator op, Consumer<long[]> fh) {
+		int aln = ato-afrom;
+		int bln = bto-bfrom;
+		if (aln>2 && bln>2 && xs.fork(aln+bln)) {
+			int ap, bp;
+			if (aln >= bln) {
+				ap = (aln>>1)+afrom;
+				int _bp = search(bfrom, bto, (int p) -> cmp.compare(bs[p],as[ap]));
+				bp = _bp<0 ? ~_bp : _bp;
 			} else {
-				return op.right ? Arrays.copyOfRange(bs, bfrom, bto) : EMPTY_INT;
+				bp = (bln>>1)+bfrom;
+				int _ap = search(afrom, ato, (int p) -> cmp.compare(as[p],bs[bp]));
+				ap = _ap<0 ? ~_ap : _ap;
 			}
-		} else if (op.both) {
-			if (op.right) {
-				int[] ret = Arrays.copyOfRange(bs, bfrom, bto);
-				ret[p-bfrom] = fm.applyAsInt(a, bs[p]);
-				return ret;
+			xs.queue((Consumer<long[]> h) -> _provenance(afrom, ap, as, bfrom, bp, bs, cmp, op, h),
+					(Consumer<long[]> h) -> _provenance(ap, ato, as, bp, bto, bs, cmp, op, h),
+					fh, RJ::join);
+		} else {
+			fh.accept(_provenance(afrom, ato, as, bfrom, bto, bs, cmp, op));
+		}
+	}
+
+	private static <T> long[] _provenance(int afrom, int ato, T[] as, int bfrom, int bto, T[] bs, Comparator<T> cmp, SetOperator op) {
+		long[] rt = new long[ato-afrom+bto-bfrom];
+		int ap=afrom, bp=bfrom, p=0;
+		while (ap<ato && bp<bto) {
+			int cv = cmp.compare(as[ap], bs[bp]);
+			if (cv<0) {
+				if (op.left) {
+					rt[p++] = provenance(ap, -1);
+				}
+				ap++;
+			} else if (cv>0) {
+				if (op.right) {
+					rt[p++] = provenance(-1, bp);
+				}
+				bp++;
 			} else {
-				return new int[] { fm.applyAsInt(a, bs[p]) };
+				if (op.both) {
+					rt[p++] = provenance(ap, bp);
+				}
+				ap++;
+				bp++;
 			}
-		} else {
-			int[] ret = new int[bto-bfrom-1];
-			System.arraycopy(bs, bfrom, ret, 0, p-bfrom);
-			System.arraycopy(bs, p+1, ret, p-bfrom, bto-p-1);
-			return ret;
 		}
+		for (; op.left && ap<ato; ap++) {
+			rt[p++] = provenance(ap, -1);
+		}
+		for (; op.right && bp<bto; bp++) {
+			rt[p++] = provenance(-1, bp);
+		}
+		return p==rt.length ? rt : Arrays.copyOf(rt, p);
 	}
 
+	/* TEST/BINARY */
+
 	/**
-	 * Applies a set operation upon an <code>long</code> and a set expressed an ordered array of <code>long</code>s.
+	 * (P) Tests whether a set operation upon a pair of sets expressed as ordered arrays of <code>int</code>s
+	 * yields a non-empty set, without computing the set.
 	 * 
-	 * @param a Left item.
-	 * @param bfrom Start of the right set (inclusive).
-	 * @param bto End of the right set (exclusive).
+	 * <p>Common set predicates are expressed with the truth table of the operation; for example
+	 * <code>test(as, bs, cmp, SetOperator.ISECT)</code> tests whether the left set contains any of the right set,
+	 * <code>!test(as, bs, cmp, SetOperator.ISECT)</code> whether the sets are disjoint,
+	 * <code>!test(as, bs, cmp, SetOperator.LDIFF)</code> whether the left set is a subset of the right set and
+	 * <code>!test(as, bs, cmp, SetOperator.RDIFF)</code> whether the left set contains all of the right set.</p>
+	 * 
+	 * <p>The search is opportunistic; it is halted on the first element that would be accepted by the
+	 * operation, and if executed in parallel, the search is halted in all the other tasks as well.</p>
+	 * 
+	 * @param as Left set.
 	 * @param bs Right set.
 	 * @param cmp Comparator (both arguments must abide the order).
-	 * @param fm Merge function (for combining equivalent items).
 	 * @param op Set operation.
-	 * @return Result set.
-	 * @since 1.1.0
+	 * @return True, if the result set is non-empty.
+	 * @see #merge(int[], int[], IntBinaryOperator, IntBinaryOperator, SetOperator)
+	 * @since 1.2.0
 	 */
-	public static long[] merge(long a, int bfrom, int bto,long[] bs, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op) {
-		if (bto-bfrom<=0) {
-			return op.left ? new long[] { a } : EMPTY_LONG;
-		} else if (bto-bfrom==1) {
-			return merge(a, bs[bfrom], cmp, fm, op);
-		} else if (op==SetOperator.EMPTY) {
-			return EMPTY_LONG;
+	public static boolean test(int[] as, int[] bs, IntBinaryOperator cmp, SetOperator op) {
+		return op.left && as.length>0 && (op.both || bs.length==0) ? true
+				: op.right && bs.length>0 && (op.both || as.length==0) ? true
+				: as.length==0 || bs.length==0 || op==SetOperator.EMPTY ? false
+				: xs.fork(as.length+bs.length) ? xs.executeAsInt((IntConsumer h) -> _test(0, as.length, as, 0, bs.length, bs, cmp, op, new AtomicBoolean(), h))!=0
+				: _test(0, as.length, as, 0, bs.length, bs, cmp, op, null);
+	}
+
+	private static void _test(int afrom, int ato, int[] as, int bfrom, int bto, int[] bs, IntBinaryOperator cmp, SetOperator op, AtomicBoolean rs, IntConsumer fh) {
+		int aln = ato-afrom;
+		int bln = bto-bfrom;
+		if (rs.get()) {
+			fh.accept(0);
+		} else if (aln>2 && bln>2 && xs.fork(aln+bln)) {
+			int ap, bp;
+			if (aln >= bln) {
+				ap = (aln>>1)+afrom;
+				int _bp = search(bfrom, bto, (int p) -> cmp.applyAsInt(bs[p],as[ap]));
+				bp = _bp<0 ? ~_bp : _bp;
+			} else {
+				bp = (bln>>1)+bfrom;
+				int _ap = search(afrom, ato, (int p) -> cmp.applyAsInt(as[p],bs[bp]));
+				ap = _ap<0 ? ~_ap : _ap;
+			}
+			xs.queue((IntConsumer h) -> _test(afrom, ap, as, bfrom, bp, bs, cmp, op, rs, h),
+					(IntConsumer h) -> _test(ap, ato, as, bp, bto, bs, cmp, op, rs, h),
+					fh, (int u, int v) -> u|v);
+		} else if (_test(afrom, ato, as, bfrom, bto, bs, cmp, op, rs)) {
+			rs.set(true);
+			fh.accept(1);
+		} else {
+			fh.accept(0);
 		}
-		
-		int p = search(bfrom, bto, (int r) -> cmp.applyAsInt(bs[r], a));
-		if (p<0) {
-			p = ~p;
-			if (op.left) {
+	}
+
+	private static boolean _test(int afrom, int ato, int[] as, int bfrom, int bto, int[] bs, IntBinaryOperator cmp, SetOperator op, AtomicBoolean rs) {
+		int ap=afrom, bp=bfrom;
+		for (int i=1; ap<ato && bp<bto; i++) {
+			if ((i&TEST_HALT_INTERVAL)==0 && rs!=null && rs.get()) {
+				return false;
+			}
+			int cv = cmp.applyAsInt(as[ap], bs[bp]);
+			if (cv<0) {
+				if (op.left) {
+					return true;
+				}
+				ap++;
+			} else if (cv>0) {
 				if (op.right) {
-					long[] ret = new long[bto-bfrom+1];
-					System.arraycopy(bs, bfrom, ret, 0, p-bfrom);
-					System.arraycopy(bs, p, ret, p-bfrom+1, bto-p);
-					ret[p-bfrom] = a;
-					return ret;
-				} else {
-					return new long[] { a };
+					return true;
 				}
+				bp++;
 			} else {
-				return op.right ? Arrays.copyOfRange(bs, bfrom, bto) : EMPTY_LONG;
-			}
-		} else if (op.both) {
-			if (op.right) {
-				long[] ret = Arrays.copyOfRange(bs, bfrom, bto);
-				ret[p-bfrom] = fm.applyAsLong(a, bs[p]);
-				return ret;
-			} else {
-				return new long[] { fm.applyAsLong(a, bs[p]) };
+				if (op.both) {
+					return true;
+				}
+				ap++;
+				bp++;
 			}
-		} else {
-			long[] ret = new long[bto-bfrom-1];
-			System.arraycopy(bs, bfrom, ret, 0, p-bfrom);
-			System.arraycopy(bs, p+1, ret, p-bfrom, bto-p-1);
-			return ret;
 		}
+		return op.left && ap<ato || op.right && bp<bto;
 	}
-	
+
 	/**
-	 * Applies a set operation upon an object and a set expressed an ordered array of objects.
+	 * (P) Tests whether a set operation upon a pair of sets expressed as ordered arrays of <code>long</code>s
+	 * yields a non-empty set, without computing the set.
 	 * 
-	 * @param <T> Item type.
-	 * @param rc Item type.
-	 * @param a Left item.
-	 * @param bfrom Start of the right set (inclusive).
-	 * @param bto End of the right set (exclusive).
+	 * <p>See {@link #test(int[], int[], IntBinaryOperator, SetOperator)} for details.</p>
+	 * 
+	 * @param as Left set.
 	 * @param bs Right set.
 	 * @param cmp Comparator (both arguments must abide the order).
-	 * @param fm Merge function (for combining equivalent items).
 	 * @param op Set operation.
-	 * @return Result set.
-	 * @since 1.1.0
+	 * @return True, if the result set is non-empty.
+	 * @see #merge(long[], long[], LongToIntBinaryOperator, LongBinaryOperator, SetOperator)
+	 * @since 1.2.0
 	 */
-	@SuppressWarnings("unchecked")
-	public static <T> T[] merge(Class<? extends T> rc, T a, int bfrom, int bto, T[] bs, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op) {
-		if (bto-bfrom<=0) {
-			return op.left ? wrap(rc, a) : empty(rc);
-		} else if (bto-bfrom==1) {
-			return merge(rc, a, bs[bfrom], cmp, fm, op);
-		} else if (op==SetOperator.EMPTY) {
-			return empty(rc);
+	public static boolean test(long[] as, long[] bs, LongToIntBinaryOperator cmp, SetOperator op) {
+		return op.left && as.length>0 && (op.both || bs.length==0) ? true
+				: op.right && bs.length>0 && (op.both || as.length==0) ? true
+				: as.length==0 || bs.length==0 || op==SetOperator.EMPTY ? false
+				: xs.fork(as.length+bs.length) ? xs.executeAsInt((IntConsumer h) -> _test(0, as.length, as, 0, bs.length, bs, cmp, op, new AtomicBoolean(), h))!=0
+				: _test(0, as.length, as, 0, bs.length, bs, cmp, op, null);
+	}
+
+	private static void _test(int afrom, int ato, long[] as, int bfrom, int bto, long[] bs, LongToIntBinaryOperator cmp, SetOperator op, AtomicBoolean rs, IntConsumer fh) {
+		int aln = ato-afrom;
+		int bln = bto-bfrom;
+		if (rs.get()) {
+			fh.accept(0);
+		} else if (aln>2 && bln>2 && xs.fork(aln+bln)) {
+			int ap, bp;
+			if (aln >= bln) {
+				ap = (aln>>1)+afrom;
+				int _bp = search(bfrom, bto, (int p) -> cmp.applyAsInt(bs[p],as[ap]));
+				bp = _bp<0 ? ~_bp : _bp;
+			} else {
+				bp = (bln>>1)+bfrom;
+				int _ap = search(afrom, ato, (int p) -> cmp.applyAsInt(as[p],bs[bp]));
+				ap = _ap<0 ? ~_ap : _ap;
+			}
+			xs.queue((IntConsumer h) -> _test(afrom, ap, as, bfrom, bp, bs, cmp, op, rs, h),
+					(IntConsumer h) -> _test(ap, ato, as, bp, bto, bs, cmp, op, rs, h),
+					fh, (int u, int v) -> u|v);
+		} else if (_test(afrom, ato, as, bfrom, bto, bs, cmp, op, rs)) {
+			rs.set(true);
+			fh.accept(1);
+		} else {
+			fh.accept(0);
 		}
-		
-		int p = search(bfrom, bto, (int r) -> cmp.compare(bs[r], a));
-		if (p<0) {
-			p = ~p;
-			if (op.left) {
+	}
+
+	private static boolean _test(int afrom, int ato, long[] as, int bfrom, int bto, long[] bs, LongToIntBinaryOperator cmp, SetOperator op, AtomicBoolean rs) {
+		int ap=afrom, bp=bfrom;
+		for (int i=1; ap<ato && bp<bto; i++) {
+			if ((i&TEST_HALT_INTERVAL)==0 && rs!=null && rs.get()) {
+				return false;
+			}
+			int cv = cmp.applyAsInt(as[ap], bs[bp]);
+			if (cv<0) {
+				if (op.left) {
+					return true;
+				}
+				ap++;
+			} else if (cv>0) {
 				if (op.right) {
-					T[] ret = (T[])Array.newInstance(rc, bto-bfrom+1);
-					System.arraycopy(bs, bfrom, ret, 0, p-bfrom);
-					System.arraycopy(bs, p, ret, p-bfrom+1, bto-p);
-					ret[p-bfrom] = a;
-					return ret;
-				} else {
-					return wrap(rc, a);
+					return true;
 				}
+				bp++;
 			} else {
-				return op.right ? Arrays.copyOfRange(bs, bfrom, bto) : empty(rc);
+				if (op.both) {
+					return true;
+				}
+				ap++;
+				bp++;
 			}
-		} else if (op.both) {
-			if (op.right) {
-				T[] ret = Arrays.copyOfRange(bs, bfrom, bto);
-				ret[p-bfrom] = fm.apply(a, bs[p]);
-				return ret;
+		}
+		return op.left && ap<ato || op.right && bp<bto;
+	}
+
+	/**
+	 * (P) Tests whether a set operation upon a pair of sets expressed as ordered arrays of objects
+	 * yields a non-empty set, without computing the set.
+	 * 
+	 * <p>See {@link #test(int[], int[], IntBinaryOperator, SetOperator)} for details.</p>
+	 * 
+	 * @param <T> Item type.
+	 * @param as Left set.
+	 * @param bs Right set.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param op Set operation.
+	 * @return True, if the result set is non-empty.
+	 * @see #merge(Class, Object[], Object[], Comparator, BinaryOperator, SetOperator)
+	 * @since 1.2.0
+	 */
+	public static <T> boolean test(T[] as, T[] bs, Comparator<T> cmp, SetOperator op) {
+		return op.left && as.length>0 && (op.both || bs.length==0) ? true
+				: op.right && bs.length>0 && (op.both || as.length==0) ? true
+				: as.length==0 || bs.length==0 || op==SetOperator.EMPTY ? false
+				: xs.fork(as.length+bs.length) ? xs.executeAsInt((IntConsumer h) -> _test(0, as.length, as, 0, bs.length, bs, cmp, op, new AtomicBoolean(), h))!=0
+				: _test(0, as.length, as, 0, bs.length, bs, cmp, op, null);
+	}
+
+	private static <T> void _test(int afrom, int ato, T[] as, int bfrom, int bto, T[] bs, Comparator<T> cmp, SetOperator op, AtomicBoolean rs, IntConsumer fh) {
+		int aln = ato-afrom;
+		int bln = bto-bfrom;
+		if (rs.get()) {
+			fh.accept(0);
+		} else if (aln>2 && bln>2 && xs.fork(aln+bln)) {
+			int ap, bp;
+			if (aln >= bln) {
+				ap = (aln>>1)+afrom;
+				int _bp = search(bfrom, bto, (int p) -> cmp.compare(bs[p],as[ap]));
+				bp = _bp<0 ? ~_bp : _bp;
 			} else {
-				return wrap(rc, fm.apply(a, bs[p]));
+				bp = (bln>>1)+bfrom;
+				int _ap = search(afrom, ato, (int p) -> cmp.compare(as[p],bs[bp]));
+				ap = _ap<0 ? ~_ap : _ap;
 			}
+			xs.queue((IntConsumer h) -> _test(afrom, ap, as, bfrom, bp, bs, cmp, op, rs, h),
+					(IntConsumer h) -> _test(ap, ato, as, bp, bto, bs, cmp, op, rs, h),
+					fh, (int u, int v) -> u|v);
+		} else if (_test(afrom, ato, as, bfrom, bto, bs, cmp, op, rs)) {
+			rs.set(true);
+			fh.accept(1);
 		} else {
-			T[] ret = (T[])Array.newInstance(rc, bto-bfrom-1);
-			System.arraycopy(bs, bfrom, ret, 0, p-bfrom);
-			System.arraycopy(bs, p+1, ret, p-bfrom, bto-p-1);
-			return ret;
+			fh.accept(0);
 		}
 	}
 
-	/* MERGE/BINARY/MANY-ONE */
+	private static <T> boolean _test(int afrom, int ato, T[] as, int bfrom, int bto, T[] bs, Comparator<T> cmp, SetOperator op, AtomicBoolean rs) {
+		int ap=afrom, bp=bfrom;
+		for (int i=1; ap<ato && bp<bto; i++) {
+			if ((i&TEST_HALT_INTERVAL)==0 && rs!=null && rs.get()) {
+				return false;
+			}
+			int cv = cmp.compare(as[ap], bs[bp]);
+			if (cv<0) {
+				if (op.left) {
+					return true;
+				}
+				ap++;
+			} else if (cv>0) {
+				if (op.right) {
+					return true;
+				}
+				bp++;
+			} else {
+				if (op.both) {
+					return true;
+				}
+				ap++;
+				bp++;
+			}
+		}
+		return op.left && ap<ato || op.right && bp<bto;
+	}
+	
+	/* COUNT/ANARY */
 
 	/**
-	 * Applies a set operation upon an <code>int</code> and a set expressed an ordered array of <code>int</code>s.
+	 * (P) Counts the number of items in the result of an anary set operation upon an array of sets of <code>int</code>s.
 	 * 
-	 * @param afrom Start of the left set (inclusive).
-	 * @param ato End of the left set (exclusive).
-	 * @param as Left set.
-	 * @param b Right item.
+	 * <p>Equivalent to <code>merge(...).length</code>; the final (binary) set operation is not materialized.</p>
+	 * 
+	 * @param n Number of sets to merge.
+	 * @param fn Supplies nth set to merge.
 	 * @param cmp Comparator (both arguments must abide the order).
-	 * @param fm Merge function (for combining equivalent items).
-	 * @param op Set operation.
-	 * @return Result set.
-	 * @since 1.1.0
+	 * @param op Symmetric set operation.
+	 * @return Number of items in the result set.
+	 * @see #merge(int, IntFunction, IntBinaryOperator, IntBinaryOperator, SetOperator)
+	 * @since 1.2.0
 	 */
-	public static int[] merge(int afrom, int ato, int[] as, int b, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op) {
-		return merge(b, afrom, ato, as, cmp, (int va, int vb) -> fm.applyAsInt(vb, va), op.reverse());
+	public static int count(int n, IntFunction<int[]> fn, IntBinaryOperator cmp, SetOperator op) {
+		op.requireSymmetric();
+		if (op==SetOperator.EMPTY || n<=0) {
+			return 0;
+		} else if (n==1) {
+			return fn.apply(0).length;
+		}
+		int h = n>>1;
+		return count(merge(h, fn, cmp, (int u, int v) -> u, op),
+				merge(n-h, (int p) -> fn.apply(p+h), cmp, (int u, int v) -> u, op),
+				cmp, op);
 	}
 
 	/**
-	 * Applies a set operation upon an <code>long</code> and a set expressed an ordered array of <code>long</code>s.
+	 * (P) Counts the number of items in the result of an anary set operation upon an array of sets of <code>long</code>s.
 	 * 
-	 * @param afrom Start of the left set (inclusive).
-	 * @param ato End of the left set (exclusive).
-	 * @param as Left set.
-	 * @param b Right item.
+	 * <p>Equivalent to <code>merge(...).length</code>; the final (binary) set operation is not materialized.</p>
+	 * 
+	 * @param n Number of sets to merge.
+	 * @param fn Supplies nth set to merge.
 	 * @param cmp Comparator (both arguments must abide the order).
-	 * @param fm Merge function (for combining equivalent items).
-	 * @param op Set operation.
-	 * @return Result set.
-	 * @since 1.1.0
+	 * @param op Symmetric set operation.
+	 * @return Number of items in the result set.
+	 * @see #merge(int, IntFunction, LongToIntBinaryOperator, LongBinaryOperator, SetOperator)
+	 * @since 1.2.0
 	 */
-	public static long[] merge(int afrom, int ato, long[] as, long b, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op) {
-		return merge(b, afrom, ato, as, cmp, (long va, long vb) -> fm.applyAsLong(vb, va), op.reverse());
+	public static int count(int n, IntFunction<long[]> fn, LongToIntBinaryOperator cmp, SetOperator op) {
+		op.requireSymmetric();
+		if (op==SetOperator.EMPTY || n<=0) {
+			return 0;
+		} else if (n==1) {
+			return fn.apply(0).length;
+		}
+		int h = n>>1;
+		return count(merge(h, fn, cmp, (long u, long v) -> u, op),
+				merge(n-h, (int p) -> fn.apply(p+h), cmp, (long u, long v) -> u, op),
+				cmp, op);
 	}
 
 	/**
-	 * Applies a set operation upon an object and a set expressed an ordered array of objects.
+	 * (P) Counts the number of items in the result of an anary set operation upon an array of sets of objects.
+	 * 
+	 * <p>Equivalent to <code>merge(...).length</code>; the final (binary) set operation is not materialized.</p>
 	 * 
 	 * @param <T> Item type.
 	 * @param rc Item type.
-	 * @param afrom Start of the left set (inclusive).
-	 * @param ato End of the left set (exclusive).
-	 * @param as Left set.
-	 * @param b Right item.
-	 * @param cmp Comparator (both arguments must abide the order).
-	 * @param fm Merge function (for combining equivalent items).
-	 * @param op Set operation.
-	 * @return Result set.
-	 * @since 1.1.0
+	 * @param n Number of sets to merge.
+	 * @param fn Supplies nth set to merge.
+	 * @param cmp Comparator (both arguments must abide the order).
+	 * @param op Symmetric set operation.
+	 * @return Number of items in the result set.
+	 * @see #merge(Class, int, IntFunction, Comparator, BinaryOperator, SetOperator)
+	 * @since 1.2.0
 	 */
-	public static <T> T[] merge(Class<? extends T> rc, int afrom, int ato, T[] as, T b, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op) {
-		return merge(rc, b, afrom, ato, as, cmp, (T va, T vb) -> fm.apply(vb, va), op.reverse());
+	public static <T> int count(Class<? extends T> rc, int n, IntFunction<T[]> fn, Comparator<T> cmp, SetOperator op) {
+		op.requireSymmetric();
+		if (op==SetOperator.EMPTY || n<=0) {
+			return 0;
+		} else if (n==1) {
+			return fn.apply(0).length;
+		}
+		int h = n>>1;
+		return count(merge(rc, h, fn, cmp, (T u, T v) -> u, op),
+				merge(rc, n-h, (int p) -> fn.apply(p+h), cmp, (T u, T v) -> u, op),
+				cmp, op);
 	}
-	
-	/* MERGE/BINARY/MANY-MANY */
-	
+
+	/* COUNT/BINARY */
+
 	/**
-	 * (P) Applies a set operation upon a pair of sets expressed as ordered arrays of <code>int</code>s.
+	 * (P) Counts the number of items in the result of a set operation upon a pair of sets expressed as
+	 * ordered arrays of <code>int</code>s.
+	 * 
+	 * <p>Equivalent to <code>merge(as, bs, cmp, fm, op).length</code>, but the result set is not materialized;
+	 * the size of the intersection is computed without allocation and the result is derived from the truth table
+	 * of the operation.</p>
 	 * 
 	 * @param as Left set.
 	 * @param bs Right set.
 	 * @param cmp Comparator (both arguments must abide the order).
-	 * @param fm Merge function (for combining equivalent items).
 	 * @param op Set operation.
-	 * @return Result set.
-	 * @since 1.0.0
+	 * @return Number of items in the result set.
+	 * @see #merge(int[], int[], IntBinaryOperator, IntBinaryOperator, SetOperator)
+	 * @since 1.2.0
 	 */
-	public static int[] merge(int[] as, int[] bs, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op) {
-		return op==SetOperator.EMPTY ? EMPTY_INT
-				: op==SetOperator.LEFT ? as
-				: op==SetOperator.RIGHT ? bs
-				: xs.fork(as.length+bs.length) ? xs.executeAsObj((Consumer<int[]> h) -> _merge(0, as.length, as, 0, bs.length, bs, cmp, fm, op, h))
-				: _merge(0, as.length, as, 0, bs.length, bs, cmp, fm, op);
+	public static int count(int[] as, int[] bs, IntBinaryOperator cmp, SetOperator op) {
+		if (op==SetOperator.EMPTY) {
+			return 0;
+		} else if (op==SetOperator.LEFT) {
+			return as.length;
+		} else if (op==SetOperator.RIGHT) {
+			return bs.length;
+		}
+		int is = as.length==0 || bs.length==0 ? 0
+				: xs.fork(as.length+bs.length) ? xs.executeAsInt((IntConsumer h) -> _count(0, as.length, as, 0, bs.length, bs, cmp, h))
+				: _count(0, as.length, as, 0, bs.length, bs, cmp);
+		return (op.left ? as.length-is : 0) + (op.right ? bs.length-is : 0) + (op.both ? is : 0);
 	}
 
-	private static void _merge(int afrom, int ato, int[] as, int bfrom, int bto, int[] bs, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op, Consumer<int[]> fh) {
+	private static void _count(int afrom, int ato, int[] as, int bfrom, int bto, int[] bs, IntBinaryOperator cmp, IntConsumer fh) {
 		int aln = ato-afrom;
 		int bln = bto-bfrom;
 		if (aln>2 && bln>2 && xs.fork(aln+bln)) {
@@ -1637,102 +5313,68 @@ public final class RJ {
 			if (aln >= bln) {
 				ap = (aln>>1)+afrom;
 				int _bp = search(bfrom, bto, (int p) -> cmp.applyAsInt(bs[p],as[ap]));
-				if (_bp==~bfrom) {
-					_merge(ap, ato, as, bfrom, bto, bs, cmp, fm, op,
-							op.left ? (int[] r) -> fh.accept(join(Arrays.copyOfRange(as, afrom, ap), r)) : fh);
-					return;
-				} else if (_bp==~bto) {
-					_merge(afrom, ap, as, bfrom, bto, bs, cmp, fm, op,
-							op.right ? (int[] r) -> fh.accept(join(r, Arrays.copyOfRange(as, ap, ato))) : fh);
-					return;
-				}
 				bp = _bp<0 ? ~_bp : _bp;
 			} else {
 				bp = (bln>>1)+bfrom;
 				int _ap = search(afrom, ato, (int p) -> cmp.applyAsInt(as[p],bs[bp]));
-				if (_ap==~afrom) {
-					_merge(afrom, ato, as, bp, bto, bs, cmp, fm, op,
-							op.left ? (int[] r) -> fh.accept(join(Arrays.copyOfRange(bs, bfrom, bp), r)) : fh);
-					return;
-				} else if (_ap==~ato) {
-					_merge(afrom, ato, as, bfrom, bp, bs, cmp, fm, op,
-							op.right ? (int[] r) -> fh.accept(join(r,Arrays.copyOfRange(bs, bp, bto))) : fh);
-					return;
-				}
 				ap = _ap<0 ? ~_ap : _ap;
 			}
-			xs.queue((Consumer<int[]> h) -> _merge(afrom, ap, as, bfrom, bp, bs, cmp, fm, op, h),
-					(Consumer<int[]> h) -> _merge(ap, ato, as, bp, bto, bs, cmp, fm, op, h),
-					fh, RJ::join);
+			xs.queue((IntConsumer h) -> _count(afrom, ap, as, bfrom, bp, bs, cmp, h),
+					(IntConsumer h) -> _count(ap, ato, as, bp, bto, bs, cmp, h),
+					fh, (int u, int v) -> u+v);
 		} else {
-			fh.accept(_merge(afrom, ato, as, bfrom, bto, bs, cmp, fm, op));
-		}		
+			fh.accept(_count(afrom, ato, as, bfrom, bto, bs, cmp));
+		}
 	}
 
-	private static int[] _merge(int afrom, int ato, int[] as, int bfrom, int bto, int[] bs, IntBinaryOperator cmp, IntBinaryOperator fm, SetOperator op) {
-		int aln = ato-afrom;
-		int bln = bto-bfrom;
-		if (aln<2) {
-			 return aln==1 ? merge(as[afrom], bfrom, bto, bs, cmp, fm, op)
-					 : op.right && bto>bfrom ? Arrays.copyOfRange(bs,bfrom,bto) : EMPTY_INT;
-		} else if (bln<2) {
-			return bln==1 ? merge(afrom, ato, as, bs[bfrom], cmp, fm, op)
-					: op.left  && ato>afrom? Arrays.copyOfRange(as,afrom,ato) : EMPTY_INT;
-		}
-		
-		int[] rt = new int[aln+bln];
-		int ap=afrom, bp=bfrom, p=0;
+	private static int _count(int afrom, int ato, int[] as, int bfrom, int bto, int[] bs, IntBinaryOperator cmp) {
+		int ap=afrom, bp=bfrom, ret=0;
 		while (ap<ato && bp<bto) {
 			int cv = cmp.applyAsInt(as[ap], bs[bp]);
 			if (cv<0) {
-				if (op.left) {
-					rt[p++] = as[ap];
-				}
 				ap++;
 			} else if (cv>0) {
-				if (op.right) {
-					rt[p++] = bs[bp];
-				}
 				bp++;
 			} else {
-				if (op.both) {
-					rt[p++] = fm.applyAsInt(as[ap], bs[bp]);
-				}
+				ret++;
 				ap++;
 				bp++;
 			}
 		}
-		if (op.left) {
-			System.arraycopy(as, ap, rt, p, ato-ap);
-			p += ato-ap;
-		}		
-		if (op.right) {
-			System.arraycopy(bs, bp, rt, p, bto-bp);
-			p += bto-bp;
-		}
-		return p==rt.length ? rt : Arrays.copyOf(rt, p);
+		return ret;
 	}
-	
+
 	/**
-	 * (P) Applies a set operation upon a pair of sets expressed as ordered arrays of <code>long</code>s.
+	 * (P) Counts the number of items in the result of a set operation upon a pair of sets expressed as
+	 * ordered arrays of <code>long</code>s.
+	 * 
+	 * <p>Equivalent to <code>merge(as, bs, cmp, fm, op).length</code>, but the result set is not materialized;
+	 * the size of the intersection is computed without allocation and the result is derived from the truth table
+	 * of the operation.</p>
 	 * 
 	 * @param as Left set.
 	 * @param bs Right set.
 	 * @param cmp Comparator (both arguments must abide the order).
-	 * @param fm Merge function (for combining equivalent items).
 	 * @param op Set operation.
-	 * @return Result set.
-	 * @since 1.0.0
+	 * @return Number of items in the result set.
+	 * @see #merge(long[], long[], LongToIntBinaryOperator, LongBinaryOperator, SetOperator)
+	 * @since 1.2.0
 	 */
-	public static long[] merge(long[] as, long[] bs, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op) {
-		return op==SetOperator.EMPTY ? EMPTY_LONG
-				: op==SetOperator.LEFT ? as
-				: op==SetOperator.RIGHT ? bs
-				: xs.fork(as.length+bs.length) ? xs.executeAsObj((Consumer<long[]> h) -> _merge(0, as.length, as, 0, bs.length, bs, cmp, fm, op, h))
-				: _merge(0, as.length, as, 0, bs.length, bs, cmp, fm, op);
+	public static int count(long[] as, long[] bs, LongToIntBinaryOperator cmp, SetOperator op) {
+		if (op==SetOperator.EMPTY) {
+			return 0;
+		} else if (op==SetOperator.LEFT) {
+			return as.length;
+		} else if (op==SetOperator.RIGHT) {
+			return bs.length;
+		}
+		int is = as.length==0 || bs.length==0 ? 0
+				: xs.fork(as.length+bs.length) ? xs.executeAsInt((IntConsumer h) -> _count(0, as.length, as, 0, bs.length, bs, cmp, h))
+				: _count(0, as.length, as, 0, bs.length, bs, cmp);
+		return (op.left ? as.length-is : 0) + (op.right ? bs.length-is : 0) + (op.both ? is : 0);
 	}
 
-	private static void _merge(int afrom, int ato, long[] as, int bfrom, int bto, long[] bs, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op, Consumer<long[]> fh) {
+	private static void _count(int afrom, int ato, long[] as, int bfrom, int bto, long[] bs, LongToIntBinaryOperator cmp, IntConsumer fh) {
 		int aln = ato-afrom;
 		int bln = bto-bfrom;
 		if (aln>2 && bln>2 && xs.fork(aln+bln)) {
@@ -1740,105 +5382,69 @@ public final class RJ {
 			if (aln >= bln) {
 				ap = (aln>>1)+afrom;
 				int _bp = search(bfrom, bto, (int p) -> cmp.applyAsInt(bs[p],as[ap]));
-				if (_bp==~bfrom) {
-					_merge(ap, ato, as, bfrom, bto, bs, cmp, fm, op,
-							op.left ? (long[] r) -> fh.accept(join(Arrays.copyOfRange(as, afrom, ap), r)) : fh);
-					return;
-				} else if (_bp==~bto) {
-					_merge(afrom, ap, as, bfrom, bto, bs, cmp, fm, op,
-							op.right ? (long[] r) -> fh.accept(join(r, Arrays.copyOfRange(as, ap, ato))) : fh);
-					return;
-				}
 				bp = _bp<0 ? ~_bp : _bp;
 			} else {
 				bp = (bln>>1)+bfrom;
 				int _ap = search(afrom, ato, (int p) -> cmp.applyAsInt(as[p],bs[bp]));
-				if (_ap==~afrom) {
-					_merge(afrom, ato, as, bp, bto, bs, cmp, fm, op,
-							op.left ? (long[] r) -> fh.accept(join(Arrays.copyOfRange(bs, bfrom, bp), r)) : fh);
-					return;
-				} else if (_ap==~ato) {
-					_merge(afrom, ato, as, bfrom, bp, bs, cmp, fm, op,
-							op.right ? (long[] r) -> fh.accept(join(r,Arrays.copyOfRange(bs, bp, bto))) : fh);
-					return;
-				}
 				ap = _ap<0 ? ~_ap : _ap;
 			}
-			xs.queue((Consumer<long[]> h) -> _merge(afrom, ap, as, bfrom, bp, bs, cmp, fm, op, h),
-					(Consumer<long[]> h) -> _merge(ap, ato, as, bp, bto, bs, cmp, fm, op, h),
-					fh, RJ::join);
+			xs.queue((IntConsumer h) -> _count(afrom, ap, as, bfrom, bp, bs, cmp, h),
+					(IntConsumer h) -> _count(ap, ato, as, bp, bto, bs, cmp, h),
+					fh, (int u, int v) -> u+v);
 		} else {
-			fh.accept(_merge(afrom, ato, as, bfrom, bto, bs, cmp, fm, op));
+			fh.accept(_count(afrom, ato, as, bfrom, bto, bs, cmp));
 		}
 	}
 
-	private static long[] _merge(int afrom, int ato, long[] as, int bfrom, int bto, long[] bs, LongToIntBinaryOperator cmp, LongBinaryOperator fm, SetOperator op) {
-		int aln = ato-afrom;
-		int bln = bto-bfrom;
-		if (aln<2) {
-			 return aln==1 ? merge(as[afrom], bfrom, bto, bs, cmp, fm, op)
-					 : op.right && bto>bfrom ? Arrays.copyOfRange(bs,bfrom,bto) : EMPTY_LONG;
-		} else if (bln<2) {
-			return bln==1 ? merge(afrom, ato, as, bs[bfrom], cmp, fm, op)
-					: op.left  && ato>afrom? Arrays.copyOfRange(as,afrom,ato) : EMPTY_LONG;
-		}
-		
-		long[] rt = new long[aln+bln];
-		int ap=afrom, bp=bfrom, p=0;
+	private static int _count(int afrom, int ato, long[] as, int bfrom, int bto, long[] bs, LongToIntBinaryOperator cmp) {
+		int ap=afrom, bp=bfrom, ret=0;
 		while (ap<ato && bp<bto) {
 			int cv = cmp.applyAsInt(as[ap], bs[bp]);
 			if (cv<0) {
-				if (op.left) {
-					rt[p++] = as[ap];
-				}
 				ap++;
 			} else if (cv>0) {
-				if (op.right) {
-					rt[p++] = bs[bp];
-				}
 				bp++;
 			} else {
-				if (op.both) {
-					rt[p++] = fm.applyAsLong(as[ap], bs[bp]);
-				}
+				ret++;
 				ap++;
 				bp++;
 			}
 		}
-		if (op.left) {
-			System.arraycopy(as, ap, rt, p, ato-ap);
-			p += ato-ap;
-		}		
-		if (op.right) {
-			System.arraycopy(bs, bp, rt, p, bto-bp);
-			p += bto-bp;
-		}
-		return p==rt.length ? rt : Arrays.copyOf(rt, p);
+		return ret;
 	}
-	
+
 	/**
-	 * (P) Applies a set operation upon a pair of sets expressed as ordered arrays of objects.
+	 * (P) Counts the number of items in the result of a set operation upon a pair of sets expressed as
+	 * ordered arrays of objects.
+	 * 
+	 * <p>Equivalent to <code>merge(as, bs, cmp, fm, op).length</code>, but the result set is not materialized;
+	 * the size of the intersection is computed without allocation and the result is derived from the truth table
+	 * of the operation.</p>
 	 * 
 	 * @param <T> Item type.
-	 * @param rc Item type.
 	 * @param as Left set.
 	 * @param bs Right set.
 	 * @param cmp Comparator (both arguments must abide the order).
-	 * @param fm Merge function (for combining equivalent items).
 	 * @param op Set operation.
-	 * @return Result set.
-	 * @since 1.0.0
+	 * @return Number of items in the result set.
+	 * @see #merge(Class, Object[], Object[], Comparator, BinaryOperator, SetOperator)
+	 * @since 1.2.0
 	 */
-	@SuppressWarnings("unchecked")
-	public static <T> T[] merge(Class<? extends T> rc, T[] as, T[] bs, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op) {
-		return op==SetOperator.EMPTY ? (T[])empty(as.getClass().getComponentType())
-				: op==SetOperator.LEFT ? as
-				: op==SetOperator.RIGHT ? bs
-				: xs.fork(as.length+bs.length) ? xs.executeAsObj((Consumer<T[]> h) -> _merge(rc, 0, as.length, as, 0, bs.length, bs, cmp, fm, op, h))
-				: _merge(rc, 0, as.length, as, 0, bs.length, bs, cmp, fm, op);
+	public static <T> int count(T[] as, T[] bs, Comparator<T> cmp, SetOperator op) {
+		if (op==SetOperator.EMPTY) {
+			return 0;
+		} else if (op==SetOperator.LEFT) {
+			return as.length;
+		} else if (op==SetOperator.RIGHT) {
+			return bs.length;
+		}
+		int is = as.length==0 || bs.length==0 ? 0
+				: xs.fork(as.length+bs.length) ? xs.executeAsInt((IntConsumer h) -> _count(0, as.length, as, 0, bs.length, bs, cmp, h))
+				: _count(0, as.length, as, 0, bs.length, bs, cmp);
+		return (op.left ? as.length-is : 0) + (op.right ? bs.length-is : 0) + (op.both ? is : 0);
 	}
 
-	private static <T> void _merge(Class<? extends T> rc, int afrom, int ato, T[] as, int bfrom, int bto, T[] bs, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op, Consumer<T[]> fh) {
+	private static <T> void _count(int afrom, int ato, T[] as, int bfrom, int bto, T[] bs, Comparator<T> cmp, IntConsumer fh) {
 		int aln = ato-afrom;
 		int bln = bto-bfrom;
 		if (aln>2 && bln>2 && xs.fork(aln+bln)) {
@@ -1846,83 +5452,101 @@ public final class RJ {
 			if (aln >= bln) {
 				ap = (aln>>1)+afrom;
 				int _bp = search(bfrom, bto, (int p) -> cmp.compare(bs[p],as[ap]));
-				if (_bp==~bfrom) {
-					_merge(rc, ap, ato, as, bfrom, bto, bs, cmp, fm, op,
-							op.left ? (T[] r) -> fh.accept(join(Arrays.copyOfRange(as, afrom, ap), r)) : fh);
-					return;
-				} else if (_bp==~bto) {
-					_merge(rc, afrom, ap, as, bfrom, bto, bs, cmp, fm, op,
-							op.right ? (T[] r) -> fh.accept(join(r, Arrays.copyOfRange(as, ap, ato))) : fh);
-					return;
-				}
 				bp = _bp<0 ? ~_bp : _bp;
 			} else {
 				bp = (bln>>1)+bfrom;
 				int _ap = search(afrom, ato, (int p) -> cmp.compare(as[p],bs[bp]));
-				if (_ap==~afrom) {
-					_merge(rc, afrom, ato, as, bp, bto, bs, cmp, fm, op,
-							op.left ? (T[] r) -> fh.accept(join(Arrays.copyOfRange(bs, bfrom, bp), r)) : fh);
-					return;
-				} else if (_ap==~ato) {
-					_merge(rc, afrom, ato, as, bfrom, bp, bs, cmp, fm, op,
-							op.right ? (T[] r) -> fh.accept(join(r,Arrays.copyOfRange(bs, bp, bto))) : fh);
-					return;
-				}
 				ap = _ap<0 ? ~_ap : _ap;
 			}
-			xs.queue((Consumer<T[]> h) -> _merge(rc, afrom, ap, as, bfrom, bp, bs, cmp, fm, op, h),
-					(Consumer<T[]> h) -> _merge(rc, ap, ato, as, bp, bto, bs, cmp, fm, op, h),
-					fh, RJ::join);
+			xs.queue((IntConsumer h) -> _count(afrom, ap, as, bfrom, bp, bs, cmp, h),
+					(IntConsumer h) -> _count(ap, ato, as, bp, bto, bs, cmp, h),
+					fh, (int u, int v) -> u+v);
 		} else {
-			fh.accept(_merge(rc, afrom, ato, as, bfrom, bto, bs, cmp, fm, op));
+			fh.accept(_count(afrom, ato, as, bfrom, bto, bs, cmp));
 		}
 	}
 
-	@SuppressWarnings("unchecked")
-	private static <T> T[] _merge(Class<? extends T> rc, int afrom, int ato, T[] as, int bfrom, int bto, T[] bs, Comparator<T> cmp, BinaryOperator<T> fm, SetOperator op) {
-		int aln = ato-afrom;
-		int bln = bto-bfrom;
-		if (aln<2) {
-			 return aln==1 ? merge(rc, as[afrom], bfrom, bto, bs, cmp, fm, op)
-					 : op.right && bto>bfrom ? Arrays.copyOfRange(bs,bfrom,bto) : empty(rc);
-		} else if (bln<2) {
-			return bln==1 ? merge(rc, afrom, ato, as, bs[bfrom], cmp, fm, op)
-					: op.left  && ato>afrom? Arrays.copyOfRange(as,afrom,ato) : empty(rc);
-		}
-		
-		T[] rt = (T[]) Array.newInstance(rc, aln+bln);
-		int ap=afrom, bp=bfrom, p=0;
+	private static <T> int _count(int afrom, int ato, T[] as, int bfrom, int bto, T[] bs, Comparator<T> cmp) {
+		int ap=afrom, bp=bfrom, ret=0;
 		while (ap<ato && bp<bto) {
 			int cv = cmp.compare(as[ap], bs[bp]);
 			if (cv<0) {
-				if (op.left) {
-					rt[p++] = as[ap];
-				}
 				ap++;
 			} else if (cv>0) {
-				if (op.right) {
-					rt[p++] = bs[bp];
-				}
 				bp++;
 			} else {
-				if (op.both) {
-					rt[p++] = fm.apply(as[ap], bs[bp]);
-				}
+				ret++;
 				ap++;
 				bp++;
 			}
 		}
-		if (op.left) {
-			System.arraycopy(as, ap, rt, p, ato-ap);
-			p += ato-ap;
-		}		
-		if (op.right) {
-			System.arraycopy(bs, bp, rt, p, bto-bp);
-			p += bto-bp;
+		return ret;
+	}
+
+	/* MERGE/COUNT/SETS */
+
+	/**
+	 * (P) Applies a set operation upon a pair of sets expressed as bitsets.
+	 * 
+	 * <p>The truth table of the operation is evaluated as word-wise boolean logic, 64 items at a time.</p>
+	 * 
+	 * @param as Left set.
+	 * @param bs Right set.
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @see IntBitSet#word(long, long, SetOperator)
+	 * @since 1.2.0
+	 */
+	public static IntBitSet merge(IntBitSet as, IntBitSet bs, SetOperator op) {
+		if (op==SetOperator.EMPTY) {
+			return IntBitSet.EMPTY;
+		} else if (op==SetOperator.LEFT) {
+			return as;
+		} else if (op==SetOperator.RIGHT) {
+			return bs;
 		}
-		return p==rt.length ? rt : Arrays.copyOf(rt, p);
+		int ln = op.left && op.right ? Math.max(as.words(), bs.words())
+				: op.left ? as.words()
+				: op.right ? bs.words()
+				: Math.min(as.words(), bs.words());
+		return IntBitSet.wrap(populate(ln, (int p) -> IntBitSet.word(as.word(p), bs.word(p), op)));
 	}
-	
+
+	/**
+	 * (P) Counts the number of items in the result of a set operation upon a pair of sets expressed as bitsets.
+	 * 
+	 * <p>Equivalent to <code>merge(as, bs, op).size()</code>, but the result set is not materialized.</p>
+	 * 
+	 * @param as Left set.
+	 * @param bs Right set.
+	 * @param op Set operation.
+	 * @return Number of items in the result set.
+	 * @see #merge(IntBitSet, IntBitSet, SetOperator)
+	 * @since 1.2.0
+	 */
+	public static int count(IntBitSet as, IntBitSet bs, SetOperator op) {
+		if (op==SetOperator.EMPTY) {
+			return 0;
+		}
+		return execute(0, Math.max(as.words(), bs.words()), 0,
+				(int p) -> Long.bitCount(IntBitSet.word(as.word(p), bs.word(p), op)),
+				(int a, int b) -> a+b);
+	}
+
+	/**
+	 * (P) Applies a set operation upon a pair of sets expressed as compressed sets.
+	 * 
+	 * @param as Left set.
+	 * @param bs Right set.
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @see CompressedIntSet#merge(CompressedIntSet, CompressedIntSet, SetOperator)
+	 * @since 1.2.0
+	 */
+	public static CompressedIntSet merge(CompressedIntSet as, CompressedIntSet bs, SetOperator op) {
+		return CompressedIntSet.merge(as, bs, op);
+	}
+
 	/* SHUFFLE (int, long) */
 	
 	/**
@@ -0,0 +1,110 @@
+/* MIT License
+ *
+ * Copyright (c) 2022 TKNKLA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.tknkla.rj;
+
+import java.util.function.IntBinaryOperator;
+import java.util.function.Predicate;
+
+import com.tknkla.rj.groups.IntGroupOperator;
+
+/**
+ * Listener for the stages of computation of relative order (refinement of a preorder of symbols),
+ * intended for profiling, visualization and such.
+ * 
+ * <p>Every callback has an empty default implementation. Callbacks are called by the thread which
+ * invoked the computation (between the parallel parts of it), except for {@link #afterCompare(int)}; the preorders
+ * passed to them must not be modified. The propagations done for comparisions of pairs of symbols (in grouping)
+ * are not reported.</p>
+ * 
+ * @param <A> Type of a preorder of symbols (e.g. <code>int[][]</code>).
+ * 
+ * @see RJ#propagate(int[][], IntBinaryOperator, IntBinaryOperator, IntGroupOperator, Predicate, RefinementListener)
+ * @see RJ#groups(int[][], IntBinaryOperator, IntGroupOperator, IntBinaryOperator, RefinementListener)
+ * @see RJ#order(int[][], IntBinaryOperator, IntGroupOperator, IntBinaryOperator, RefinementListener)
+ * 
+ * @author Timo Santasalo
+ * @since 1.2.0
+ */
+public interface RefinementListener<A> {
+
+	/**
+	 * Called before propagation.
+	 * @param src The initial preorder.
+	 * @since 1.2.0
+	 */
+	default void beforePropagate(A src) {}
+
+	/**
+	 * Called after each iteration of propagation which refined the preorder, with the refined preorder; the initial
+	 * preorder is passed to {@link #beforePropagate(Object)} only, and the last call passes the same preorder as
+	 * {@link #afterPropagate(Object)}.
+	 * @param src The refined preorder.
+	 * @since 1.2.0
+	 */
+	default void iterPropagate(A src) {}
+
+	/**
+	 * Called after propagation.
+	 * @param src The final preorder.
+	 * @since 1.2.0
+	 */
+	default void afterPropagate(A src) {}
+
+	/**
+	 * Called before grouping (of a propagated preorder) by relative comparision.
+	 * @param src The propagated preorder.
+	 * @since 1.2.0
+	 */
+	default void beforeGroups(A src) {}
+
+	/**
+	 * Called after grouping by relative comparision.
+	 * @param src The preorder of automorphic groups.
+	 * @since 1.2.0
+	 */
+	default void afterGroups(A src) {}
+
+	/**
+	 * Called after a pair of symbols is compared (relatively) in grouping; may be called concurrently
+	 * by several threads.
+	 * @param rt Result of the comparision.
+	 * @since 1.2.0
+	 */
+	default void afterCompare(int rt) {}
+
+	/**
+	 * Called before a symbol is pivoted (individualized) from a cell of the preorder.
+	 * @param src The preorder (excluding the trailing cells already ordered).
+	 * @param pv Index of the pivot cell.
+	 * @since 1.2.0
+	 */
+	default void beforePivot(A src, int pv) {}
+
+	/**
+	 * Called after a symbol is pivoted (and the pivot cell propagated).
+	 * @param src The preorder (excluding the trailing cells already ordered).
+	 * @since 1.2.0
+	 */
+	default void afterPivot(A src) {}
+
+}
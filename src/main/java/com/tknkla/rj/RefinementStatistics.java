@@ -0,0 +1,326 @@
+/* MIT License
+ *
+ * Copyright (c) 2022 TKNKLA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.tknkla.rj;
+
+import java.lang.reflect.Array;
+import java.util.Comparator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.Predicate;
+
+import com.tknkla.rj.functions.LongToIntBinaryOperator;
+import com.tknkla.rj.groups.IntGroupOperator;
+
+/**
+ * Performance counters for computation of relative order (a listener which counts the stages of the computation
+ * and measures their wall time, and wrappers which count calls to <code>fg</code> and comparators).
+ * 
+ * <p>Counters are thread-striped ({@link LongAdder}) and hence cheap to update under parallel execution. A single instance
+ * may be shared by several computations (also concurrently); per-computation state is kept per thread.</p>
+ * 
+ * <p>Example: <code>RJ.order(src, st.fgAsInt(fg), g, st.cmpAsInt(cmp), st)</code>.</p>
+ * 
+ * @see RJ#order(int[][], IntBinaryOperator, IntGroupOperator, IntBinaryOperator, RefinementListener)
+ * @see RJ#propagate(int[][], IntBinaryOperator, IntBinaryOperator, IntGroupOperator, Predicate, RefinementListener)
+ * 
+ * @author Timo Santasalo
+ * @since 1.2.0
+ */
+public final class RefinementStatistics implements RefinementListener<Object> {
+	
+	private static final int LENGTH = 0;
+	private static final int PROPAGATE = 1;
+	private static final int GROUPS = 2;
+	private static final int PIVOT = 3;
+
+	private final LongAdder propagations = new LongAdder();
+	private final LongAdder iterations = new LongAdder();
+	private final LongAdder splits = new LongAdder();
+	private final LongAdder groupings = new LongAdder();
+	private final LongAdder compares = new LongAdder();
+	private final LongAdder pivots = new LongAdder();
+	private final LongAdder fgCalls = new LongAdder();
+	private final LongAdder cmpCalls = new LongAdder();
+	private final LongAdder propagateNanos = new LongAdder();
+	private final LongAdder groupsNanos = new LongAdder();
+	private final LongAdder pivotNanos = new LongAdder();
+	
+	/**
+	 * Per thread state (length of the current preorder and start times of the stages).
+	 */
+	private final ThreadLocal<long[]> state = ThreadLocal.withInitial(() -> new long[4]);
+	
+	/**
+	 * Wraps a function which supplies relative differences so that it's calls are counted.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @return The wrapped function.
+	 * @since 1.2.0
+	 */
+	public IntBinaryOperator fgAsInt(IntBinaryOperator fg) {
+		return (int a, int b) -> {
+			fgCalls.increment();
+			return fg.applyAsInt(a, b);
+		};
+	}
+
+	/**
+	 * Wraps a function which supplies relative differences so that it's calls are counted.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @return The wrapped function.
+	 * @since 1.2.0
+	 */
+	public LongBinaryOperator fgAsLong(LongBinaryOperator fg) {
+		return (long a, long b) -> {
+			fgCalls.increment();
+			return fg.applyAsLong(a, b);
+		};
+	}
+
+	/**
+	 * Wraps a function which supplies relative differences so that it's calls are counted.
+	 * @param <T> Symbol type.
+	 * @param <E> Element type.
+	 * @param fg Supplies the relative difference between a pair of symbols.
+	 * @return The wrapped function.
+	 * @since 1.2.0
+	 */
+	public <T,E> BiFunction<T,T,E> fg(BiFunction<T,T,E> fg) {
+		return (T a, T b) -> {
+			fgCalls.increment();
+			return fg.apply(a, b);
+		};
+	}
+	
+	/**
+	 * Wraps a comparator so that it's calls are counted.
+	 * @param cmp Comparator; may be null.
+	 * @return The wrapped comparator (null if the comparator is null).
+	 * @since 1.2.0
+	 */
+	public IntBinaryOperator cmpAsInt(IntBinaryOperator cmp) {
+		return cmp==null ? null : (int a, int b) -> {
+			cmpCalls.increment();
+			return cmp.applyAsInt(a, b);
+		};
+	}
+
+	/**
+	 * Wraps a comparator so that it's calls are counted.
+	 * @param cmp Comparator; may be null.
+	 * @return The wrapped comparator (null if the comparator is null).
+	 * @since 1.2.0
+	 */
+	public LongToIntBinaryOperator cmpAsLong(LongToIntBinaryOperator cmp) {
+		return cmp==null ? null : (long a, long b) -> {
+			cmpCalls.increment();
+			return cmp.applyAsInt(a, b);
+		};
+	}
+
+	/**
+	 * Wraps a comparator so that it's calls are counted.
+	 * @param <T> Symbol type.
+	 * @param cmp Comparator; may be null.
+	 * @return The wrapped comparator (null if the comparator is null).
+	 * @since 1.2.0
+	 */
+	public <T> Comparator<T> cmp(Comparator<T> cmp) {
+		return cmp==null ? null : (T a, T b) -> {
+			cmpCalls.increment();
+			return cmp.compare(a, b);
+		};
+	}
+	
+	@Override
+	public void beforePropagate(Object src) {
+		long[] st = state.get();
+		st[LENGTH] = Array.getLength(src);
+		st[PROPAGATE] = System.nanoTime();
+		propagations.increment();
+	}
+
+	@Override
+	public void iterPropagate(Object src) {
+		long[] st = state.get();
+		int ln = Array.getLength(src);
+		iterations.increment();
+		splits.add(ln-st[LENGTH]);
+		st[LENGTH] = ln;
+	}
+
+	@Override
+	public void afterPropagate(Object src) {
+		propagateNanos.add(System.nanoTime()-state.get()[PROPAGATE]);
+	}
+
+	@Override
+	public void beforeGroups(Object src) {
+		long[] st = state.get();
+		st[LENGTH] = Array.getLength(src);
+		st[GROUPS] = System.nanoTime();
+		groupings.increment();
+	}
+
+	@Override
+	public void afterGroups(Object src) {
+		long[] st = state.get();
+		groupsNanos.add(System.nanoTime()-st[GROUPS]);
+		splits.add(Array.getLength(src)-st[LENGTH]);
+	}
+
+	@Override
+	public void afterCompare(int rt) {
+		compares.increment();
+	}
+
+	@Override
+	public void beforePivot(Object src, int pv) {
+		state.get()[PIVOT] = System.nanoTime();
+		pivots.increment();
+	}
+
+	@Override
+	public void afterPivot(Object src) {
+		pivotNanos.add(System.nanoTime()-state.get()[PIVOT]);
+	}
+	
+	/**
+	 * Returns the number of propagations (excluding those done for relative comparisions).
+	 * @return Number of propagations.
+	 * @since 1.2.0
+	 */
+	public long getPropagations() {
+		return propagations.sum();
+	}
+
+	/**
+	 * Returns the number of iterations of propagation which refined the preorder.
+	 * @return Number of iterations.
+	 * @since 1.2.0
+	 */
+	public long getIterations() {
+		return iterations.sum();
+	}
+
+	/**
+	 * Returns the number of cells created by propagation and grouping (the number of splits).
+	 * @return Number of splits.
+	 * @since 1.2.0
+	 */
+	public long getSplits() {
+		return splits.sum();
+	}
+
+	/**
+	 * Returns the number of groupings (by relative comparision).
+	 * @return Number of groupings.
+	 * @since 1.2.0
+	 */
+	public long getGroupings() {
+		return groupings.sum();
+	}
+
+	/**
+	 * Returns the number of relative comparisions of pairs of symbols (each of which is a propagation of it's own).
+	 * @return Number of comparisions.
+	 * @since 1.2.0
+	 */
+	public long getCompares() {
+		return compares.sum();
+	}
+
+	/**
+	 * Returns the number of pivots.
+	 * @return Number of pivots.
+	 * @since 1.2.0
+	 */
+	public long getPivots() {
+		return pivots.sum();
+	}
+
+	/**
+	 * Returns the number of calls to wrapped functions which supply relative differences.
+	 * @return Number of calls.
+	 * @since 1.2.0
+	 */
+	public long getFgCalls() {
+		return fgCalls.sum();
+	}
+
+	/**
+	 * Returns the number of calls to wrapped comparators.
+	 * @return Number of calls.
+	 * @since 1.2.0
+	 */
+	public long getCmpCalls() {
+		return cmpCalls.sum();
+	}
+
+	/**
+	 * Returns the wall time spent in propagation (including propagation of pivot cells).
+	 * @return Time in nanoseconds.
+	 * @since 1.2.0
+	 */
+	public long getPropagateNanos() {
+		return propagateNanos.sum();
+	}
+
+	/**
+	 * Returns the wall time spent in grouping by relative comparision.
+	 * @return Time in nanoseconds.
+	 * @since 1.2.0
+	 */
+	public long getGroupsNanos() {
+		return groupsNanos.sum();
+	}
+
+	/**
+	 * Returns the wall time spent in pivoting (including propagation of pivot cells).
+	 * @return Time in nanoseconds.
+	 * @since 1.2.0
+	 */
+	public long getPivotNanos() {
+		return pivotNanos.sum();
+	}
+	
+	/**
+	 * Resets all counters.
+	 * @since 1.2.0
+	 */
+	public void reset() {
+		for (LongAdder la : new LongAdder[] { propagations, iterations, splits, groupings, compares, pivots, fgCalls, cmpCalls, propagateNanos, groupsNanos, pivotNanos }) {
+			la.reset();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "propagations="+getPropagations()+", iterations="+getIterations()+", splits="+getSplits()+
+				", groupings="+getGroupings()+", compares="+getCompares()+", pivots="+getPivots()+
+				", fgCalls="+getFgCalls()+", cmpCalls="+getCmpCalls()+
+				", propagateNanos="+getPropagateNanos()+", groupsNanos="+getGroupsNanos()+", pivotNanos="+getPivotNanos();
+	}
+	
+}
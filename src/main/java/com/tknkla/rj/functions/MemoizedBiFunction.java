@@ -0,0 +1,212 @@
+/* MIT License
+ *
+ * Copyright (c) 2022 TKNKLA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.tknkla.rj.functions;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * A bounded memoizing wrapper for an (expensive, pure) function of two arguments, such as the function which
+ * supplies relative differences for {@link com.tknkla.rj.RJ#propagate(Class, Object[][], BiFunction, java.util.Comparator, com.tknkla.rj.groups.GroupOperator, java.util.function.Predicate)}.
+ * 
+ * <p>Results are cached per pair of arguments in a number of independently locked stripes (selected by the high bits of the hash of the pair), each
+ * of which holds at most it's share of the capacity and evicts entries according to the eviction policy. Thus the wrapper can be
+ * used under parallel execution without a global lock. The function is called outside of the locks; a result may hence
+ * be computed more than once by concurrent threads.</p>
+ * 
+ * @param <T> Type of the first argument.
+ * @param <U> Type of the second argument.
+ * @param <R> Type of the result.
+ * 
+ * @author Timo Santasalo
+ * @since 1.2.0
+ */
+public final class MemoizedBiFunction<T,U,R> implements BiFunction<T,U,R> {
+
+	/**
+	 * Eviction policy.
+	 * @since 1.2.0
+	 */
+	public static enum Eviction {
+		/**
+		 * The least recently used entry is evicted.
+		 * @since 1.2.0
+		 */
+		LRU,
+		/**
+		 * The least recently added entry is evicted.
+		 * @since 1.2.0
+		 */
+		FIFO
+	}
+	
+	private final BiFunction<T,U,R> fn;
+	private final Stripe<R>[] stripes;
+	private final int shift;
+	
+	private MemoizedBiFunction(BiFunction<T,U,R> fn, int capacity, Eviction eviction, int concurrency) {
+		this.fn = fn;
+		int n = Integer.highestOneBit(Math.max(1, Math.min(concurrency, capacity)*2-1));
+		@SuppressWarnings("unchecked")
+		Stripe<R>[] ss = (Stripe<R>[]) new Stripe<?>[n];
+		this.stripes = ss;
+		this.shift = 32-Integer.numberOfTrailingZeros(n);
+		for (int i=0; i<n; i++) {
+			stripes[i] = new Stripe<>(Math.max(1, (capacity+n-1)/n), eviction==Eviction.LRU);
+		}
+	}
+	
+	/**
+	 * Wraps a function.
+	 * 
+	 * @param <T> Type of the first argument.
+	 * @param <U> Type of the second argument.
+	 * @param <R> Type of the result.
+	 * @param fn The function (must be pure, i.e. return equal results for equal arguments).
+	 * @param capacity Maximum number of cached results (approximately).
+	 * @param eviction Eviction policy.
+	 * @param concurrency Number of stripes (rounded to a power of two).
+	 * @return The wrapped function.
+	 * @throws IllegalArgumentException If the capacity or concurrency is not positive.
+	 * @since 1.2.0
+	 */
+	public static <T,U,R> MemoizedBiFunction<T,U,R> of(BiFunction<T,U,R> fn, int capacity, Eviction eviction, int concurrency) {
+		if (capacity<=0 || concurrency<=0) {
+			throw new IllegalArgumentException("Invalid capacity or concurrency: "+capacity+", "+concurrency);
+		}
+		return new MemoizedBiFunction<>(Objects.requireNonNull(fn), capacity, Objects.requireNonNull(eviction), concurrency);
+	}
+	
+	/**
+	 * Wraps a function, using LRU eviction and a number of stripes proportional to the number of processors.
+	 * 
+	 * @param <T> Type of the first argument.
+	 * @param <U> Type of the second argument.
+	 * @param <R> Type of the result.
+	 * @param fn The function (must be pure, i.e. return equal results for equal arguments).
+	 * @param capacity Maximum number of cached results (approximately).
+	 * @return The wrapped function.
+	 * @see #of(BiFunction, int, Eviction, int)
+	 * @since 1.2.0
+	 */
+	public static <T,U,R> MemoizedBiFunction<T,U,R> of(BiFunction<T,U,R> fn, int capacity) {
+		return of(fn, capacity, Eviction.LRU, Runtime.getRuntime().availableProcessors()*4);
+	}
+
+	@Override
+	public R apply(T a, U b) {
+		Pair k = new Pair(a, b);
+		Stripe<R> s = stripes[(int) ((k.hash & 0xffffffffl)>>>shift)];
+		synchronized (s) {
+			R rt = s.get(k);
+			if (rt!=null || s.containsKey(k)) {
+				return rt;
+			}
+		}
+		R rt = fn.apply(a, b);
+		synchronized (s) {
+			s.put(k, rt);
+		}
+		return rt;
+	}
+	
+	/**
+	 * Returns the number of cached results.
+	 * 
+	 * @return Number of cached results.
+	 * @since 1.2.0
+	 */
+	public int size() {
+		int rt = 0;
+		for (Stripe<R> s : stripes) {
+			synchronized (s) {
+				rt += s.size();
+			}
+		}
+		return rt;
+	}
+	
+	/**
+	 * Removes all cached results.
+	 * 
+	 * @since 1.2.0
+	 */
+	public void clear() {
+		for (Stripe<R> s : stripes) {
+			synchronized (s) {
+				s.clear();
+			}
+		}
+	}
+	
+	private static final class Pair {
+		
+		final Object a;
+		final Object b;
+		final int hash;
+		
+		Pair(Object a, Object b) {
+			this.a = a;
+			this.b = b;
+			int h = Objects.hashCode(a)*31 + Objects.hashCode(b);
+			this.hash = h ^ (h>>>16);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj==this) {
+				return true;
+			} else if (!(obj instanceof Pair)) {
+				return false;
+			}
+			Pair o = (Pair) obj;
+			return hash==o.hash && Objects.equals(a, o.a) && Objects.equals(b, o.b);
+		}
+		
+	}
+	
+	@SuppressWarnings("serial")
+	private static final class Stripe<R> extends LinkedHashMap<Pair,R> {
+		
+		private final int capacity;
+		
+		Stripe(int capacity, boolean lru) {
+			super(16, 0.75f, lru);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Pair,R> eldest) {
+			return size()>capacity;
+		}
+		
+	}
+	
+}
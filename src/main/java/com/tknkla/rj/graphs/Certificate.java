@@ -0,0 +1,228 @@
+/* MIT License
+ *
+ * Copyright (c) 2022 TKNKLA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.tknkla.rj.graphs;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntToLongFunction;
+
+import com.tknkla.rj.RJ;
+import com.tknkla.rj.functions.IntBinaryPredicate;
+import com.tknkla.rj.groups.IntGroupOperator;
+
+/**
+ * A canonical certificate of a graph: a 128-bit hash of the graph relabeled by a canonical order and, optionally,
+ * the relabeled graph itself (the canonical form), intended for deduplication of graphs by isomorphism.
+ * 
+ * <p>The canonical form is expressed as 64-bit words. For an undirected graph, the words are the bits of
+ * {@link RJ#encodeUndirected(int, IntBinaryPredicate)} of the relabeled graph (bit <code>b</code> is bit <code>b&amp;63</code>
+ * of word <code>b&gt;&gt;6</code>, as in {@link java.util.BitSet#valueOf(long[])}). For a weighted graph, the words are the
+ * items of the relabeled matrix in row-major order, two per word (the former in the high half).</p>
+ * 
+ * <p>The words are computed and hashed in parallel blocks of fixed size, so that the hash does not depend on
+ * the execution strategy. The hash is not cryptographic; equal certificates imply isomorphic graphs only
+ * if the canonical forms are included.</p>
+ * 
+ * <p>Certificates are equal if their sizes and hashes are equal and, if both include the canonical form, the forms
+ * are equal; a certificate without the form is hence equal to one with it for the same graph.</p>
+ * 
+ * <p>Example: <code>Certificate.ofUndirected(RJ.order(src, RJ.asOperator(fg), IntGroupOperator.ADDITIVE, null), fg, false)</code>.</p>
+ * 
+ * @author Timo Santasalo
+ * 
+ * @see RJ#order(int[][], IntBinaryOperator, IntGroupOperator, IntBinaryOperator)
+ * @since 1.2.0
+ */
+public final class Certificate {
+	
+	private static final int BLOCK = 1024;
+	
+	private final int ln;
+	private final long high;
+	private final long low;
+	private final long[] form;
+	
+	private Certificate(int ln, long high, long low, long[] form) {
+		this.ln = ln;
+		this.high = high;
+		this.low = low;
+		this.form = form;
+	}
+	
+	/**
+	 * (P) Computes the certificate of an undirected graph relabeled by a canonical order.
+	 * 
+	 * @param order Canonical order of the vertices (vertex <code>order[p]</code> is relabeled as <code>p</code>).
+	 * @param fg Undirected graph.
+	 * @param form Whether the canonical form is included.
+	 * @return A certificate.
+	 * @throws IllegalArgumentException If the canonical form is too large for an array.
+	 * @since 1.2.0
+	 */
+	public static Certificate ofUndirected(int[] order, IntBinaryPredicate fg, boolean form) {
+		int ln = order.length;
+		long bits = (long) ln*(ln-1)/2;
+		return of(ln, 1, (bits+63)>>6, (int w) -> {
+			long b = (long) w<<6;
+			int i = (int)((1+Math.sqrt(1+8.0*b))/2);
+			while ((long) i*(i-1)/2>b) {
+				i--;
+			}
+			while ((long) (i+1)*i/2<=b) {
+				i++;
+			}
+			int j = (int)(b-(long) i*(i-1)/2);
+			long rt = 0;
+			for (int k=0; k<64 && b+k<bits; k++) {
+				if (fg.test(order[j], order[i])) {
+					rt |= 1l<<k;
+				}
+				if (++j==i) {
+					i++;
+					j = 0;
+				}
+			}
+			return rt;
+		}, form);
+	}
+
+	/**
+	 * (P) Computes the certificate of a weighted (directed) graph relabeled by a canonical order.
+	 * 
+	 * @param order Canonical order of the vertices (vertex <code>order[p]</code> is relabeled as <code>p</code>).
+	 * @param fg Weighted graph.
+	 * @param form Whether the canonical form is included.
+	 * @return A certificate.
+	 * @throws IllegalArgumentException If the canonical form is too large for an array.
+	 * @since 1.2.0
+	 */
+	public static Certificate of(int[] order, IntBinaryOperator fg, boolean form) {
+		int ln = order.length;
+		long items = (long) ln*ln;
+		return of(ln, 2, (items+1)>>1, (int w) -> {
+			long e = (long) w<<1;
+			long hi = fg.applyAsInt(order[(int)(e/ln)], order[(int)(e%ln)]);
+			long lo = e+1<items ? fg.applyAsInt(order[(int)((e+1)/ln)], order[(int)((e+1)%ln)]) : 0;
+			return hi<<32 | (lo&0xffffffffl);
+		}, form);
+	}
+	
+	private static Certificate of(int ln, int kind, long words, IntToLongFunction fw, boolean form) {
+		if (words>Integer.MAX_VALUE-8) {
+			throw new IllegalArgumentException("Too many vertices: "+ln);
+		}
+		int wn = (int) words;
+		long[] ws = form ? new long[wn] : null;
+		long[][] hs = RJ.populate(long[].class, (wn+BLOCK-1)/BLOCK, (int b) -> {
+			long h1 = mix(b+0x9e3779b97f4a7c15l);
+			long h2 = mix(b+0xbf58476d1ce4e5b9l);
+			for (int w=b*BLOCK, e=Math.min(wn, w+BLOCK); w<e; w++) {
+				long v = fw.applyAsLong(w);
+				if (ws!=null) {
+					ws[w] = v;
+				}
+				h1 = Long.rotateLeft(h1^mix(v), 31)*0x9e3779b97f4a7c15l;
+				h2 = Long.rotateLeft(h2+mix(v^0x94d049bb133111ebl), 29)*0xbf58476d1ce4e5b9l+h1;
+			}
+			return new long[] { h1, h2 };
+		});
+		long h1 = mix(ln^((long) kind<<32));
+		long h2 = mix(h1^wn);
+		for (long[] h : hs) {
+			h1 = mix(h1^h[0])+h2;
+			h2 = mix(h2^h[1])+h1;
+		}
+		return new Certificate(ln, mix(h1), mix(h2^h1), ws);
+	}
+	
+	/**
+	 * Finalization mix of MurmurHash3 (a bijection of 64-bit words).
+	 */
+	private static long mix(long h) {
+		h ^= h>>>33;
+		h *= 0xff51afd7ed558ccdl;
+		h ^= h>>>33;
+		h *= 0xc4ceb9fe1a85ec53l;
+		h ^= h>>>33;
+		return h;
+	}
+
+	/**
+	 * Returns the number of vertices.
+	 * @return Number of vertices.
+	 * @since 1.2.0
+	 */
+	public int vertices() {
+		return ln;
+	}
+
+	/**
+	 * Returns the high half of the hash.
+	 * @return The high 64 bits of the hash.
+	 * @since 1.2.0
+	 */
+	public long high() {
+		return high;
+	}
+
+	/**
+	 * Returns the low half of the hash.
+	 * @return The low 64 bits of the hash.
+	 * @since 1.2.0
+	 */
+	public long low() {
+		return low;
+	}
+
+	/**
+	 * Returns the canonical form (not copied; must not be modified).
+	 * @return The canonical form, or null if not included.
+	 * @since 1.2.0
+	 */
+	public long[] form() {
+		return form;
+	}
+	
+	@Override
+	public int hashCode() {
+		return (int) low;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this==obj) {
+			return true;
+		}
+		if (!(obj instanceof Certificate)) {
+			return false;
+		}
+		Certificate o = (Certificate) obj;
+		return ln==o.ln && high==o.high && low==o.low && (form==null || o.form==null || Arrays.equals(form, o.form));
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%016x%016x", high, low);
+	}
+
+}
@@ -0,0 +1,368 @@
+/* MIT License
+ *
+ * Copyright (c) 2022 TKNKLA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.tknkla.rj.graphs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntUnaryOperator;
+
+import com.tknkla.rj.RJ;
+
+/**
+ * Binary files of dense matrices and sparse graphs, read by memory-mapping (no copy to heap).
+ * 
+ * <p>A file consists of a header of 32 bytes (magic <code>RJG1</code>, byte order, kind, number of rows/symbols,
+ * number of columns/edges, a reserved <code>int</code> and the default weight as a <code>long</code>) followed by
+ * the sections of the content, each aligned to 8 bytes: the values of a matrix in row-major order, or the offsets,
+ * targets and weights of a sparse graph (see {@link IntSparseGraph#wrap(IntBuffer, IntBuffer, IntBuffer, int)}).
+ * The magic and the byte order (0 for big-endian, 1 for little-endian) are big-endian; everything else is in
+ * the recorded byte order, which is the native byte order of the platform the file was written on (files written
+ * on another platform are read correctly, although more slowly).</p>
+ * 
+ * <p>Sections larger than a single mapping (2 GB) are mapped as multiple buffers. The offsets and targets of a sparse
+ * graph are validated when mapped. The mappings remain valid after the file has been closed, until the returned object
+ * is garbage collected; the file must not be modified meanwhile.</p>
+ * 
+ * @author Timo Santasalo
+ * @since 1.2.0
+ */
+public final class GraphFiles {
+	
+	private static final int MAGIC = 0x524a4731;
+	
+	private static final int BIG_ENDIAN = 0;
+	private static final int LITTLE_ENDIAN = 1;
+	
+	private static final int INT_MATRIX = 0;
+	private static final int LONG_MATRIX = 1;
+	private static final int INT_SPARSE = 2;
+	private static final int LONG_SPARSE = 3;
+	
+	private static final int HEADER = 32;
+	
+	private static final long CHUNK = 1l<<30;
+	private static final int SHIFT = 27;
+	
+	private GraphFiles() {
+	}
+	
+	/**
+	 * Writes a matrix to a file.
+	 * 
+	 * @param path Target file (created or truncated).
+	 * @param m The matrix.
+	 * @throws IOException If an I/O error occurs.
+	 * @since 1.2.0
+	 */
+	public static void write(Path path, IntMatrix m) throws IOException {
+		int lno = m.rows();
+		int lni = m.columns();
+		int s = _shift(lni*4l);
+		int mask = (int) ((1l<<s)-1);
+		try (FileChannel ch = _create(path)) {
+			_header(ch, INT_MATRIX, lno, lni, 0);
+			IntBuffer[] ibs = _ints(_map(ch, MapMode.READ_WRITE, ByteOrder.nativeOrder(), HEADER, (long) lno*lni, (long) lni<<s, 4));
+			for (int a=0; a<lno; a++) {
+				IntBuffer ib = ibs[a>>>s];
+				for (int b=0, p=(a&mask)*lni; b<lni; b++, p++) {
+					ib.put(p, m.applyAsInt(a, b));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Writes a matrix to a file.
+	 * 
+	 * @param path Target file (created or truncated).
+	 * @param m The matrix.
+	 * @throws IOException If an I/O error occurs.
+	 * @since 1.2.0
+	 */
+	public static void write(Path path, LongMatrix m) throws IOException {
+		int lno = m.rows();
+		int lni = m.columns();
+		int s = _shift(lni*8l);
+		int mask = (int) ((1l<<s)-1);
+		try (FileChannel ch = _create(path)) {
+			_header(ch, LONG_MATRIX, lno, lni, 0);
+			LongBuffer[] lbs = _longs(_map(ch, MapMode.READ_WRITE, ByteOrder.nativeOrder(), HEADER, (long) lno*lni, (long) lni<<s, 8));
+			for (int a=0; a<lno; a++) {
+				LongBuffer lb = lbs[a>>>s];
+				for (int b=0, p=(a&mask)*lni; b<lni; b++, p++) {
+					lb.put(p, m.get(a, b));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Writes a sparse graph to a file.
+	 * 
+	 * @param path Target file (created or truncated).
+	 * @param g The graph.
+	 * @throws IOException If an I/O error occurs.
+	 * @since 1.2.0
+	 */
+	public static void write(Path path, IntSparseGraph g) throws IOException {
+		int ln = g.size();
+		int le = g.edges();
+		try (FileChannel ch = _create(path)) {
+			_header(ch, INT_SPARSE, ln, le, g.value());
+			long p = HEADER;
+			IntBuffer[] os = _ints(_map(ch, MapMode.READ_WRITE, ByteOrder.nativeOrder(), p, ln+1l, 1l<<SHIFT, 4));
+			p = _align(p+(ln+1)*4l);
+			IntBuffer[] ts = _ints(_map(ch, MapMode.READ_WRITE, ByteOrder.nativeOrder(), p, le, 1l<<SHIFT, 4));
+			p = _align(p+le*4l);
+			IntBuffer[] ws = _ints(_map(ch, MapMode.READ_WRITE, ByteOrder.nativeOrder(), p, le, 1l<<SHIFT, 4));
+			_offsets(os, ln, g::from);
+			for (int i=0; i<le; i++) {
+				ts[i>>>SHIFT].put(i&((1<<SHIFT)-1), g.target(i));
+				ws[i>>>SHIFT].put(i&((1<<SHIFT)-1), g.weight(i));
+			}
+		}
+	}
+	
+	/**
+	 * Writes a sparse graph to a file.
+	 * 
+	 * @param path Target file (created or truncated).
+	 * @param g The graph.
+	 * @throws IOException If an I/O error occurs.
+	 * @since 1.2.0
+	 */
+	public static void write(Path path, LongSparseGraph g) throws IOException {
+		int ln = g.size();
+		int le = g.edges();
+		try (FileChannel ch = _create(path)) {
+			_header(ch, LONG_SPARSE, ln, le, g.value());
+			long p = HEADER;
+			IntBuffer[] os = _ints(_map(ch, MapMode.READ_WRITE, ByteOrder.nativeOrder(), p, ln+1l, 1l<<SHIFT, 4));
+			p = _align(p+(ln+1)*4l);
+			IntBuffer[] ts = _ints(_map(ch, MapMode.READ_WRITE, ByteOrder.nativeOrder(), p, le, 1l<<SHIFT, 4));
+			p = _align(p+le*4l);
+			LongBuffer[] ws = _longs(_map(ch, MapMode.READ_WRITE, ByteOrder.nativeOrder(), p, le, 1l<<SHIFT, 8));
+			_offsets(os, ln, g::from);
+			for (int i=0; i<le; i++) {
+				ts[i>>>SHIFT].put(i&((1<<SHIFT)-1), g.target(i));
+				ws[i>>>SHIFT].put(i&((1<<SHIFT)-1), g.weight(i));
+			}
+		}
+	}
+	
+	/**
+	 * Maps a matrix from a file.
+	 * 
+	 * @param path Source file.
+	 * @return A matrix (backed by the mapped file).
+	 * @throws IOException If an I/O error occurs or the file is not a matrix of <code>int</code>s.
+	 * @since 1.2.0
+	 */
+	public static IntMatrix mapIntMatrix(Path path) throws IOException {
+		try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer hb = _header(ch, INT_MATRIX);
+			int lno = hb.getInt(12);
+			int lni = hb.getInt(16);
+			int s = _shift(lni*4l);
+			return IntMatrix.wrap(lno, lni, s, _ints(_map(ch, MapMode.READ_ONLY, hb.order(), HEADER, (long) lno*lni, (long) lni<<s, 4)));
+		}
+	}
+	
+	/**
+	 * Maps a matrix from a file.
+	 * 
+	 * @param path Source file.
+	 * @return A matrix (backed by the mapped file).
+	 * @throws IOException If an I/O error occurs or the file is not a matrix of <code>long</code>s.
+	 * @since 1.2.0
+	 */
+	public static LongMatrix mapLongMatrix(Path path) throws IOException {
+		try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer hb = _header(ch, LONG_MATRIX);
+			int lno = hb.getInt(12);
+			int lni = hb.getInt(16);
+			int s = _shift(lni*8l);
+			return LongMatrix.wrap(lno, lni, s, _longs(_map(ch, MapMode.READ_ONLY, hb.order(), HEADER, (long) lno*lni, (long) lni<<s, 8)));
+		}
+	}
+	
+	/**
+	 * Maps a sparse graph from a file.
+	 * 
+	 * @param path Source file.
+	 * @return A graph (backed by the mapped file).
+	 * @throws IOException If an I/O error occurs or the file is not a (valid) sparse graph with <code>int</code> weights.
+	 * @since 1.2.0
+	 */
+	public static IntSparseGraph mapIntSparseGraph(Path path) throws IOException {
+		try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer hb = _header(ch, INT_SPARSE);
+			int ln = hb.getInt(12);
+			int le = hb.getInt(16);
+			long p = HEADER;
+			IntBuffer[] os = _ints(_map(ch, MapMode.READ_ONLY, hb.order(), p, ln+1l, 1l<<SHIFT, 4));
+			p = _align(p+(ln+1)*4l);
+			IntBuffer[] ts = _ints(_map(ch, MapMode.READ_ONLY, hb.order(), p, le, 1l<<SHIFT, 4));
+			p = _align(p+le*4l);
+			IntBuffer[] ws = _ints(_map(ch, MapMode.READ_ONLY, hb.order(), p, le, 1l<<SHIFT, 4));
+			IntSparseGraph g = IntSparseGraph.wrap(ln, le, SHIFT, os, ts, ws, (int) hb.getLong(24));
+			if (!_valid(ln, le, g::from, g::target)) {
+				throw new IOException("Invalid file: "+path);
+			}
+			return g;
+		}
+	}
+	
+	/**
+	 * Maps a sparse graph from a file.
+	 * 
+	 * @param path Source file.
+	 * @return A graph (backed by the mapped file).
+	 * @throws IOException If an I/O error occurs or the file is not a (valid) sparse graph with <code>long</code> weights.
+	 * @since 1.2.0
+	 */
+	public static LongSparseGraph mapLongSparseGraph(Path path) throws IOException {
+		try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer hb = _header(ch, LONG_SPARSE);
+			int ln = hb.getInt(12);
+			int le = hb.getInt(16);
+			long p = HEADER;
+			IntBuffer[] os = _ints(_map(ch, MapMode.READ_ONLY, hb.order(), p, ln+1l, 1l<<SHIFT, 4));
+			p = _align(p+(ln+1)*4l);
+			IntBuffer[] ts = _ints(_map(ch, MapMode.READ_ONLY, hb.order(), p, le, 1l<<SHIFT, 4));
+			p = _align(p+le*4l);
+			LongBuffer[] ws = _longs(_map(ch, MapMode.READ_ONLY, hb.order(), p, le, 1l<<SHIFT, 8));
+			LongSparseGraph g = LongSparseGraph.wrap(ln, le, SHIFT, os, ts, ws, hb.getLong(24));
+			if (!_valid(ln, le, g::from, g::target)) {
+				throw new IOException("Invalid file: "+path);
+			}
+			return g;
+		}
+	}
+	
+	private static FileChannel _create(Path path) throws IOException {
+		return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+	
+	private static void _header(FileChannel ch, int kind, int a, int b, long value) throws IOException {
+		ByteOrder bo = ByteOrder.nativeOrder();
+		ByteBuffer hb = ByteBuffer.allocate(HEADER);
+		hb.putInt(MAGIC).putInt(bo==ByteOrder.BIG_ENDIAN ? BIG_ENDIAN : LITTLE_ENDIAN).order(bo)
+			.putInt(kind).putInt(a).putInt(b).putInt(0).putLong(value).flip();
+		while (hb.hasRemaining()) {
+			ch.write(hb);
+		}
+	}
+	
+	private static ByteBuffer _header(FileChannel ch, int kind) throws IOException {
+		ByteBuffer hb = ByteBuffer.allocate(HEADER);
+		while (hb.hasRemaining()) {
+			if (ch.read(hb)<0) {
+				throw new IOException("Truncated header");
+			}
+		}
+		if (hb.getInt(0)!=MAGIC || (hb.getInt(4)!=BIG_ENDIAN && hb.getInt(4)!=LITTLE_ENDIAN)) {
+			throw new IOException("Invalid header");
+		}
+		hb.order(hb.getInt(4)==BIG_ENDIAN ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+		if (hb.getInt(8)!=kind || hb.getInt(12)<0 || hb.getInt(16)<0) {
+			throw new IOException("Invalid header");
+		}
+		return hb;
+	}
+	
+	private static int _shift(long row) throws IOException {
+		if (row>CHUNK) {
+			throw new IOException("Row too large: "+row);
+		}
+		int s = 0;
+		while (s<31 && row<<(s+1)<=CHUNK) {
+			s++;
+		}
+		return s;
+	}
+	
+	private static ByteBuffer[] _map(FileChannel ch, MapMode mode, ByteOrder bo, long p, long ln, long chunk, int size) throws IOException {
+		if (mode==MapMode.READ_ONLY && p+ln*size>ch.size()) {
+			throw new IOException("Truncated file");
+		}
+		ByteBuffer[] rt = new ByteBuffer[ln==0 ? 0 : (int) ((ln+chunk-1)/chunk)];
+		for (int i=0; i<rt.length; i++) {
+			rt[i] = ch.map(mode, p+i*chunk*size, Math.min(chunk, ln-i*chunk)*size).order(bo);
+		}
+		return rt;
+	}
+	
+	private static IntBuffer[] _ints(ByteBuffer[] bs) {
+		IntBuffer[] rt = new IntBuffer[bs.length];
+		for (int i=0; i<bs.length; i++) {
+			rt[i] = bs[i].asIntBuffer();
+		}
+		return rt;
+	}
+	
+	private static LongBuffer[] _longs(ByteBuffer[] bs) {
+		LongBuffer[] rt = new LongBuffer[bs.length];
+		for (int i=0; i<bs.length; i++) {
+			rt[i] = bs[i].asLongBuffer();
+		}
+		return rt;
+	}
+	
+	private static void _offsets(IntBuffer[] os, int ln, IntUnaryOperator fo) {
+		for (int a=0; a<=ln; a++) {
+			os[a>>>SHIFT].put(a&((1<<SHIFT)-1), fo.applyAsInt(a));
+		}
+	}
+	
+	private static boolean _valid(int ln, int le, IntUnaryOperator fo, IntUnaryOperator ft) {
+		return fo.applyAsInt(0)==0 && fo.applyAsInt(ln)==le && RJ.search(0, ln, (int a) -> {
+			int p = fo.applyAsInt(a);
+			int q = fo.applyAsInt(a+1);
+			if (p>q || q>le) {
+				return true;
+			}
+			for (int i=p, t=-1; i<q; i++) {
+				int u = ft.applyAsInt(i);
+				if (u<=t || u>=ln) {
+					return true;
+				}
+				t = u;
+			}
+			return false;
+		})==ln;
+	}
+	
+	private static long _align(long p) {
+		return (p+7) & ~7l;
+	}
+	
+}
@@ -0,0 +1,199 @@
+/* MIT License
+ *
+ * Copyright (c) 2022 TKNKLA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.tknkla.rj.graphs;
+
+import java.nio.IntBuffer;
+import java.util.function.IntBinaryOperator;
+
+import com.tknkla.rj.RJ;
+import com.tknkla.rj.groups.IntGroupOperator;
+
+/**
+ * An immutable dense matrix of <code>int</code>s stored in row-major order in an array or in buffers
+ * (e.g. a direct or memory-mapped buffer, see {@link java.nio.ByteBuffer#asIntBuffer()}).
+ * 
+ * <p>When used as the function which supplies relative differences, the propagation kernels recognize the matrix and
+ * aggregate rows with plain loops instead of calling it as a lambda.</p>
+ * 
+ * @author Timo Santasalo
+ * 
+ * @see RJ#propagate(int[][], IntBinaryOperator, IntBinaryOperator, IntGroupOperator, java.util.function.Predicate)
+ * @since 1.2.0
+ */
+public final class IntMatrix implements IntBinaryOperator {
+	
+	private final int lno;
+	private final int lni;
+	private final int[] values;
+	private final int shift;
+	private final int mask;
+	private final IntBuffer[] buffers;
+	
+	private IntMatrix(int lno, int lni, int[] values, int shift, IntBuffer[] buffers) {
+		this.lno = lno;
+		this.lni = lni;
+		this.values = values;
+		this.shift = shift;
+		this.mask = (int) ((1l<<shift)-1);
+		this.buffers = buffers;
+	}
+	
+	/**
+	 * Creates a matrix from an array.
+	 * 
+	 * <p>The array is used as is (not copied) and must not be modified afterwards.</p>
+	 * 
+	 * @param lno Number of rows.
+	 * @param lni Number of columns.
+	 * @param values Values of the matrix in row-major order (item <code>[a][b]</code> is stored at index <code>a*lni+b</code>).
+	 * @return A matrix.
+	 * @throws IllegalArgumentException If the length of the array does not match.
+	 * @since 1.2.0
+	 */
+	public static IntMatrix wrap(int lno, int lni, int[] values) {
+		if ((long) lno*lni!=values.length) {
+			throw new IllegalArgumentException("Invalid length: "+values.length);
+		}
+		return new IntMatrix(lno, lni, values, 31, null);
+	}
+	
+	/**
+	 * Creates a matrix from a buffer (which may be direct or memory-mapped).
+	 * 
+	 * <p>The buffer is used as is (not copied) from index 0 on (using absolute reads only); a heap buffer is accessed as an array.</p>
+	 * 
+	 * @param lno Number of rows.
+	 * @param lni Number of columns.
+	 * @param buffer Values of the matrix in row-major order (item <code>[a][b]</code> is stored at index <code>a*lni+b</code>).
+	 * @return A matrix.
+	 * @throws IllegalArgumentException If the buffer is too small.
+	 * @since 1.2.0
+	 */
+	public static IntMatrix wrap(int lno, int lni, IntBuffer buffer) {
+		if ((long) lno*lni>buffer.limit()) {
+			throw new IllegalArgumentException("Invalid length: "+buffer.limit());
+		}
+		return buffer.hasArray() && buffer.arrayOffset()==0 && buffer.array().length==lno*lni
+				? new IntMatrix(lno, lni, buffer.array(), 31, null)
+				: new IntMatrix(lno, lni, null, 31, new IntBuffer[] { buffer });
+	}
+	
+	/**
+	 * Creates a matrix from buffers, each holding <code>2^shift</code> rows (the last buffer may hold fewer);
+	 * used for mappings larger than a single buffer.
+	 */
+	static IntMatrix wrap(int lno, int lni, int shift, IntBuffer[] buffers) {
+		return new IntMatrix(lno, lni, null, shift, buffers);
+	}
+	
+	/**
+	 * (P) Creates a matrix; rows are populated in parallel.
+	 * 
+	 * @param lno Number of rows.
+	 * @param lni Number of columns.
+	 * @param fn Supplies the values of the matrix.
+	 * @return A matrix.
+	 * @since 1.2.0
+	 */
+	public static IntMatrix of(int lno, int lni, IntBinaryOperator fn) {
+		int[] vs = new int[Math.multiplyExact(lno, lni)];
+		RJ.execute(0, lno, (int a) -> {
+			for (int b=0, p=a*lni; b<lni; b++, p++) {
+				vs[p] = fn.applyAsInt(a, b);
+			}
+		});
+		return new IntMatrix(lno, lni, vs, 31, null);
+	}
+	
+	/**
+	 * Returns the number of rows.
+	 * 
+	 * @return Number of rows.
+	 * @since 1.2.0
+	 */
+	public int rows() {
+		return lno;
+	}
+	
+	/**
+	 * Returns the number of columns.
+	 * 
+	 * @return Number of columns.
+	 * @since 1.2.0
+	 */
+	public int columns() {
+		return lni;
+	}
+	
+	/**
+	 * Returns a value of the matrix.
+	 * 
+	 * @param a Row.
+	 * @param b Column.
+	 * @return The value.
+	 * @since 1.2.0
+	 */
+	@Override
+	public int applyAsInt(int a, int b) {
+		return values!=null ? values[a*lni+b] : buffers[a>>>shift].get((a&mask)*lni+b);
+	}
+	
+	/**
+	 * Aggregates the values of a row over a number of columns.
+	 * 
+	 * @param a Row.
+	 * @param cs Columns.
+	 * @param g Group operator.
+	 * @return The aggregate.
+	 * @since 1.2.0
+	 */
+	public int aggregate(int a, int[] cs, IntGroupOperator g) {
+		int rt = g.identityAsInt();
+		if (values!=null) {
+			int p = a*lni;
+			if (g==IntGroupOperator.ADDITIVE) {
+				for (int i=0; i<cs.length; i++) {
+					rt += values[p+cs[i]];
+				}
+			} else {
+				for (int i=0; i<cs.length; i++) {
+					rt = g.applyAsInt(rt, values[p+cs[i]]);
+				}
+			}
+		} else {
+			IntBuffer buffer = buffers[a>>>shift];
+			int p = (a&mask)*lni;
+			if (g==IntGroupOperator.ADDITIVE) {
+				for (int i=0; i<cs.length; i++) {
+					rt += buffer.get(p+cs[i]);
+				}
+			} else {
+				for (int i=0; i<cs.length; i++) {
+					rt = g.applyAsInt(rt, buffer.get(p+cs[i]));
+				}
+			}
+		}
+		return rt;
+	}
+	
+}
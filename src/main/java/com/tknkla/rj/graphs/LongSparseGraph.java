@@ -0,0 +1,280 @@
+/* MIT License
+ *
+ * Copyright (c) 2022 TKNKLA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.tknkla.rj.graphs;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.function.IntBinaryOperator;
+
+import com.tknkla.rj.RJ;
+import com.tknkla.rj.functions.IntToLongBinaryOperator;
+import com.tknkla.rj.groups.LongGroupOperator;
+
+/**
+ * An immutable sparse relation between symbols <code>[0, n)</code> with <code>long</code> weights,
+ * expressed in compressed sparse row (CSR) form, i.e. as an adjacency list of weighted edges
+ * and a default weight for the pairs of symbols which are not connected by an edge.
+ * 
+ * <p>When used for relative order/comparison, the propagation kernels iterate the edges only and account
+ * for the default weight analytically, so that the cost of an iteration is proportional to the number of
+ * edges instead of the number of pairs of symbols.</p>
+ * 
+ * @author Timo Santasalo
+ * 
+ * @see RJ#propagate(int[][], LongSparseGraph, IntBinaryOperator, LongGroupOperator, java.util.function.Predicate)
+ * @see RJ#order(int[][], LongSparseGraph, LongGroupOperator, IntBinaryOperator)
+ * @since 1.2.0
+ */
+public final class LongSparseGraph implements IntToLongBinaryOperator {
+	
+	private final int ln;
+	private final int le;
+	private final int shift;
+	private final int mask;
+	private final IntBuffer[] offsets;
+	private final IntBuffer[] targets;
+	private final LongBuffer[] weights;
+	private final long value;
+	
+	private LongSparseGraph(int ln, int le, int shift, IntBuffer[] offsets, IntBuffer[] targets, LongBuffer[] weights, long value) {
+		this.ln = ln;
+		this.le = le;
+		this.shift = shift;
+		this.mask = (int) ((1l<<shift)-1);
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+		this.value = value;
+	}
+	
+	private LongSparseGraph(IntBuffer offsets, IntBuffer targets, LongBuffer weights, long value) {
+		this(offsets.limit()-1, targets.limit(), 31, new IntBuffer[] { offsets }, new IntBuffer[] { targets }, new LongBuffer[] { weights }, value);
+	}
+	
+	/**
+	 * Creates a graph from arrays in CSR form.
+	 * 
+	 * <p>The arrays are used as is (not copied) and must not be modified afterwards. The edges of symbol <code>a</code>
+	 * are found at indices <code>[offsets[a], offsets[a+1])</code> of the target and weight arrays; the offsets must
+	 * start from 0 and be non-decreasing, and the targets of each symbol must be sorted (ascending, without duplicates)
+	 * and within <code>[0, n)</code>. Only the lengths of the arrays are checked; other violations give undefined
+	 * results (only {@link GraphFiles} validates the graphs it maps).</p>
+	 * 
+	 * @param offsets Offsets of the edges of each symbol (of length <code>n+1</code>).
+	 * @param targets Targets of the edges.
+	 * @param weights Weights of the edges.
+	 * @param value The default weight.
+	 * @return A graph.
+	 * @throws IllegalArgumentException If the lengths of the arrays do not match.
+	 * @since 1.2.0
+	 */
+	public static LongSparseGraph wrap(int[] offsets, int[] targets, long[] weights, long value) {
+		if (offsets.length==0 || targets.length!=weights.length || offsets[offsets.length-1]!=targets.length) {
+			throw new IllegalArgumentException("Invalid CSR arrays");
+		}
+		return new LongSparseGraph(IntBuffer.wrap(offsets), IntBuffer.wrap(targets), LongBuffer.wrap(weights), value);
+	}
+	
+	/**
+	 * Creates a graph from buffers in CSR form (which may be direct or memory-mapped, see {@link GraphFiles}).
+	 * 
+	 * <p>The buffers are used as is (not copied) from index 0 on (using absolute reads only). The edges of symbol
+	 * <code>a</code> are found at indices <code>[offsets.get(a), offsets.get(a+1))</code> of the target and weight
+	 * buffers, with the same requirements as for {@link #wrap(int[], int[], long[], long)}, which are not checked either.</p>
+	 * 
+	 * @param offsets Offsets of the edges of each symbol (of length <code>n+1</code>).
+	 * @param targets Targets of the edges.
+	 * @param weights Weights of the edges.
+	 * @param value The default weight.
+	 * @return A graph.
+	 * @throws IllegalArgumentException If the lengths of the buffers do not match.
+	 * @since 1.2.0
+	 */
+	public static LongSparseGraph wrap(IntBuffer offsets, IntBuffer targets, LongBuffer weights, long value) {
+		if (offsets.limit()==0 || targets.limit()!=weights.limit() || offsets.get(offsets.limit()-1)!=targets.limit()) {
+			throw new IllegalArgumentException("Invalid CSR buffers");
+		}
+		return new LongSparseGraph(offsets, targets, weights, value);
+	}
+	
+	/**
+	 * Creates a graph from buffers in CSR form, each split into chunks of <code>2^shift</code> items
+	 * (the last chunk may be shorter); used for mappings larger than a single buffer.
+	 */
+	static LongSparseGraph wrap(int ln, int le, int shift, IntBuffer[] offsets, IntBuffer[] targets, LongBuffer[] weights, long value) {
+		return new LongSparseGraph(ln, le, shift, offsets, targets, weights, value);
+	}
+	
+	/**
+	 * Creates a graph from a list of weighted edges.
+	 * 
+	 * @param ln Number of symbols.
+	 * @param from Sources of the edges.
+	 * @param to Targets of the edges.
+	 * @param weights Weights of the edges.
+	 * @param value The default weight.
+	 * @return A graph.
+	 * @throws IllegalArgumentException If an edge is out of range or duplicate.
+	 * @since 1.2.0
+	 */
+	public static LongSparseGraph of(int ln, int[] from, int[] to, long[] weights, long value) {
+		int[] os = new int[ln+1];
+		for (int i=0; i<from.length; i++) {
+			if (from[i]<0 || from[i]>=ln || to[i]<0 || to[i]>=ln) {
+				throw new IllegalArgumentException("Edge out of range: "+from[i]+" -> "+to[i]);
+			}
+			os[from[i]+1]++;
+		}
+		for (int i=0; i<ln; i++) {
+			os[i+1] += os[i];
+		}
+		int[] ps = new int[from.length];
+		int[] cs = new int[ln];
+		for (int i=0; i<from.length; i++) {
+			ps[os[from[i]] + cs[from[i]]++] = i;
+		}
+		int[] ts = new int[from.length];
+		long[] ws = new long[from.length];
+		RJ.execute(0, ln, (int a) -> {
+			int[] qs = RJ.order(os[a+1]-os[a], (int q) -> ps[os[a]+q], (int u, int v) -> Integer.compare(to[u], to[v]), (int u, int v) -> {
+				throw new IllegalArgumentException("Duplicate edge: "+a+" -> "+to[u]);
+			});
+			for (int q=0; q<qs.length; q++) {
+				ts[os[a]+q] = to[qs[q]];
+				ws[os[a]+q] = weights[qs[q]];
+			}
+		});
+		return new LongSparseGraph(IntBuffer.wrap(os), IntBuffer.wrap(ts), LongBuffer.wrap(ws), value);
+	}
+	
+	/**
+	 * (P) Creates a graph from a (dense) relation; pairs of symbols with a weight other than the default
+	 * weight are stored as edges.
+	 * 
+	 * @param ln Number of symbols.
+	 * @param fg Supplies the weight between a pair of symbols.
+	 * @param value The default weight.
+	 * @return A graph.
+	 * @since 1.2.0
+	 */
+	public static LongSparseGraph of(int ln, IntToLongBinaryOperator fg, long value) {
+		int[][] ts = RJ.populate(int[].class, ln, (int a) -> RJ.joinAsInt(ln, (int b) -> fg.applyAsLong(a, b)==value ? RJ.EMPTY_INT : new int[] { b }));
+		int[] os = new int[ln+1];
+		for (int i=0; i<ln; i++) {
+			os[i+1] = os[i]+ts[i].length;
+		}
+		return new LongSparseGraph(IntBuffer.wrap(os),
+				IntBuffer.wrap(RJ.joinAsInt(ln, (int a) -> ts[a])),
+				LongBuffer.wrap(RJ.joinAsLong(ln, (int a) -> RJ.populate(ts[a].length, (int q) -> fg.applyAsLong(a, ts[a][q])))),
+				value);
+	}
+	
+	/**
+	 * Returns the number of symbols.
+	 * 
+	 * @return Number of symbols.
+	 * @since 1.2.0
+	 */
+	public int size() {
+		return ln;
+	}
+	
+	/**
+	 * Returns the number of edges.
+	 * 
+	 * @return Number of edges.
+	 * @since 1.2.0
+	 */
+	public int edges() {
+		return le;
+	}
+	
+	/**
+	 * Returns the default weight.
+	 * 
+	 * @return The default weight.
+	 * @since 1.2.0
+	 */
+	public long value() {
+		return value;
+	}
+	
+	/**
+	 * Returns the index of the first edge of a symbol.
+	 * 
+	 * @param a Symbol.
+	 * @return Index of the first edge (inclusive).
+	 * @since 1.2.0
+	 */
+	public int from(int a) {
+		return offsets[a>>>shift].get(a&mask);
+	}
+	
+	/**
+	 * Returns the index of the last edge of a symbol.
+	 * 
+	 * @param a Symbol.
+	 * @return Index of the last edge (exclusive).
+	 * @since 1.2.0
+	 */
+	public int to(int a) {
+		return from(a+1);
+	}
+	
+	/**
+	 * Returns the target of the nth edge.
+	 * 
+	 * @param p Index of the edge.
+	 * @return Target symbol.
+	 * @since 1.2.0
+	 */
+	public int target(int p) {
+		return targets[p>>>shift].get(p&mask);
+	}
+	
+	/**
+	 * Returns the weight of the nth edge.
+	 * 
+	 * @param p Index of the edge.
+	 * @return Weight.
+	 * @since 1.2.0
+	 */
+	public long weight(int p) {
+		return weights[p>>>shift].get(p&mask);
+	}
+	
+	/**
+	 * Returns the weight between a pair of symbols (the default weight, if not connected by an edge).
+	 * 
+	 * @param a Source symbol.
+	 * @param b Target symbol.
+	 * @return Weight.
+	 * @since 1.2.0
+	 */
+	@Override
+	public long applyAsLong(int a, int b) {
+		int p = RJ.search(from(a), to(a), (int q) -> Integer.compare(target(q), b));
+		return p<0 ? value : weight(p);
+	}
+	
+}
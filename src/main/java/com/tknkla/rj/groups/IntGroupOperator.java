@@ -64,6 +64,40 @@ public interface IntGroupOperator {
 
 	};
 
+	/**
+	 * The additive group operator with overflow detection (throws {@link ArithmeticException} on overflow).
+	 * 
+	 * <p>Relative order computations over dense inputs fall back to a wider representation for the cells in which an overflow
+	 * occurs (see {@link RJ#propagate(int[][], java.util.function.IntBinaryOperator, java.util.function.IntBinaryOperator, IntGroupOperator, java.util.function.Predicate)}), so that the results are those of exact arithmetic.</p>
+	 * 
+	 * <p>Computations over sparse graphs do not support this operator (and throw {@link IllegalArgumentException}), as the
+	 * default weight is cancelled from the weights of the edges.</p>
+	 * @since 1.2.0
+	 */
+	public static final IntGroupOperator ADDITIVE_EXACT = new IntGroupOperator() {
+		
+		@Override
+		public int signum(int v) {
+			return Integer.signum(v);
+		}
+		
+		@Override
+		public int identityAsInt() {
+			return 0;
+		}
+		
+		@Override
+		public int applyAsInt(int a, int b) {
+			return Math.addExact(a, b);
+		}
+
+		@Override
+		public int cancelAsInt(int a, int b) {
+			return Math.subtractExact(a, b);
+		}
+
+	};
+
 	/**
 	 * Returns the identity element.
 	 * @return The identity element.
@@ -65,6 +65,40 @@ public interface LongGroupOperator {
 
 	};
 
+	/**
+	 * The additive group operator with overflow detection (throws {@link ArithmeticException} on overflow).
+	 * 
+	 * <p>Relative order computations over dense inputs fall back to a wider representation for the cells in which an overflow
+	 * occurs (see {@link RJ#propagate(long[][], java.util.function.LongBinaryOperator, LongToIntBinaryOperator, LongGroupOperator, java.util.function.Predicate)}), so that the results are those of exact arithmetic.</p>
+	 * 
+	 * <p>Computations over sparse graphs do not support this operator (and throw {@link IllegalArgumentException}), as the
+	 * default weight is cancelled from the weights of the edges.</p>
+	 * @since 1.2.0
+	 */
+	public static final LongGroupOperator ADDITIVE_EXACT = new LongGroupOperator() {
+		
+		@Override
+		public int signum(long v) {
+			return Long.signum(v);
+		}
+		
+		@Override
+		public long identityAsLong() {
+			return 0;
+		}
+		
+		@Override
+		public long applyAsLong(long a, long b) {
+			return Math.addExact(a, b);
+		}
+
+		@Override
+		public long cancelAsLong(long a, long b) {
+			return Math.subtractExact(a, b);
+		}
+
+	};
+
 	/**
 	 * Returns the identity element.
 	 * @return The identity element.
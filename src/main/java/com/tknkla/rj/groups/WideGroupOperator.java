@@ -0,0 +1,149 @@
+/* MIT License
+ *
+ * Copyright (c) 2022 TKNKLA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.tknkla.rj.groups;
+
+import com.tknkla.rj.RJ;
+
+/**
+ * Group operator interface for wide (128-bit) elements aggregated from relative differences expressed as <code>long</code>s.
+ * 
+ * <p>Elements are stored in arrays of <code>long</code>s as pairs (the nth element as the high word at index <code>2n</code>
+ * and the low word at index <code>2n+1</code>) and all operations are applied in place, so that aggregation does not
+ * allocate. A relative difference is embedded as an element (e.g. by sign extension).</p>
+ * 
+ * @author Timo Santasalo
+ * 
+ * @see RJ#propagate(long[][], java.util.function.LongBinaryOperator, com.tknkla.rj.functions.LongToIntBinaryOperator, WideGroupOperator, java.util.function.Predicate)
+ * @since 1.2.0
+ */
+public interface WideGroupOperator {
+
+	/**
+	 * The additive group operator (two's complement 128-bit integers); exact for sums of up to 2<sup>63</sup> relative differences.
+	 * @since 1.2.0
+	 */
+	public static final WideGroupOperator ADDITIVE = new WideGroupOperator() {
+		
+		@Override
+		public long identityAsLong() {
+			return 0;
+		}
+
+		@Override
+		public void identity(long[] rs, int r) {
+			rs[r<<1] = 0;
+			rs[(r<<1)+1] = 0;
+		}
+
+		@Override
+		public void apply(long[] rs, int r, long v) {
+			long lo = rs[(r<<1)+1];
+			long nlo = lo+v;
+			rs[r<<1] += (v>>63) + (Long.compareUnsigned(nlo, lo)<0 ? 1 : 0);
+			rs[(r<<1)+1] = nlo;
+		}
+
+		@Override
+		public void apply(long[] rs, int r, long[] as, int a) {
+			long lo = rs[(r<<1)+1];
+			long nlo = lo+as[(a<<1)+1];
+			rs[r<<1] += as[a<<1] + (Long.compareUnsigned(nlo, lo)<0 ? 1 : 0);
+			rs[(r<<1)+1] = nlo;
+		}
+
+		@Override
+		public void cancel(long[] rs, int r, long[] as, int a, long[] bs, int b) {
+			long alo = as[(a<<1)+1];
+			long blo = bs[(b<<1)+1];
+			rs[r<<1] = as[a<<1] - bs[b<<1] - (Long.compareUnsigned(alo, blo)<0 ? 1 : 0);
+			rs[(r<<1)+1] = alo-blo;
+		}
+
+		@Override
+		public int compare(long[] as, int a, long[] bs, int b) {
+			long alo = as[(a<<1)+1];
+			long blo = bs[(b<<1)+1];
+			long hi = as[a<<1] - bs[b<<1] - (Long.compareUnsigned(alo, blo)<0 ? 1 : 0);
+			return hi!=0 ? Long.signum(hi) : alo!=blo ? 1 : 0;
+		}
+
+	};
+	
+	/**
+	 * Returns the relative difference which is embedded as the identity element.
+	 * @return The identity element (as a relative difference).
+	 * @since 1.2.0
+	 */
+	long identityAsLong();
+
+	/**
+	 * Sets an element to the identity element.
+	 * @param rs Target array.
+	 * @param r Index of the target element.
+	 * @since 1.2.0
+	 */
+	void identity(long[] rs, int r);
+	
+	/**
+	 * Applies the (commutative) group operation to an element and an embedded relative difference, in place.
+	 * @param rs Target array (left element).
+	 * @param r Index of the target element.
+	 * @param v Relative difference (right element).
+	 * @since 1.2.0
+	 */
+	void apply(long[] rs, int r, long v);
+
+	/**
+	 * Applies the (commutative) group operation to a pair of elements, in place.
+	 * @param rs Target array (left element).
+	 * @param r Index of the target element.
+	 * @param as Source array (right element).
+	 * @param a Index of the source element.
+	 * @since 1.2.0
+	 */
+	void apply(long[] rs, int r, long[] as, int a);
+
+	/**
+	 * Applies the (non-commutative) inverse group operation.
+	 * @param rs Target array.
+	 * @param r Index of the target element.
+	 * @param as Left array.
+	 * @param a Index of the left element.
+	 * @param bs Right array.
+	 * @param b Index of the right element.
+	 * @since 1.2.0
+	 */
+	void cancel(long[] rs, int r, long[] as, int a, long[] bs, int b);
+	
+	/**
+	 * Returns the sign of the result of the inverse group operation (without storing it).
+	 * @param as Left array.
+	 * @param a Index of the left element.
+	 * @param bs Right array.
+	 * @param b Index of the right element.
+	 * @return Sign of the result.
+	 * @since 1.2.0
+	 */
+	int compare(long[] as, int a, long[] bs, int b);
+	
+}
@@ -0,0 +1,491 @@
+/* MIT License
+ *
+ * Copyright (c) 2022 TKNKLA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.tknkla.rj.sets;
+
+import java.util.Arrays;
+
+import com.tknkla.rj.RJ;
+import com.tknkla.rj.SetOperator;
+
+/**
+ * An immutable set of <code>int</code>s expressed as a sequence of compressed containers (suitable
+ * for large sets of mixed density).
+ * 
+ * <p>The domain is divided into chunks of 65536 items by the upper 16 bits of the items (as signed, so that
+ * the order of the chunks matches the natural order of the items). Each non-empty chunk is expressed by a
+ * container holding the lower 16 bits of its items as one of the following (whichever is the smallest):</p>
+ * <ul>
+ * <li>an ordered array (at most 4096 items),</li>
+ * <li>a bitmap (1024 words) or</li>
+ * <li>an ordered array of runs (pairs of start and length).</li>
+ * </ul>
+ * 
+ * @author Timo Santasalo
+ * 
+ * @see RJ#merge(CompressedIntSet, CompressedIntSet, SetOperator)
+ * @since 1.2.0
+ */
+public final class CompressedIntSet {
+	
+	/**
+	 * An empty set.
+	 * @since 1.2.0
+	 */
+	public static final CompressedIntSet EMPTY = new CompressedIntSet(RJ.EMPTY_INT, new Container[0]);
+	
+	/**
+	 * Number of words of a bitmap container.
+	 */
+	private static final int WORDS = 1024;
+	
+	/**
+	 * Maximum number of items of an array container.
+	 */
+	private static final int ARRAY_MAX = 4096;
+	
+	private final int[] keys;
+	private final Container[] cs;
+	
+	private CompressedIntSet(int[] keys, Container[] cs) {
+		this.keys = keys;
+		this.cs = cs;
+	}
+	
+	/**
+	 * (P) Creates a set from a set expressed as an ordered array of <code>int</code>s.
+	 * 
+	 * @param vs A set (ordered in natural order).
+	 * @return A set.
+	 * @since 1.2.0
+	 */
+	public static CompressedIntSet of(int[] vs) {
+		if (vs.length==0) {
+			return EMPTY;
+		}
+		int n = 0;
+		int[] ps = new int[Math.min(vs.length, 1+(vs[vs.length-1]>>16)-(vs[0]>>16))+1];
+		for (int p=0; p<vs.length; ) {
+			int k = vs[p]>>16;
+			ps[n++] = p;
+			int q = RJ.search(p, vs.length, (int r) -> (vs[r]>>16) <= k ? -1 : 1);
+			p = q<0 ? ~q : q;
+		}
+		ps[n] = vs.length;
+		return new CompressedIntSet(
+				RJ.populate(n, (int p) -> vs[ps[p]]>>16),
+				RJ.populate(Container.class, n, (int p) -> container(vs, ps[p], ps[p+1])));
+	}
+	
+	/**
+	 * (P) Converts the set to a set expressed as an ordered array of <code>int</code>s.
+	 * 
+	 * @return A set (ordered in natural order).
+	 * @since 1.2.0
+	 */
+	public int[] toArray() {
+		return RJ.joinAsInt(keys.length, (int p) -> cs[p].toArray(keys[p]<<16));
+	}
+	
+	/**
+	 * Tests whether the set contains an item.
+	 * 
+	 * @param v Item.
+	 * @return True, if the set contains the item.
+	 * @since 1.2.0
+	 */
+	public boolean contains(int v) {
+		int p = Arrays.binarySearch(keys, v>>16);
+		return p>=0 && cs[p].contains(v & 0xffff);
+	}
+	
+	/**
+	 * (P) Returns the number of items in the set.
+	 * 
+	 * @return Number of items.
+	 * @since 1.2.0
+	 */
+	public int size() {
+		return RJ.execute(0, cs.length, 0, (int p) -> cs[p].size(), (int a, int b) -> a+b);
+	}
+	
+	/**
+	 * (P) Applies a set operation upon a pair of sets.
+	 * 
+	 * <p>Pairs of containers with equal keys are evaluated in parallel; a pair of arrays is merged,
+	 * otherwise the truth table of the operation is evaluated as word-wise boolean logic. Each resulting
+	 * container is converted to the smallest representation.</p>
+	 * 
+	 * @param as Left set.
+	 * @param bs Right set.
+	 * @param op Set operation.
+	 * @return Result set.
+	 * @see RJ#merge(CompressedIntSet, CompressedIntSet, SetOperator)
+	 * @since 1.2.0
+	 */
+	public static CompressedIntSet merge(CompressedIntSet as, CompressedIntSet bs, SetOperator op) {
+		if (op==SetOperator.EMPTY) {
+			return EMPTY;
+		} else if (op==SetOperator.LEFT) {
+			return as;
+		} else if (op==SetOperator.RIGHT) {
+			return bs;
+		}
+		int[] ks = RJ.merge(as.keys, bs.keys, Integer::compare, (int u, int v) -> u, SetOperator.of(op.left, op.right, true));
+		Container[] rs = RJ.populate(Container.class, ks.length, (int p) -> {
+			int ap = Arrays.binarySearch(as.keys, ks[p]);
+			int bp = Arrays.binarySearch(bs.keys, ks[p]);
+			return ap<0 ? bs.cs[bp] : bp<0 ? as.cs[ap] : merge(as.cs[ap], bs.cs[bp], op);
+		});
+		int n = 0;
+		for (int i=0; i<rs.length; i++) {
+			if (rs[i]!=null) {
+				n++;
+			}
+		}
+		if (n==rs.length) {
+			return n==0 ? EMPTY : new CompressedIntSet(ks, rs);
+		}
+		int[] nks = new int[n];
+		Container[] nrs = new Container[n];
+		for (int i=0, p=0; p<n; i++) {
+			if (rs[i]!=null) {
+				nks[p] = ks[i];
+				nrs[p++] = rs[i];
+			}
+		}
+		return n==0 ? EMPTY : new CompressedIntSet(nks, nrs);
+	}
+
+	private static Container merge(Container a, Container b, SetOperator op) {
+		if (a instanceof ArrayContainer && b instanceof ArrayContainer) {
+			char[] as = ((ArrayContainer) a).vs;
+			char[] bs = ((ArrayContainer) b).vs;
+			int[] rt = new int[as.length+bs.length];
+			int ap=0, bp=0, p=0;
+			while (ap<as.length && bp<bs.length) {
+				if (as[ap]<bs[bp]) {
+					if (op.left) {
+						rt[p++] = as[ap];
+					}
+					ap++;
+				} else if (as[ap]>bs[bp]) {
+					if (op.right) {
+						rt[p++] = bs[bp];
+					}
+					bp++;
+				} else {
+					if (op.both) {
+						rt[p++] = as[ap];
+					}
+					ap++;
+					bp++;
+				}
+			}
+			for (; op.left && ap<as.length; ap++) {
+				rt[p++] = as[ap];
+			}
+			for (; op.right && bp<bs.length; bp++) {
+				rt[p++] = bs[bp];
+			}
+			return p==0 ? null : container(rt, 0, p);
+		}
+		long[] aw = a.words();
+		long[] bw = b.words();
+		for (int i=0; i<WORDS; i++) {
+			aw[i] = IntBitSet.word(aw[i], bw[i], op);
+		}
+		return container(aw);
+	}
+	
+	/**
+	 * Creates the smallest container for an ordered range of items (only the lower 16 bits are used).
+	 */
+	private static Container container(int[] vs, int from, int to) {
+		int card = to-from;
+		int runs = 1;
+		for (int i=from+1; i<to; i++) {
+			if ((vs[i] & 0xffff)!=(vs[i-1] & 0xffff)+1) {
+				runs++;
+			}
+		}
+		if (runs*2 < Math.min(card, ARRAY_MAX)) {
+			char[] rs = new char[runs*2];
+			int p = 0;
+			for (int i=from; i<to; i++) {
+				if (i==from || (vs[i] & 0xffff)!=(vs[i-1] & 0xffff)+1) {
+					rs[p] = (char) vs[i];
+					p += 2;
+				}
+				rs[p-1] = (char) ((vs[i]-rs[p-2]) & 0xffff);
+			}
+			return new RunContainer(rs);
+		} else if (card<=ARRAY_MAX) {
+			char[] rs = new char[card];
+			for (int i=from; i<to; i++) {
+				rs[i-from] = (char) vs[i];
+			}
+			return new ArrayContainer(rs);
+		} else {
+			long[] ws = new long[WORDS];
+			for (int i=from; i<to; i++) {
+				ws[(vs[i] & 0xffff)>>6] |= 1l<<(vs[i] & 63);
+			}
+			return new BitmapContainer(ws, card);
+		}
+	}
+	
+	/**
+	 * Creates the smallest container for a bitmap (the array is used as is, if a bitmap is the smallest).
+	 */
+	private static Container container(long[] ws) {
+		int card = 0;
+		int runs = 0;
+		long c = 0;
+		for (int i=0; i<WORDS; i++) {
+			card += Long.bitCount(ws[i]);
+			runs += Long.bitCount(ws[i] & ~((ws[i]<<1) | c));
+			c = ws[i]>>>63;
+		}
+		if (card==0) {
+			return null;
+		} else if (runs*2 < Math.min(card, ARRAY_MAX) || card<=ARRAY_MAX) {
+			int[] rt = new int[card];
+			int p = 0;
+			for (int i=0; i<WORDS; i++) {
+				for (long w = ws[i]; w!=0; w &= w-1) {
+					rt[p++] = (i<<6) | Long.numberOfTrailingZeros(w);
+				}
+			}
+			return container(rt, 0, card);
+		} else {
+			return new BitmapContainer(ws, card);
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return 31*Arrays.hashCode(keys) + Arrays.hashCode(cs);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj==this || obj instanceof CompressedIntSet
+				&& Arrays.equals(keys, ((CompressedIntSet) obj).keys)
+				&& Arrays.equals(cs, ((CompressedIntSet) obj).cs);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+	
+	/**
+	 * A container of the lower 16 bits of the items of a chunk.
+	 */
+	private static abstract class Container {
+		
+		abstract int size();
+		
+		abstract boolean contains(int v);
+		
+		/**
+		 * Returns the container as a (new) bitmap.
+		 */
+		abstract long[] words();
+		
+		abstract int[] toArray(int hi);
+		
+	}
+	
+	private static final class ArrayContainer extends Container {
+		
+		private final char[] vs;
+		
+		ArrayContainer(char[] vs) {
+			this.vs = vs;
+		}
+
+		@Override
+		int size() {
+			return vs.length;
+		}
+
+		@Override
+		boolean contains(int v) {
+			return Arrays.binarySearch(vs, (char) v)>=0;
+		}
+
+		@Override
+		long[] words() {
+			long[] ws = new long[WORDS];
+			for (char v : vs) {
+				ws[v>>6] |= 1l<<(v & 63);
+			}
+			return ws;
+		}
+
+		@Override
+		int[] toArray(int hi) {
+			int[] rt = new int[vs.length];
+			for (int i=0; i<vs.length; i++) {
+				rt[i] = hi | vs[i];
+			}
+			return rt;
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(vs);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof ArrayContainer && Arrays.equals(vs, ((ArrayContainer) obj).vs);
+		}
+		
+	}
+	
+	private static final class BitmapContainer extends Container {
+		
+		private final long[] ws;
+		private final int card;
+		
+		BitmapContainer(long[] ws, int card) {
+			this.ws = ws;
+			this.card = card;
+		}
+
+		@Override
+		int size() {
+			return card;
+		}
+
+		@Override
+		boolean contains(int v) {
+			return (ws[v>>6] & (1l<<(v & 63)))!=0;
+		}
+
+		@Override
+		long[] words() {
+			return ws.clone();
+		}
+
+		@Override
+		int[] toArray(int hi) {
+			int[] rt = new int[card];
+			int p = 0;
+			for (int i=0; i<WORDS; i++) {
+				for (long w = ws[i]; w!=0; w &= w-1) {
+					rt[p++] = hi | (i<<6) | Long.numberOfTrailingZeros(w);
+				}
+			}
+			return rt;
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(ws);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof BitmapContainer && Arrays.equals(ws, ((BitmapContainer) obj).ws);
+		}
+		
+	}
+	
+	/**
+	 * Runs are stored as pairs of start and length minus one.
+	 */
+	private static final class RunContainer extends Container {
+		
+		private final char[] rs;
+		
+		RunContainer(char[] rs) {
+			this.rs = rs;
+		}
+
+		@Override
+		int size() {
+			int rt = 0;
+			for (int i=1; i<rs.length; i+=2) {
+				rt += rs[i]+1;
+			}
+			return rt;
+		}
+
+		@Override
+		boolean contains(int v) {
+			int p = RJ.search(0, rs.length>>1, (int q) -> rs[q<<1] <= v ? -1 : 1);
+			p = ~p-1;
+			return p>=0 && v-rs[p<<1] <= rs[(p<<1)+1];
+		}
+
+		@Override
+		long[] words() {
+			long[] ws = new long[WORDS];
+			for (int i=0; i<rs.length; i+=2) {
+				int from = rs[i];
+				int to = from+rs[i+1]+1;
+				int wf = from>>6;
+				int wt = (to-1)>>6;
+				long mf = -1l<<(from & 63);
+				long mt = -1l>>>(63-((to-1) & 63));
+				if (wf==wt) {
+					ws[wf] |= mf & mt;
+				} else {
+					ws[wf] |= mf;
+					for (int w=wf+1; w<wt; w++) {
+						ws[w] = -1l;
+					}
+					ws[wt] |= mt;
+				}
+			}
+			return ws;
+		}
+
+		@Override
+		int[] toArray(int hi) {
+			int[] rt = new int[size()];
+			int p = 0;
+			for (int i=0; i<rs.length; i+=2) {
+				for (int v=rs[i], to=v+rs[i+1]; v<=to; v++) {
+					rt[p++] = hi | v;
+				}
+			}
+			return rt;
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(rs);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof RunContainer && Arrays.equals(rs, ((RunContainer) obj).rs);
+		}
+		
+	}
+	
+}
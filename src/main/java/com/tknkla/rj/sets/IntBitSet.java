@@ -0,0 +1,219 @@
+/* MIT License
+ *
+ * Copyright (c) 2022 TKNKLA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.tknkla.rj.sets;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+import com.tknkla.rj.RJ;
+import com.tknkla.rj.SetOperator;
+
+/**
+ * An immutable set of non-negative <code>int</code>s expressed as a bitset (suitable for sets
+ * over a dense domain).
+ * 
+ * <p>Set operations are evaluated 64 items at a time as word-wise boolean operations.</p>
+ * 
+ * @author Timo Santasalo
+ * 
+ * @see RJ#merge(IntBitSet, IntBitSet, SetOperator)
+ * @see RJ#count(IntBitSet, IntBitSet, SetOperator)
+ * @since 1.2.0
+ */
+public final class IntBitSet {
+	
+	/**
+	 * An empty set.
+	 * @since 1.2.0
+	 */
+	public static final IntBitSet EMPTY = new IntBitSet(RJ.EMPTY_LONG);
+	
+	/**
+	 * Number of words processed as a single unit of (parallel) work.
+	 */
+	private static final int BLOCK = 64;
+	
+	private final long[] words;
+	
+	private IntBitSet(long[] words) {
+		this.words = words;
+	}
+	
+	/**
+	 * Creates a set from an array of words.
+	 * 
+	 * <p>The array is used as is (not copied) and must not be modified afterwards; trailing empty words are ignored.</p>
+	 * 
+	 * @param words Words of the bitset (item <code>v</code> is stored as bit <code>v&amp;63</code> of word <code>v&gt;&gt;6</code>).
+	 * @return A set.
+	 * @since 1.2.0
+	 */
+	public static IntBitSet wrap(long[] words) {
+		int ln = words.length;
+		while (ln>0 && words[ln-1]==0) {
+			ln--;
+		}
+		return ln==0 ? EMPTY : new IntBitSet(ln==words.length ? words : Arrays.copyOf(words, ln));
+	}
+	
+	/**
+	 * (P) Creates a set from a set expressed as an ordered array of (non-negative) <code>int</code>s.
+	 * 
+	 * @param vs A set (ordered in natural order).
+	 * @return A set.
+	 * @throws IllegalArgumentException If the set contains negative items.
+	 * @since 1.2.0
+	 */
+	public static IntBitSet of(int[] vs) {
+		if (vs.length==0) {
+			return EMPTY;
+		} else if (vs[0]<0) {
+			throw new IllegalArgumentException("Negative item: "+vs[0]);
+		}
+		long[] ws = new long[(vs[vs.length-1]>>6)+1];
+		RJ.execute(0, (ws.length+BLOCK-1)/BLOCK, (int b) -> {
+			int wto = Math.min(ws.length, (b+1)*BLOCK);
+			int p = b==0 ? 0 : ~RJ.search(0, vs.length, (int q) -> vs[q] < b*BLOCK*64 ? -1 : 1);
+			for (; p<vs.length && (vs[p]>>6)<wto; p++) {
+				ws[vs[p]>>6] |= 1l<<(vs[p]&63);
+			}
+		});
+		return new IntBitSet(ws);
+	}
+	
+	/**
+	 * (P) Creates a set of items within range <code>[0, ln)</code> which satisfy a predicate.
+	 * 
+	 * @param ln Size of the domain.
+	 * @param fn Predicate; returns true if the item is in the set.
+	 * @return A set.
+	 * @since 1.2.0
+	 */
+	public static IntBitSet of(int ln, IntPredicate fn) {
+		return wrap(RJ.populate((ln+63)>>6, (int w) -> {
+			long rt = 0;
+			for (int i=w<<6, n=Math.min(ln, (w+1)<<6); i<n; i++) {
+				if (fn.test(i)) {
+					rt |= 1l<<(i&63);
+				}
+			}
+			return rt;
+		}));
+	}
+	
+	/**
+	 * (P) Converts the set to a set expressed as an ordered array of <code>int</code>s.
+	 * 
+	 * @return A set (ordered in natural order).
+	 * @since 1.2.0
+	 */
+	public int[] toArray() {
+		return RJ.joinAsInt((words.length+BLOCK-1)/BLOCK, (int b) -> {
+			int wfrom = b*BLOCK;
+			int wto = Math.min(words.length, wfrom+BLOCK);
+			int n = 0;
+			for (int i=wfrom; i<wto; i++) {
+				n += Long.bitCount(words[i]);
+			}
+			int[] rt = new int[n];
+			int p = 0;
+			for (int i=wfrom; i<wto; i++) {
+				for (long w = words[i]; w!=0; w &= w-1) {
+					rt[p++] = (i<<6) | Long.numberOfTrailingZeros(w);
+				}
+			}
+			return rt;
+		});
+	}
+	
+	/**
+	 * Tests whether the set contains an item.
+	 * 
+	 * @param v Item.
+	 * @return True, if the set contains the item.
+	 * @since 1.2.0
+	 */
+	public boolean contains(int v) {
+		return v>=0 && (v>>6)<words.length && (words[v>>6] & (1l<<(v&63)))!=0;
+	}
+	
+	/**
+	 * (P) Returns the number of items in the set.
+	 * 
+	 * @return Number of items.
+	 * @since 1.2.0
+	 */
+	public int size() {
+		return RJ.execute(0, words.length, 0, (int p) -> Long.bitCount(words[p]), (int a, int b) -> a+b);
+	}
+	
+	/**
+	 * Returns the number of words of the set.
+	 * 
+	 * @return Number of words (one more than the index of the last non-empty word).
+	 * @since 1.2.0
+	 */
+	public int words() {
+		return words.length;
+	}
+	
+	/**
+	 * Returns the nth word of the set.
+	 * 
+	 * @param p Index of the word.
+	 * @return The word (zero if beyond the last non-empty word).
+	 * @since 1.2.0
+	 */
+	public long word(int p) {
+		return p<words.length ? words[p] : 0;
+	}
+	
+	/**
+	 * Applies the truth table of a set operation upon a pair of words.
+	 * 
+	 * @param a Left word.
+	 * @param b Right word.
+	 * @param op Set operation.
+	 * @return Result word.
+	 * @since 1.2.0
+	 */
+	public static long word(long a, long b, SetOperator op) {
+		return (op.left ? a & ~b : 0) | (op.right ? ~a & b : 0) | (op.both ? a & b : 0);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(words);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj==this || obj instanceof IntBitSet && Arrays.equals(words, ((IntBitSet) obj).words);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+	
+}
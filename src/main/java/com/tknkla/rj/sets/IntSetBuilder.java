@@ -0,0 +1,163 @@
+/* MIT License
+ *
+ * Copyright (c) 2022 TKNKLA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.tknkla.rj.sets;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+import com.tknkla.rj.RJ;
+import com.tknkla.rj.SetOperator;
+
+/**
+ * A mutable accumulator for building a set expressed as an ordered array of <code>int</code>s from
+ * unordered items.
+ * 
+ * <p>Items are buffered and each full buffer is sorted into a run; runs are kept in levels of
+ * (roughly) doubling size and merged when a level is occupied, so that the amortized cost of an
+ * insert is logarithmic. Equivalent items are merged so that the earlier inserted item is always the
+ * left argument of the merge function.</p>
+ * 
+ * @author Timo Santasalo
+ * 
+ * @see RJ#order(int, java.util.function.IntUnaryOperator, IntBinaryOperator, IntBinaryOperator)
+ * @see RJ#merge(int[], int[], IntBinaryOperator, IntBinaryOperator, SetOperator)
+ * @since 1.2.0
+ */
+public final class IntSetBuilder {
+	
+	/**
+	 * Default size of the buffer.
+	 */
+	private static final int BATCH = 1024;
+	
+	private final IntBinaryOperator cmp;
+	private final IntBinaryOperator fm;
+	private final int[] buf;
+	private int n;
+	private int[][] runs;
+	
+	/**
+	 * Creates a builder with the default buffer size.
+	 * 
+	 * @param cmp Comparator.
+	 * @param fm Merge function (for combining equivalent items).
+	 * @since 1.2.0
+	 */
+	public IntSetBuilder(IntBinaryOperator cmp, IntBinaryOperator fm) {
+		this(cmp, fm, BATCH);
+	}
+	
+	/**
+	 * Creates a builder.
+	 * 
+	 * @param cmp Comparator.
+	 * @param fm Merge function (for combining equivalent items).
+	 * @param batch Size of the buffer (number of items sorted at once).
+	 * @since 1.2.0
+	 */
+	public IntSetBuilder(IntBinaryOperator cmp, IntBinaryOperator fm, int batch) {
+		if (batch<1) {
+			throw new IllegalArgumentException("Invalid batch size: "+batch);
+		}
+		this.cmp = cmp;
+		this.fm = fm;
+		this.buf = new int[batch];
+		this.runs = new int[0][];
+	}
+	
+	/**
+	 * Adds an item.
+	 * 
+	 * @param v Item.
+	 * @return This builder.
+	 * @since 1.2.0
+	 */
+	public IntSetBuilder add(int v) {
+		buf[n++] = v;
+		if (n==buf.length) {
+			flush();
+		}
+		return this;
+	}
+	
+	/**
+	 * Adds a number of items.
+	 * 
+	 * @param vs Items (in order of insertion).
+	 * @return This builder.
+	 * @since 1.2.0
+	 */
+	public IntSetBuilder add(int[] vs) {
+		for (int v : vs) {
+			add(v);
+		}
+		return this;
+	}
+	
+	/**
+	 * (P) Returns the accumulated set; the builder remains usable.
+	 * 
+	 * <p>All runs are merged into one, so subsequent calls without further inserts are cheap.</p>
+	 * 
+	 * @return A set (ordered by the comparator).
+	 * @since 1.2.0
+	 */
+	public int[] toArray() {
+		flush();
+		int[] rt = null;
+		for (int i=runs.length-1; i>=0; i--) {
+			if (runs[i]!=null) {
+				rt = rt==null ? runs[i] : RJ.merge(rt, runs[i], cmp, fm, SetOperator.UNION);
+				runs[i] = null;
+			}
+		}
+		if (rt==null) {
+			return RJ.EMPTY_INT;
+		}
+		runs[runs.length-1] = rt;
+		return rt;
+	}
+
+	/**
+	 * Sorts the buffer into a run and merges it into the levels.
+	 */
+	private void flush() {
+		if (n==0) {
+			return;
+		}
+		int[] r = RJ.order(n, (int p) -> buf[p], cmp, fm);
+		n = 0;
+		for (int i=0; ; i++) {
+			if (i==runs.length) {
+				runs = Arrays.copyOf(runs, i+1);
+			}
+			if (runs[i]==null) {
+				runs[i] = r;
+				return;
+			}
+			r = RJ.merge(runs[i], r, cmp, fm, SetOperator.UNION);
+			runs[i] = null;
+		}
+	}
+
+}
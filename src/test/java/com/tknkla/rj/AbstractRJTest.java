@@ -22,20 +22,47 @@
  */
 package com.tknkla.rj;
 
+import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
 import java.util.Random;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
 import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import com.tknkla.rj.functions.IntBinaryPredicate;
+import com.tknkla.rj.functions.MemoizedBiFunction;
+import com.tknkla.rj.graphs.Certificate;
+import com.tknkla.rj.graphs.GraphFiles;
+import com.tknkla.rj.graphs.IntMatrix;
+import com.tknkla.rj.graphs.IntSparseGraph;
+import com.tknkla.rj.graphs.LongMatrix;
+import com.tknkla.rj.graphs.LongSparseGraph;
 import com.tknkla.rj.groups.GroupOperator;
 import com.tknkla.rj.groups.IntGroupOperator;
 import com.tknkla.rj.groups.LongGroupOperator;
+import com.tknkla.rj.groups.WideGroupOperator;
+import com.tknkla.rj.sets.CompressedIntSet;
+import com.tknkla.rj.sets.IntBitSet;
+import com.tknkla.rj.sets.IntSetBuilder;
+import com.tknkla.rj.sets.LongSetBuilder;
+import com.tknkla.rj.sets.SetBuilder;
 
 public abstract class AbstractRJTest extends TestSupport {
 
@@ -219,6 +246,719 @@ public abstract class AbstractRJTest extends TestSupport {
 		}
 	}
 
+	/**
+	 * Reference implementation of propagation (a lexicographic comparator over all cells).
+	 */
+	private static int[][] referencePropagate(int[][] src, IntBinaryOperator fg, IntBinaryOperator cmp) {
+		while (true) {
+			int[][] _src = src;
+			int[][] nsrc = RJ.groups(src, (int a, int b) -> {
+				for (int i=_src.length-1; i>=0; i--) {
+					int rt = 0;
+					for (int c : _src[i]) {
+						rt += fg.applyAsInt(a, c) - fg.applyAsInt(b, c);
+					}
+					if (rt!=0) {
+						return rt;
+					}
+				}
+				return 0;
+			}, cmp);
+			if (nsrc.length==src.length) {
+				return src;
+			}
+			src = nsrc;
+		}
+	}
+	
+	public void testPropagate(int ln, int k, int w, Random rnd) {
+		int[] cs = RJ.populate(ln, (int p) -> rnd.nextInt(k));
+		testPropagate(RJ.populate(ln, ln, (int a, int b) -> rnd.nextInt(w)),
+				RJ.groups(ln, (int p) -> p, (int a, int b) -> Integer.compare(cs[a], cs[b]), null));
+	}
+	
+	public void testPropagate(int[][] g, int[][] src) {
+		IntBinaryOperator fg = (int a, int b) -> g[a][b];
+		for (IntBinaryOperator cmp : new IntBinaryOperator[] { null, (int a, int b) -> Integer.compare(b, a) }) {
+			int[][] ev = referencePropagate(src, fg, cmp);
+			assertEquals(ev,
+					RJ.propagate(src, fg, cmp, IntGroupOperator.ADDITIVE, null),
+					RJ.propagate(toLong(src), (long a, long b) -> g[(int)a][(int)b],
+							cmp==null ? null : (long a, long b) -> Long.compare(b, a), LongGroupOperator.ADDITIVE, null),
+					RJ.propagate(BigInteger.class, toBigInteger(src), (BigInteger a, BigInteger b) -> BigInteger.valueOf(g[a.intValue()][b.intValue()]),
+							cmp==null ? null : Comparator.reverseOrder(), GroupOperator.BIGINTEGER_ADDITIVE, null));
+			assertArrayEquals(toLong(ev), RJ.propagate(toLong(src), (long a, long b) -> g[(int)a][(int)b],
+					cmp==null ? null : (long a, long b) -> Long.compare(b, a), WideGroupOperator.ADDITIVE, null));
+		}
+	}
+	
+	@Test
+	public void testPropagate() {
+		Random rnd = new Random(0);
+		for (int i=0; i<20; i++) {
+			testPropagate(2+rnd.nextInt(24), 1+rnd.nextInt(3), 1+rnd.nextInt(3), rnd);
+		}
+		testPropagate(RJ.populate(30, 30, (int a, int b) -> Math.abs(a-b)==1 ? 1 : 0), new int[][] { RJ.populate(30, (int p) -> p) });
+		testPropagate(RJ.populate(30, 30, (int a, int b) -> Math.abs(a-b)==1 || a+b==4 ? 1 : 0), new int[][] { RJ.populate(30, (int p) -> p) });
+	}
+
+	/**
+	 * Group operator over pairs of 16-bit lanes (packed in an <code>int</code>), which ignores the lower lane
+	 * in comparisons (distinct elements may be equivalent).
+	 */
+	private static final IntGroupOperator COARSE = new IntGroupOperator() {
+		
+		@Override
+		public int signum(int v) {
+			return Integer.signum((v+0x8000)>>16);
+		}
+		
+		@Override
+		public int identityAsInt() {
+			return 0;
+		}
+		
+		@Override
+		public int applyAsInt(int a, int b) {
+			return a+b;
+		}
+
+		@Override
+		public int cancelAsInt(int a, int b) {
+			return a-b;
+		}
+
+	};
+	
+	public void testPropagateCoarse(int ln, int k, int w, Random rnd) {
+		int[] cs = RJ.populate(ln, (int p) -> rnd.nextInt(k));
+		int[][] src = RJ.groups(ln, (int p) -> p, (int a, int b) -> Integer.compare(cs[a], cs[b]), null);
+		int[][] g = RJ.populate(ln, ln, (int a, int b) -> rnd.nextInt(w));
+		int[][] n = RJ.populate(ln, ln, (int a, int b) -> rnd.nextInt(64)-32);
+		IntBinaryOperator fg = (int a, int b) -> (g[a][b]<<16) + n[a][b];
+		for (IntBinaryOperator cmp : new IntBinaryOperator[] { null, (int a, int b) -> Integer.compare(b, a) }) {
+			int[][] ev = RJ.propagate(src, (int a, int b) -> g[a][b], cmp, IntGroupOperator.ADDITIVE, null);
+			assertArrayEquals(ev, RJ.propagate(src, fg, cmp, COARSE, null));
+			assertArrayEquals(ev, RJ.propagate(src, IntSparseGraph.of(ln, fg, 0), cmp, COARSE, null));
+		}
+	}
+
+	@Test
+	public void testPropagateCoarse() {
+		Random rnd = new Random(0);
+		for (int i=0; i<20; i++) {
+			testPropagateCoarse(2+rnd.nextInt(24), 1+rnd.nextInt(3), 1+rnd.nextInt(3), rnd);
+		}
+	}
+
+	public void testSparseGraph(int ln, int e, int w, int d, Random rnd) {
+		int[] from = RJ.populate(e, (int p) -> rnd.nextInt(ln));
+		int[] to = RJ.populate(e, (int p) -> rnd.nextInt(ln));
+		int[][] g = RJ.populate(ln, ln, (int a, int b) -> d);
+		for (int i=0; i<e; i++) {
+			g[from[i]][to[i]] = d+1+rnd.nextInt(w);
+		}
+		IntBinaryOperator fg = (int a, int b) -> g[a][b];
+		IntSparseGraph ig = IntSparseGraph.of(ln, fg, d);
+		LongSparseGraph lg = LongSparseGraph.of(ln, (int a, int b) -> g[a][b], d);
+		int[] ps = RJ.joinAsInt(ln, (int a) -> RJ.joinAsInt(ln, (int b) -> g[a][b]==d ? RJ.EMPTY_INT : new int[] { a*ln+b }));
+		IntSparseGraph eg = IntSparseGraph.of(ln, RJ.populate(ps.length, (int p) -> ps[ps.length-p-1]/ln), RJ.populate(ps.length, (int p) -> ps[ps.length-p-1]%ln),
+				RJ.populate(ps.length, (int p) -> g[ps[ps.length-p-1]/ln][ps[ps.length-p-1]%ln]), d);
+		assertEquals(ps.length, ig.edges());
+		for (int a=0; a<ln; a++) {
+			for (int b=0; b<ln; b++) {
+				assertEquals(g[a][b], ig.applyAsInt(a, b));
+				assertEquals(g[a][b], eg.applyAsInt(a, b));
+				assertEquals(g[a][b], lg.applyAsLong(a, b));
+			}
+		}
+		int[] cs = RJ.populate(ln, (int p) -> rnd.nextInt(2));
+		int[][] src = RJ.groups(ln, (int p) -> p, (int a, int b) -> Integer.compare(cs[a], cs[b]), null);
+		for (IntBinaryOperator cmp : new IntBinaryOperator[] { null, (int a, int b) -> Integer.compare(b, a) }) {
+			int[][] ev = RJ.propagate(src, fg, cmp, IntGroupOperator.ADDITIVE, null);
+			assertArrayEquals(ev, RJ.propagate(src, ig, cmp, IntGroupOperator.ADDITIVE, null));
+			assertArrayEquals(ev, RJ.propagate(src, lg, cmp, LongGroupOperator.ADDITIVE, null));
+		}
+		for (int a=0; a<ln; a++) {
+			for (int b=0; b<ln; b++) {
+				int ev = RJ.compare(a, b, src, fg, IntGroupOperator.ADDITIVE);
+				assertEquals(ev, RJ.compare(a, b, src, ig, IntGroupOperator.ADDITIVE));
+				assertEquals(ev, RJ.compare(a, b, src, lg, LongGroupOperator.ADDITIVE));
+			}
+		}
+		assertArrayEquals(RJ.groups(src, fg, IntGroupOperator.ADDITIVE, null), RJ.groups(src, ig, IntGroupOperator.ADDITIVE, null));
+		int[] ev = RJ.order(src, fg, IntGroupOperator.ADDITIVE, null);
+		assertArrayEquals(ev, RJ.order(src, ig, IntGroupOperator.ADDITIVE, null));
+		assertArrayEquals(ev, RJ.order(src, lg, LongGroupOperator.ADDITIVE, null));
+	}
+
+	@Test
+	public void testSparseGraph() {
+		Random rnd = new Random(0);
+		for (int i=0; i<20; i++) {
+			int ln = 1+rnd.nextInt(16);
+			testSparseGraph(ln, rnd.nextInt(ln*2+1), 1+rnd.nextInt(2), rnd.nextInt(3)-1, rnd);
+		}
+		IntSparseGraph pg = IntSparseGraph.of(30, (int a, int b) -> Math.abs(a-b)==1 ? 1 : 0, 0);
+		assertEquals(58, pg.edges());
+		assertArrayEquals(RJ.propagate(new int[][] { RJ.populate(30, (int p) -> p) }, (int a, int b) -> Math.abs(a-b)==1 ? 1 : 0, null, IntGroupOperator.ADDITIVE, null),
+				RJ.propagate(new int[][] { RJ.populate(30, (int p) -> p) }, pg, null, IntGroupOperator.ADDITIVE, null));
+	}
+
+	public void testMatrix(int ln, int w, Random rnd) {
+		int[][] g = RJ.populate(ln, ln, (int a, int b) -> rnd.nextInt(w)-w/2);
+		IntBinaryOperator fg = (int a, int b) -> g[a][b];
+		IntMatrix im = IntMatrix.of(ln, ln, fg);
+		ByteBuffer bb = ByteBuffer.allocateDirect(ln*ln*4);
+		for (int a=0; a<ln; a++) {
+			for (int b=0; b<ln; b++) {
+				bb.putInt((a*ln+b)*4, g[a][b]);
+			}
+		}
+		IntMatrix dm = IntMatrix.wrap(ln, ln, bb.asIntBuffer());
+		LongMatrix lm = LongMatrix.of(ln, ln, (int a, int b) -> g[a][b]);
+		assertEquals(ln, im.rows());
+		assertEquals(ln, dm.columns());
+		for (int a=0; a<ln; a++) {
+			for (int b=0; b<ln; b++) {
+				assertEquals(g[a][b], im.applyAsInt(a, b));
+				assertEquals(g[a][b], dm.applyAsInt(a, b));
+				assertEquals(g[a][b], lm.get(a, b));
+			}
+		}
+		int[] cs = RJ.populate(ln, (int p) -> rnd.nextInt(2));
+		int[][] src = RJ.groups(ln, (int p) -> p, (int a, int b) -> Integer.compare(cs[a], cs[b]), null);
+		long[][] lsrc = TestSupport.toLong(src);
+		for (IntGroupOperator go : new IntGroupOperator[] { IntGroupOperator.ADDITIVE, COARSE }) {
+			int[][] ev = RJ.propagate(src, fg, null, go, null);
+			assertArrayEquals(ev, RJ.propagate(src, im, null, go, null));
+			assertArrayEquals(ev, RJ.propagate(src, dm, null, go, null));
+		}
+		assertArrayEquals(RJ.propagate(lsrc, (long a, long b) -> g[(int) a][(int) b], null, LongGroupOperator.ADDITIVE, null),
+				RJ.propagate(lsrc, lm, null, LongGroupOperator.ADDITIVE, null));
+		assertArrayEquals(RJ.order(src, fg, IntGroupOperator.ADDITIVE, null), RJ.order(src, im, IntGroupOperator.ADDITIVE, null));
+		int k = 1+rnd.nextInt(3);
+		IntBinaryOperator fk = (int a, int b) -> a%k==b%k ? g[a%k][b%k] : 0;
+		IntMatrix km = IntMatrix.of(ln, ln, fk);
+		LongMatrix klm = LongMatrix.of(ln, ln, (int a, int b) -> fk.applyAsInt(a, b));
+		LongBinaryOperator lfk = (long a, long b) -> fk.applyAsInt((int) a, (int) b);
+		for (IntGroupOperator go : new IntGroupOperator[] { IntGroupOperator.ADDITIVE, COARSE }) {
+			assertArrayEquals(RJ.groups(src, fk, go, null), RJ.groups(src, km, go, null));
+		}
+		assertArrayEquals(RJ.groups(lsrc, lfk, LongGroupOperator.ADDITIVE, null), RJ.groups(lsrc, klm, LongGroupOperator.ADDITIVE, null));
+		assertArrayEquals(RJ.groups(lsrc, lfk, WideGroupOperator.ADDITIVE, null), RJ.groups(lsrc, klm, WideGroupOperator.ADDITIVE, null));
+	}
+
+	@Test
+	public void testMatrix() {
+		Random rnd = new Random(0);
+		for (int i=0; i<20; i++) {
+			testMatrix(1+rnd.nextInt(16), 1+rnd.nextInt(4), rnd);
+		}
+	}
+
+	@Test
+	public void testGraphFiles() throws IOException {
+		Random rnd = new Random(0);
+		int ln = 13;
+		int[][] g = RJ.populate(ln, ln, (int a, int b) -> rnd.nextInt(3)==0 ? rnd.nextInt(5)-2 : 0);
+		IntBinaryOperator fg = (int a, int b) -> g[a][b];
+		int[][] src = new int[][] { RJ.populate(ln, (int p) -> p) };
+		Path[] ps = new Path[6];
+		try {
+			for (int i=0; i<ps.length; i++) {
+				ps[i] = Files.createTempFile("rj", ".bin");
+			}
+			GraphFiles.write(ps[0], IntMatrix.of(ln, ln, fg));
+			GraphFiles.write(ps[1], LongMatrix.of(ln, ln, (int a, int b) -> g[a][b]));
+			GraphFiles.write(ps[2], IntSparseGraph.of(ln, fg, 0));
+			GraphFiles.write(ps[3], LongSparseGraph.of(ln, (int a, int b) -> g[a][b], 0));
+			IntMatrix im = GraphFiles.mapIntMatrix(ps[0]);
+			LongMatrix lm = GraphFiles.mapLongMatrix(ps[1]);
+			IntSparseGraph ig = GraphFiles.mapIntSparseGraph(ps[2]);
+			LongSparseGraph lg = GraphFiles.mapLongSparseGraph(ps[3]);
+			try {
+				GraphFiles.mapIntMatrix(ps[3]);
+				fail();
+			} catch (IOException e) {
+				// expected
+			}
+			byte[] bs = Files.readAllBytes(ps[2]);
+			ByteBuffer.wrap(bs).order(ByteOrder.nativeOrder()).putInt(32+(ln+1)*4, ln);
+			Files.write(ps[4], bs);
+			try {
+				GraphFiles.mapIntSparseGraph(ps[4]);
+				fail();
+			} catch (IOException e) {
+				// expected
+			}
+			bs = Files.readAllBytes(ps[3]);
+			ByteBuffer.wrap(bs).order(ByteOrder.nativeOrder()).putInt(36, ig.edges()+1);
+			Files.write(ps[4], bs);
+			try {
+				GraphFiles.mapLongSparseGraph(ps[4]);
+				fail();
+			} catch (IOException e) {
+				// expected
+			}
+			ByteBuffer bb = ByteBuffer.allocate(48).order(ByteOrder.BIG_ENDIAN);
+			bb.putInt(0x524a4731).putInt(0).putInt(0).putInt(2).putInt(2).putInt(0).putLong(0).putInt(1).putInt(-2).putInt(3).putInt(-4);
+			Files.write(ps[5], bb.array());
+			IntMatrix bm = GraphFiles.mapIntMatrix(ps[5]);
+			assertEquals(-2, bm.applyAsInt(0, 1));
+			assertEquals(3, bm.applyAsInt(1, 0));
+			for (int a=0; a<ln; a++) {
+				for (int b=0; b<ln; b++) {
+					assertEquals(g[a][b], im.applyAsInt(a, b));
+					assertEquals(g[a][b], lm.get(a, b));
+					assertEquals(g[a][b], ig.applyAsInt(a, b));
+					assertEquals(g[a][b], lg.applyAsLong(a, b));
+				}
+			}
+			int[] ev = RJ.order(src, fg, IntGroupOperator.ADDITIVE, null);
+			assertArrayEquals(ev, RJ.order(src, im, IntGroupOperator.ADDITIVE, null));
+			assertArrayEquals(ev, RJ.order(src, ig, IntGroupOperator.ADDITIVE, null));
+			assertArrayEquals(ev, RJ.order(src, lg, LongGroupOperator.ADDITIVE, null));
+			assertArrayEquals(TestSupport.toLong(ev), RJ.order(TestSupport.toLong(src), lm, LongGroupOperator.ADDITIVE, null));
+		} finally {
+			for (Path p : ps) {
+				if (p!=null) {
+					Files.delete(p);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testWideGroupOperator() {
+		WideGroupOperator g = WideGroupOperator.ADDITIVE;
+		long[] vs = new long[6];
+		g.identity(vs, 0);
+		g.apply(vs, 0, Long.MAX_VALUE);
+		g.apply(vs, 0, Long.MAX_VALUE);
+		g.apply(vs, 0, 2);
+		assertArrayEquals(new long[] { 1, 0 }, Arrays.copyOf(vs, 2));
+		g.apply(vs, 1, Long.MIN_VALUE);
+		g.apply(vs, 1, -1);
+		assertEquals(-1, vs[2]);
+		g.cancel(vs, 2, vs, 1, vs, 0);
+		assertEquals(BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE).subtract(BigInteger.ONE.shiftLeft(64)),
+				BigInteger.valueOf(vs[4]).shiftLeft(64).add(new BigInteger(Long.toUnsignedString(vs[5]))));
+		assertEquals(1, g.compare(vs, 0, vs, 1));
+		assertEquals(-1, g.compare(vs, 2, vs, 0));
+		assertEquals(0, g.compare(vs, 1, vs, 1));
+		g.apply(vs, 2, vs, 0);
+		assertEquals(0, g.compare(vs, 2, vs, 1));
+
+		Random rnd = new Random(0);
+		for (int i=0; i<10; i++) {
+			int ln = 2+rnd.nextInt(12);
+			long[][] w = new long[ln][];
+			for (int a=0; a<ln; a++) {
+				w[a] = RJ.populate(ln, (int b) -> rnd.nextInt(3)==0 ? Long.MAX_VALUE-rnd.nextInt(2) : Long.MIN_VALUE+rnd.nextInt(2));
+			}
+			long[][] src = new long[][] { RJ.populate(ln, (int p) -> (long) p) };
+			assertArrayEquals(toInt(RJ.propagate(BigInteger.class, toBigInteger(toInt(src)), (BigInteger a, BigInteger b) -> BigInteger.valueOf(w[a.intValue()][b.intValue()]),
+							null, GroupOperator.BIGINTEGER_ADDITIVE, null)),
+					toInt(RJ.propagate(src, (long a, long b) -> w[(int) a][(int) b], null, WideGroupOperator.ADDITIVE, null)));
+			assertArrayEquals(toInt(RJ.order(BigInteger.class, toBigInteger(toInt(src)), (BigInteger a, BigInteger b) -> BigInteger.valueOf(w[a.intValue()][b.intValue()]),
+							GroupOperator.BIGINTEGER_ADDITIVE, null)),
+					toInt(RJ.order(src, (long a, long b) -> w[(int) a][(int) b], WideGroupOperator.ADDITIVE, null)));
+		}
+	}
+
+	@Test
+	public void testAdditiveExact() {
+		Random rnd = new Random(0);
+		for (int i=0; i<10; i++) {
+			int ln = 2+rnd.nextInt(12);
+			int[][] w = RJ.populate(ln, ln, (int a, int b) -> rnd.nextInt(3)==0 ? Integer.MAX_VALUE-rnd.nextInt(2) : rnd.nextInt(3)-1);
+			long[][] lw = RJ.populate(long[].class, ln, (int a) -> RJ.populate(ln, (int b) -> w[a][b]==Integer.MAX_VALUE ? Long.MAX_VALUE : w[a][b]==Integer.MAX_VALUE-1 ? Long.MAX_VALUE-1 : w[a][b]));
+			int[][] src = new int[][] { RJ.populate(ln, (int p) -> p) };
+			int[][] ev = toInt(RJ.propagate(BigInteger.class, toBigInteger(src), (BigInteger a, BigInteger b) -> BigInteger.valueOf(w[a.intValue()][b.intValue()]),
+					null, GroupOperator.BIGINTEGER_ADDITIVE, null));
+			assertArrayEquals(ev, RJ.propagate(src, (int a, int b) -> w[a][b], null, IntGroupOperator.ADDITIVE_EXACT, null));
+			assertArrayEquals(ev, toInt(RJ.propagate(toLong(src), (long a, long b) -> lw[(int) a][(int) b], null, LongGroupOperator.ADDITIVE_EXACT, null)));
+			int[] eo = toInt(RJ.order(BigInteger.class, toBigInteger(src), (BigInteger a, BigInteger b) -> BigInteger.valueOf(w[a.intValue()][b.intValue()]),
+					GroupOperator.BIGINTEGER_ADDITIVE, null));
+			assertArrayEquals(eo, RJ.order(src, (int a, int b) -> w[a][b], IntGroupOperator.ADDITIVE_EXACT, null));
+			assertArrayEquals(eo, toInt(RJ.order(toLong(src), (long a, long b) -> lw[(int) a][(int) b], LongGroupOperator.ADDITIVE_EXACT, null)));
+		}
+		try {
+			IntGroupOperator.ADDITIVE_EXACT.applyAsInt(Integer.MAX_VALUE, 1);
+			fail();
+		} catch (ArithmeticException e) {
+			// expected
+		}
+		int ln = 6;
+		int[][] w = RJ.populate(ln, ln, (int a, int b) -> a==b ? 0 : Integer.MAX_VALUE);
+		int[][] src = new int[][] { RJ.populate(ln, (int p) -> p) };
+		for (int v : new int[] { 0, Integer.MAX_VALUE }) {
+			IntSparseGraph ig = IntSparseGraph.of(ln, (int a, int b) -> w[a][b], v);
+			LongSparseGraph lg = LongSparseGraph.of(ln, (int a, int b) -> w[a][b]==0 ? 0 : Long.MAX_VALUE, v==0 ? 0 : Long.MAX_VALUE);
+			Runnable[] rs = new Runnable[] {
+				() -> RJ.propagate(src, ig, null, IntGroupOperator.ADDITIVE_EXACT, null),
+				() -> RJ.compare(0, 1, src, ig, IntGroupOperator.ADDITIVE_EXACT),
+				() -> RJ.groups(src, ig, IntGroupOperator.ADDITIVE_EXACT, null),
+				() -> RJ.order(src, ig, IntGroupOperator.ADDITIVE_EXACT, null),
+				() -> RJ.propagate(src, lg, null, LongGroupOperator.ADDITIVE_EXACT, null),
+				() -> RJ.compare(0, 1, src, lg, LongGroupOperator.ADDITIVE_EXACT),
+				() -> RJ.groups(src, lg, LongGroupOperator.ADDITIVE_EXACT, null),
+				() -> RJ.order(src, lg, LongGroupOperator.ADDITIVE_EXACT, null)
+			};
+			for (Runnable r : rs) {
+				try {
+					r.run();
+					fail();
+				} catch (IllegalArgumentException e) {
+					// expected
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testRefinementListener() {
+		Random rnd = new Random(0);
+		int ln = 12;
+		int[][] g = RJ.populate(ln, ln, RJ.asOperator(RJ.randomUndirectedSymmetric(ln, Double.NaN, rnd)));
+		IntBinaryOperator fg = (int a, int b) -> g[a][b];
+		int[][] src = new int[][] { RJ.populate(ln, (int p) -> p) };
+		StringBuilder sb = new StringBuilder();
+		int[] ev = RJ.order(src, fg, IntGroupOperator.ADDITIVE, Integer::compare);
+		assertArrayEquals(ev, RJ.order(src, fg, IntGroupOperator.ADDITIVE, Integer::compare, new RefinementListener<Object>() {
+			
+			@Override
+			public void beforePropagate(Object src) {
+				sb.append('(');
+			}
+			
+			@Override
+			public void iterPropagate(Object src) {
+				sb.append('.');
+			}
+			
+			@Override
+			public void afterPropagate(Object src) {
+				sb.append(')');
+			}
+			
+			@Override
+			public void beforeGroups(Object src) {
+				sb.append('[');
+			}
+			
+			@Override
+			public void afterGroups(Object src) {
+				sb.append(']');
+			}
+			
+			@Override
+			public void beforePivot(Object src, int pv) {
+				assertTrue(((int[][]) src)[pv].length>1);
+				sb.append('<');
+			}
+			
+			@Override
+			public void afterPivot(Object src) {
+				sb.append('>');
+			}
+			
+		}));
+		String s = sb.toString();
+		assertTrue(s, s.matches("\\(\\.*\\)\\[\\](<\\(\\.*\\)>\\(\\.*\\)\\[\\])*"));
+		assertTrue(s, s.contains("<"));
+		assertArrayEquals(RJ.groups(src, fg, IntGroupOperator.ADDITIVE, null), RJ.groups(src, fg, IntGroupOperator.ADDITIVE, null, null));
+	}
+
+	@Test
+	public void testRefinementStatistics() {
+		Random rnd = new Random(0);
+		int ln = 12;
+		int[][] g = RJ.populate(ln, ln, RJ.asOperator(RJ.randomUndirectedSymmetric(ln, Double.NaN, rnd)));
+		IntBinaryOperator fg = (int a, int b) -> g[a][b];
+		int[][] src = new int[][] { RJ.populate(ln, (int p) -> p) };
+		RefinementStatistics st = new RefinementStatistics();
+		int[] ev = RJ.order(src, fg, IntGroupOperator.ADDITIVE, Integer::compare);
+		assertArrayEquals(ev, RJ.order(src, st.fgAsInt(fg), IntGroupOperator.ADDITIVE, st.cmpAsInt(Integer::compare), st));
+		assertTrue(st.getPivots()>0);
+		assertEquals(st.getPivots()*2+1, st.getPropagations());
+		assertEquals(st.getPivots()+1, st.getGroupings());
+		assertTrue(st.getCompares()>0);
+		assertTrue(st.getFgCalls()>0);
+		assertTrue(st.getCmpCalls()>0);
+		assertTrue(st.getSplits()>=st.getIterations());
+		assertTrue(st.getPropagateNanos()>0 && st.getGroupsNanos()>0 && st.getPivotNanos()>0);
+		st.reset();
+		assertEquals(0, st.getFgCalls());
+		RJ.propagate(toLong(src), st.fgAsLong((long a, long b) -> g[(int) a][(int) b]), null, LongGroupOperator.ADDITIVE, null, st);
+		assertEquals(1, st.getPropagations());
+		assertEquals(st.getSplits(), RJ.propagate(src, fg, null, IntGroupOperator.ADDITIVE, null).length-1);
+	}
+
+	@Test
+	public void testOrderIncremental() {
+		Random rnd = new Random(0);
+		for (int i=0; i<5; i++) {
+			int ln = 4+rnd.nextInt(12);
+			int[][] g = RJ.populate(ln, ln, RJ.asOperator(RJ.randomUndirectedSymmetric(ln, Double.NaN, rnd)));
+			int[] cs = RJ.populate(ln, (int p) -> rnd.nextInt(2));
+			int[][] src = RJ.groups(ln, (int p) -> p, (int a, int b) -> Integer.compare(cs[a], cs[b]), null);
+			RefinementStatistics si = new RefinementStatistics();
+			RefinementStatistics sl = new RefinementStatistics();
+			int[] ev = RJ.order(src, si.fgAsInt((int a, int b) -> g[a][b]), IntGroupOperator.ADDITIVE, Integer::compare, si);
+			assertArrayEquals(ev, toInt(RJ.order(toLong(src), sl.fgAsLong((long a, long b) -> g[(int) a][(int) b]), LongGroupOperator.ADDITIVE, Long::compare, sl)));
+			assertEquals(sl.getPivots(), si.getPivots());
+			assertTrue(si.getFgCalls()<=sl.getFgCalls());
+		}
+	}
+
+	@Test
+	public void testAutomorphisms() {
+		Random rnd = new Random(0);
+		for (int i=0; i<6; i++) {
+			int ln = 6+rnd.nextInt(10);
+			int[][] g = i==0
+					? RJ.populate(ln, ln, (int a, int b) -> Math.abs(a-b)==1 || Math.abs(a-b)==ln-1 ? 1 : 0)
+					: RJ.populate(ln, ln, RJ.asOperator(RJ.randomUndirectedSymmetric(ln, Double.NaN, rnd)));
+			IntBinaryOperator fg = (int a, int b) -> g[a][b];
+			int[][] src = new int[][] { RJ.populate(ln, (int p) -> p) };
+			RefinementStatistics se = new RefinementStatistics();
+			RefinementStatistics sa = new RefinementStatistics();
+			Automorphisms fa = new Automorphisms();
+			int[] ev = RJ.order(src, fg, IntGroupOperator.ADDITIVE, Integer::compare, se);
+			assertArrayEquals(ev, RJ.order(src, fg, IntGroupOperator.ADDITIVE, Integer::compare, sa, fa));
+			assertTrue(sa.getCompares()<=se.getCompares());
+			int[] ss = fa.symbols();
+			for (int[] gs : fa.generators()) {
+				for (int a=0; a<ln; a++) {
+					for (int b=0; b<ln; b++) {
+						assertEquals(g[ss[a]][ss[b]], g[gs[a]][gs[b]]);
+					}
+				}
+			}
+			if (i==0) {
+				assertTrue(sa.getCompares()<se.getCompares());
+				assertArrayEquals(src, fa.orbits());
+			}
+			IntSparseGraph ig = IntSparseGraph.of(ln, fg, 0);
+			LongSparseGraph lg = LongSparseGraph.of(ln, (int a, int b) -> g[a][b], 0);
+			Automorphisms fi = new Automorphisms();
+			Automorphisms fl = new Automorphisms();
+			assertArrayEquals(RJ.order(src, ig, IntGroupOperator.ADDITIVE, Integer::compare),
+					RJ.order(src, ig, IntGroupOperator.ADDITIVE, Integer::compare, null, fi));
+			assertArrayEquals(RJ.order(src, lg, LongGroupOperator.ADDITIVE, Integer::compare),
+					RJ.order(src, lg, LongGroupOperator.ADDITIVE, Integer::compare, null, fl));
+			for (Automorphisms fs : new Automorphisms[] { fi, fl }) {
+				for (int[] gs : fs.generators()) {
+					for (int a=0; a<ln; a++) {
+						for (int b=0; b<ln; b++) {
+							assertEquals(g[ss[a]][ss[b]], g[gs[a]][gs[b]]);
+						}
+					}
+				}
+			}
+			if (i==0) {
+				assertArrayEquals(src, fi.orbits());
+			}
+		}
+		for (int k=2; k<6; k++) {
+			int ln = 12;
+			int m = k;
+			IntBinaryOperator fg = (int a, int b) -> a%m==b%m ? 1 : 0;
+			int[][] src = new int[][] { RJ.populate(ln, (int p) -> p) };
+			Automorphisms fa = new Automorphisms();
+			assertArrayEquals(RJ.order(src, fg, IntGroupOperator.ADDITIVE, Integer::compare),
+					RJ.order(src, fg, IntGroupOperator.ADDITIVE, Integer::compare, null, fa));
+			int[] ss = fa.symbols();
+			for (int[] gs : fa.generators()) {
+				assertArrayEquals(ss, RJ.order(ln, (int p) -> gs[p], Integer::compare, (int a, int b) -> a));
+				for (int a=0; a<ln; a++) {
+					for (int b=0; b<ln; b++) {
+						assertEquals(fg.applyAsInt(ss[a], ss[b]), fg.applyAsInt(gs[a], gs[b]));
+					}
+				}
+			}
+			for (int[] os : fa.orbits()) {
+				for (int o : os) {
+					assertEquals(ln/m+(os[0]%m<ln%m ? 1 : 0), ln/m+(o%m<ln%m ? 1 : 0));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCellSelector() {
+		Random rnd = new Random(0);
+		CellSelector[] fcs = new CellSelector[] { CellSelector.LAST, CellSelector.FIRST, CellSelector.FIRST_SMALLEST, CellSelector.FIRST_LARGEST, CellSelector.MOST_CONNECTED };
+		for (int i=0; i<6; i++) {
+			int ln = 6+rnd.nextInt(10);
+			int[] oa = RJ.populate(ln, (int p) -> p);
+			int[] ob = RJ.populate(ln, (int p) -> p);
+			RJ.shuffle(oa, rnd);
+			RJ.shuffle(ob, rnd);
+			int[][] g = RJ.populate(ln, ln, RJ.asOperator(RJ.randomUndirected(ln, Double.NaN, Double.NaN, rnd)));
+			IntBinaryOperator fa = (int a, int b) -> g[oa[a]][oa[b]];
+			IntBinaryOperator fb = (int a, int b) -> g[ob[a]][ob[b]];
+			int[][] src = new int[][] { RJ.populate(ln, (int p) -> p) };
+			assertArrayEquals(RJ.order(src, fa, IntGroupOperator.ADDITIVE, Integer::compare),
+					RJ.order(src, fa, IntGroupOperator.ADDITIVE, Integer::compare, null, null, CellSelector.LAST));
+			for (CellSelector fc : fcs) {
+				int[] ra = RJ.order(src, fa, IntGroupOperator.ADDITIVE, Integer::compare, null, null, fc);
+				int[] rb = RJ.order(src, fb, IntGroupOperator.ADDITIVE, Integer::compare, null, null, fc);
+				assertArrayEquals(ra, RJ.order(src, fa, IntGroupOperator.ADDITIVE, Integer::compare, null, new Automorphisms(), fc));
+				for (int a=0; a<ln; a++) {
+					for (int b=0; b<ln; b++) {
+						assertEquals(fa.applyAsInt(ra[a], ra[b]), fb.applyAsInt(rb[a], rb[b]));
+					}
+				}
+				IntSparseGraph ia = IntSparseGraph.of(ln, fa, 0);
+				IntSparseGraph ib = IntSparseGraph.of(ln, fb, 0);
+				int[] sa = RJ.order(src, ia, IntGroupOperator.ADDITIVE, Integer::compare, null, null, fc);
+				int[] sb = RJ.order(src, ib, IntGroupOperator.ADDITIVE, Integer::compare, null, null, fc);
+				assertArrayEquals(sa, RJ.order(src, ia, IntGroupOperator.ADDITIVE, Integer::compare, null, new Automorphisms(), fc));
+				assertArrayEquals(sa, RJ.order(src, LongSparseGraph.of(ln, (int a, int b) -> fa.applyAsInt(a, b), 0), LongGroupOperator.ADDITIVE, Integer::compare, null, null, fc));
+				for (int a=0; a<ln; a++) {
+					for (int b=0; b<ln; b++) {
+						assertEquals(fa.applyAsInt(sa[a], sa[b]), fb.applyAsInt(sb[a], sb[b]));
+					}
+				}
+			}
+			assertArrayEquals(RJ.order(src, IntSparseGraph.of(ln, fa, 0), IntGroupOperator.ADDITIVE, Integer::compare),
+					RJ.order(src, IntSparseGraph.of(ln, fa, 0), IntGroupOperator.ADDITIVE, Integer::compare, null, null, CellSelector.LAST));
+		}
+	}
+
+	@Test
+	public void testCertificate() {
+		Random rnd = new Random(0);
+		for (int i=0; i<6; i++) {
+			int ln = 2+rnd.nextInt(40);
+			int[] oa = RJ.populate(ln, (int p) -> p);
+			int[] ob = RJ.populate(ln, (int p) -> p);
+			RJ.shuffle(oa, rnd);
+			RJ.shuffle(ob, rnd);
+			int[][] g = RJ.populate(ln, ln, RJ.asOperator(RJ.randomUndirected(ln, Double.NaN, Double.NaN, rnd)));
+			IntBinaryPredicate pa = (int a, int b) -> g[oa[a]][oa[b]]!=0;
+			IntBinaryPredicate pb = (int a, int b) -> g[ob[a]][ob[b]]!=0;
+			int[][] src = new int[][] { RJ.populate(ln, (int p) -> p) };
+			int[] ra = RJ.order(src, RJ.asOperator(pa), IntGroupOperator.ADDITIVE, null);
+			int[] rb = RJ.order(src, RJ.asOperator(pb), IntGroupOperator.ADDITIVE, null);
+			
+			Certificate ca = Certificate.ofUndirected(ra, pa, true);
+			assertEquals(ca, Certificate.ofUndirected(rb, pb, true));
+			assertEquals(ca.toString(), Certificate.ofUndirected(rb, pb, false).toString());
+			assertEquals(ca, Certificate.ofUndirected(rb, pb, false));
+			assertEquals(Certificate.ofUndirected(rb, pb, false), ca);
+			BigInteger ev = RJ.encodeUndirected(ln, (int a, int b) -> pa.test(ra[a], ra[b]));
+			BitSet bs = BitSet.valueOf(ca.form());
+			assertEquals(ev.bitLength(), bs.length());
+			for (int b=0; b<ev.bitLength(); b++) {
+				assertEquals(ev.testBit(b), bs.get(b));
+			}
+			
+			Certificate wa = Certificate.of(ra, RJ.asOperator(pa), true);
+			assertEquals(wa, Certificate.of(rb, RJ.asOperator(pb), true));
+			assertTrue(wa.high()!=ca.high() || wa.low()!=ca.low());
+			for (int e=0; e<ln*ln; e++) {
+				long w = wa.form()[e>>1];
+				assertEquals(pa.test(ra[e/ln], ra[e%ln]) ? 1 : 0, (int)((e&1)==0 ? w>>>32 : w));
+			}
+			
+			int x = ra[0];
+			int y = ra[ln-1];
+			IntBinaryPredicate pc = (int a, int b) -> (a==x && b==y) || (a==y && b==x) ? !pa.test(a, b) : pa.test(a, b);
+			int[] rc = RJ.order(src, RJ.asOperator(pc), IntGroupOperator.ADDITIVE, null);
+			assertTrue(!ca.equals(Certificate.ofUndirected(rc, pc, false)));
+		}
+		
+		int ln = 48;
+		int[] os = RJ.populate(ln, (int p) -> p);
+		RJ.shuffle(os, rnd);
+		int[] is = new int[ln];
+		for (int i=0; i<ln; i++) {
+			is[os[i]] = i;
+		}
+		int[][] g = RJ.populate(ln, ln, RJ.asOperator(RJ.randomUndirected(ln, Double.NaN, Double.NaN, rnd)));
+		IntBinaryPredicate pg = (int a, int b) -> g[a][b]!=0;
+		IntBinaryPredicate pa = (int a, int b) -> g[os[a]][os[b]]!=0;
+		int[] id = RJ.populate(ln, (int p) -> p);
+		assertEquals(Certificate.ofUndirected(id, pg, true), Certificate.ofUndirected(is, pa, true));
+		assertEquals(Certificate.of(id, RJ.asOperator(pg), false), Certificate.of(is, RJ.asOperator(pa), false));
+	}
+
+	@Test
+	public void testGroupsCompares() {
+		int ln = 12;
+		IntBinaryOperator fg = (int a, int b) -> Math.abs(a-b)==1 || Math.abs(a-b)==ln-1 ? 1 : 0;
+		int[][] src = new int[][] { RJ.populate(ln, (int p) -> p) };
+		RefinementStatistics st = new RefinementStatistics();
+		assertArrayEquals(src, RJ.groups(src, fg, IntGroupOperator.ADDITIVE, null, st));
+		assertEquals(ln-1, st.getCompares());
+		st.reset();
+		int[][] ps = RJ.populate(ln, ln, (int a, int b) -> Math.abs(a-b)==1 ? 1 : 0);
+		int[][] ev = RJ.groups(src, (int a, int b) -> ps[a][b], IntGroupOperator.ADDITIVE, null, st);
+		assertEquals(ln/2, ev.length);
+		assertTrue(st.getCompares()<=ln*3);
+		Random rnd = new Random(0);
+		for (int i=0; i<5; i++) {
+			int[][] rg = RJ.populate(ln, ln, RJ.asOperator(RJ.randomUndirectedSymmetric(ln, Double.NaN, rnd)));
+			IntBinaryOperator rfg = (int a, int b) -> rg[a][b];
+			int[][] rs = RJ.propagate(src, rfg, null, IntGroupOperator.ADDITIVE, null);
+			assertArrayEquals(RJ.groups(rs, (int a, int b) -> RJ.compare(a, b, rs, rfg, IntGroupOperator.ADDITIVE), null),
+					RJ.groups(src, rfg, IntGroupOperator.ADDITIVE, null));
+		}
+	}
+
+	@Test
+	public void testCompareGeneric() {
+		Random rnd = new Random(0);
+		for (int i=0; i<5; i++) {
+			int ln = 2+rnd.nextInt(10);
+			int[][] g = RJ.populate(ln, ln, RJ.asOperator(RJ.randomUndirectedSymmetric(ln, Double.NaN, rnd)));
+			int[] cs = RJ.populate(ln-1, (int p) -> rnd.nextInt(2));
+			int[][] src = RJ.groups(ln-1, (int p) -> p, (int a, int b) -> Integer.compare(cs[a], cs[b]), null);
+			BigInteger[][] bsrc = toBigInteger(src);
+			BigInteger[] syms = new BigInteger[ln];
+			for (BigInteger[] ks : bsrc) {
+				for (BigInteger k : ks) {
+					syms[k.intValue()] = k;
+				}
+			}
+			syms[ln-1] = BigInteger.valueOf(ln-1);
+			for (int a=0; a<ln; a++) {
+				for (int b=0; b<ln; b++) {
+					assertEquals(RJ.compare(a, b, src, (int u, int v) -> g[u][v], IntGroupOperator.ADDITIVE),
+							RJ.compare(BigInteger.class, syms[a], syms[b], bsrc,
+									(BigInteger u, BigInteger v) -> BigInteger.valueOf(g[u.intValue()][v.intValue()]), GroupOperator.BIGINTEGER_ADDITIVE));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testMemoizedBiFunction() {
+		Random rnd = new Random(0);
+		int ln = 10;
+		int[][] g = RJ.populate(ln, ln, RJ.asOperator(RJ.randomUndirectedSymmetric(ln, Double.NaN, rnd)));
+		BigInteger[][] src = toBigInteger(new int[][] { RJ.populate(ln, (int p) -> p) });
+		BiFunction<BigInteger,BigInteger,BigInteger> fg = (BigInteger a, BigInteger b) -> BigInteger.valueOf(g[a.intValue()][b.intValue()]);
+		RefinementStatistics sa = new RefinementStatistics();
+		RefinementStatistics sb = new RefinementStatistics();
+		BigInteger[] ev = RJ.order(BigInteger.class, src, sa.fg(fg), GroupOperator.BIGINTEGER_ADDITIVE, Comparator.naturalOrder());
+		MemoizedBiFunction<BigInteger,BigInteger,BigInteger> mf = MemoizedBiFunction.of(sb.fg(fg), 1024, MemoizedBiFunction.Eviction.LRU, 4);
+		assertArrayEquals(ev, RJ.order(BigInteger.class, src, mf, GroupOperator.BIGINTEGER_ADDITIVE, Comparator.naturalOrder()));
+		assertEquals(ln*ln, mf.size());
+		assertTrue(sb.getFgCalls()<sa.getFgCalls()/4);
+		for (MemoizedBiFunction.Eviction ev2 : MemoizedBiFunction.Eviction.values()) {
+			MemoizedBiFunction<BigInteger,BigInteger,BigInteger> bf = MemoizedBiFunction.of(fg, 16, ev2, 4);
+			assertArrayEquals(ev, RJ.order(BigInteger.class, src, bf, GroupOperator.BIGINTEGER_ADDITIVE, Comparator.naturalOrder()));
+			assertTrue(bf.size()<=16);
+			bf.clear();
+			assertEquals(0, bf.size());
+		}
+	}
+
 	@Test
 	public void testWrap() {
 		assertArrayEquals(new String[] { "x" }, RJ.wrap(String.class, "x"));
@@ -257,6 +997,17 @@ public abstract class AbstractRJTest extends TestSupport {
 				RJ.merge(BigInteger.class, toBigInteger(a),toBigInteger(b), Comparator.naturalOrder(), 
 						(BigInteger u, BigInteger v) -> u, op));
 		
+		assertEquals(expected.length>0, RJ.test(a, b, Integer::compare, op));
+		assertEquals(expected.length>0, RJ.test(toLong(a), toLong(b), Long::compare, op));
+		assertEquals(expected.length>0, RJ.test(toBigInteger(a), toBigInteger(b), Comparator.naturalOrder(), op));
+		assertEquals(expected.length, RJ.count(a, b, Integer::compare, op));
+		assertEquals(expected.length, RJ.count(toLong(a), toLong(b), Long::compare, op));
+		assertEquals(expected.length, RJ.count(toBigInteger(a), toBigInteger(b), Comparator.naturalOrder(), op));
+		assertEquals(expected,
+				fromProvenance(RJ.provenance(a, b, Integer::compare, op), a, b),
+				toLong(fromProvenance(RJ.provenance(toLong(a), toLong(b), Long::compare, op), a, b)),
+				toBigInteger(fromProvenance(RJ.provenance(toBigInteger(a), toBigInteger(b), Comparator.naturalOrder(), op), a, b)));
+		
 		if (op.left == op.right) {
 			assertEquals(expected,
 					RJ.merge(2, (int p) -> p==0 ? a : b, Integer::compare,
@@ -265,9 +1016,22 @@ public abstract class AbstractRJTest extends TestSupport {
 							(long u, long v) -> u, op),
 					RJ.merge(BigInteger.class, 2, (int p) -> toBigInteger(p==0 ? a : b), Comparator.naturalOrder(), 
 							(BigInteger u, BigInteger v) -> u, op));
+			assertEquals(expected.length, RJ.count(2, (int p) -> p==0 ? a : b, Integer::compare, op));
+			assertEquals(expected.length, RJ.count(2, (int p) -> toLong(p==0 ? a : b), Long::compare, op));
+			assertEquals(expected.length, RJ.count(BigInteger.class, 2, (int p) -> toBigInteger(p==0 ? a : b), Comparator.naturalOrder(), op));
 		}
 	}
 
+	private static int[] fromProvenance(long[] vs, int[] a, int[] b) {
+		return RJ.populate(vs.length, (int p) -> {
+			int ap = RJ.leftIndex(vs[p]);
+			int bp = RJ.rightIndex(vs[p]);
+			assertTrue(ap>=0 || bp>=0);
+			assertTrue(ap<0 || bp<0 || a[ap]==b[bp]);
+			return ap>=0 ? a[ap] : b[bp];
+		});
+	}
+
 	public static void testMerge(SetOperator op, int[] expected, int[] a, int[] b) {
 		_testMerge(op, expected, a, b);
 		_testMerge(op.reverse(), expected, b, a);
@@ -366,6 +1130,189 @@ public abstract class AbstractRJTest extends TestSupport {
 		testMerge(SetOperator.DIFF, new int[] { 0,1,2,3,4,5,6 }, new int[] { 3,4,5 }, new int[] { 0,1,2,6 });
 	}
 	
+	public void testTest(int n, int m, int k) {
+		int[] a = RJ.populate(n, (int p) -> p*k);
+		int[] b = RJ.populate(m, (int p) -> p*k+k-1);
+		for (SetOperator op : SetOperator.values()) {
+			boolean ev = RJ.merge(a, b, Integer::compare, (int u, int v) -> u, op).length>0;
+			assertEquals(ev, RJ.test(a, b, Integer::compare, op));
+			assertEquals(ev, RJ.test(toLong(a), toLong(b), Long::compare, op));
+			assertEquals(ev, RJ.test(toBigInteger(a), toBigInteger(b), Comparator.naturalOrder(), op));
+			assertArrayEquals(RJ.merge(a, b, Integer::compare, (int u, int v) -> u, op), fromProvenance(RJ.provenance(a, b, Integer::compare, op), a, b));
+		}
+	}
+	
+	@Test
+	public void testTest() {
+		testTest(500, 500, 1);
+		testTest(500, 500, 2);
+		testTest(500, 20, 3);
+		testTest(20, 500, 3);
+	}
+	
+	public void testCount(int n, int... ks) {
+		for (SetOperator op : SetOperator.values()) {
+			if (op.left!=op.right) {
+				continue;
+			}
+			int[] ev = RJ.merge(ks.length, (int p) -> RJ.populate(n, (int q) -> q*ks[p]), Integer::compare, (int u, int v) -> u, op);
+			assertEquals(ev.length, RJ.count(ks.length, (int p) -> RJ.populate(n, (int q) -> q*ks[p]), Integer::compare, op));
+			assertEquals(ev.length, RJ.count(ks.length, (int p) -> RJ.populate(n, (int q) -> (long)q*ks[p]), Long::compare, op));
+			assertEquals(ev.length, RJ.count(BigInteger.class, ks.length, (int p) -> toBigInteger(RJ.populate(n, (int q) -> q*ks[p])), Comparator.naturalOrder(), op));
+		}
+	}
+	
+	@Test
+	public void testCount() {
+		testCount(100);
+		testCount(100, 1);
+		testCount(100, 2, 3, 5);
+		testCount(200, 1, 2, 3, 4, 6);
+	}
+	
+	public void testBitSet(int n, int k, int l) {
+		int[] a = RJ.populate(n/k, (int p) -> p*k);
+		int[] b = RJ.populate(n/l, (int p) -> p*l+1);
+		IntBitSet as = IntBitSet.of(a);
+		IntBitSet bs = IntBitSet.of(n+1, (int p) -> p>0 && (p-1)%l==0 && (p-1)/l<n/l);
+		assertArrayEquals(a, as.toArray());
+		assertArrayEquals(b, bs.toArray());
+		assertEquals(a.length, as.size());
+		assertEquals(bs, IntBitSet.of(b));
+		for (SetOperator op : SetOperator.values()) {
+			int[] ev = RJ.merge(a, b, Integer::compare, (int u, int v) -> u, op);
+			IntBitSet rs = RJ.merge(as, bs, op);
+			assertArrayEquals(ev, rs.toArray());
+			assertEquals(IntBitSet.of(ev), rs);
+			assertEquals(ev.length, RJ.count(as, bs, op));
+		}
+	}
+	
+	@Test
+	public void testBitSet() {
+		testBitSet(0, 1, 1);
+		testBitSet(64, 1, 2);
+		testBitSet(600, 2, 3);
+		testBitSet(600, 7, 1);
+		testBitSet(10000, 37, 41);
+		testBitSet(10000, 64, 29);
+		assertFalse(IntBitSet.of(new int[] { 3, 64 }).contains(-1));
+		assertTrue(IntBitSet.of(new int[] { 3, 64 }).contains(64));
+		assertFalse(IntBitSet.of(new int[] { 3, 64 }).contains(65));
+	}
+	
+	private static int[] concat(IntStream... ss) {
+		return Arrays.stream(ss).flatMapToInt(s -> s).sorted().distinct().toArray();
+	}
+	
+	public void testCompressedIntSet(int[] a, int[] b) {
+		CompressedIntSet as = CompressedIntSet.of(a);
+		CompressedIntSet bs = CompressedIntSet.of(b);
+		assertArrayEquals(a, as.toArray());
+		assertArrayEquals(b, bs.toArray());
+		assertEquals(a.length, as.size());
+		for (SetOperator op : SetOperator.values()) {
+			int[] ev = IntStream.of(concat(IntStream.of(a), IntStream.of(b))).filter((int v) -> {
+				boolean l = Arrays.binarySearch(a, v)>=0;
+				boolean r = Arrays.binarySearch(b, v)>=0;
+				return l && r ? op.both : l ? op.left : op.right; 
+			}).toArray();
+			CompressedIntSet rs = RJ.merge(as, bs, op);
+			assertArrayEquals(ev, rs.toArray());
+			assertEquals(CompressedIntSet.of(ev), rs);
+			assertEquals(ev.length, rs.size());
+		}
+	}
+	
+	@Test
+	public void testCompressedIntSet() {
+		int[] a = concat(
+				IntStream.range(-70000, -60000).filter((int v) -> v%7==0),
+				IntStream.range(100, 5000),
+				IntStream.range(65536, 3*65536).filter((int v) -> v%3==0),
+				IntStream.of(Integer.MAX_VALUE, 5*65536+1));
+		int[] b = concat(
+				IntStream.range(-65536, -60000).filter((int v) -> v%5==0),
+				IntStream.range(3000, 10000).filter((int v) -> v%1000!=0),
+				IntStream.range(2*65536, 4*65536).filter((int v) -> v%2==0),
+				IntStream.of(Integer.MIN_VALUE, 5*65536+1));
+		testCompressedIntSet(a, b);
+		testCompressedIntSet(b, a);
+		testCompressedIntSet(a, RJ.EMPTY_INT);
+		testCompressedIntSet(a, a);
+		assertTrue(CompressedIntSet.of(a).contains(4000));
+		assertTrue(CompressedIntSet.of(a).contains(-69993));
+		assertFalse(CompressedIntSet.of(a).contains(5000));
+		assertFalse(CompressedIntSet.of(a).contains(65537));
+		assertTrue(CompressedIntSet.of(b).contains(Integer.MIN_VALUE));
+	}
+	
+	public void testMergeStream(int[] a, int[] b) {
+		for (SetOperator op : SetOperator.values()) {
+			int[] ev = RJ.merge(a, b, Integer::compare, (int u, int v) -> u+v, op);
+			assertEquals(ev,
+					toArray(RJ.merge(IntStream.of(a).iterator(), IntStream.of(b).iterator(), Integer::compare, (int u, int v) -> u+v, op)),
+					toArray(RJ.merge(LongStream.of(toLong(a)).iterator(), LongStream.of(toLong(b)).iterator(), Long::compare, (long u, long v) -> u+v, op)),
+					toArray(RJ.merge(Arrays.asList(toBigInteger(a)).iterator(), Arrays.asList(toBigInteger(b)).iterator(), Comparator.naturalOrder(), BigInteger::add, op)));
+		}
+	}
+	
+	private static int[] toArray(PrimitiveIterator.OfInt it) {
+		return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(it, 0), false).toArray();
+	}
+	
+	private static long[] toArray(PrimitiveIterator.OfLong it) {
+		return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(it, 0), false).toArray();
+	}
+	
+	private static BigInteger[] toArray(Iterator<BigInteger> it) {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, 0), false).toArray(BigInteger[]::new);
+	}
+	
+	@Test
+	public void testMergeStream() {
+		testMergeStream(RJ.EMPTY_INT, RJ.EMPTY_INT);
+		testMergeStream(new int[] { 1,2,3 }, RJ.EMPTY_INT);
+		testMergeStream(RJ.EMPTY_INT, new int[] { 1,2,3 });
+		testMergeStream(new int[] { 0,1,3,5,6,7,9 }, new int[] { 0,2,3,4,6,8,9 });
+		testMergeStream(new int[] { 2,3,4 }, new int[] { 0,1,5,6 });
+		testMergeStream(new int[] { 0,1,5,6 }, new int[] { 2,3,4 });
+		
+		PrimitiveIterator.OfInt it = IntStream.range(0, 100).iterator();
+		for (int k=2; k<5; k++) {
+			int _k = k;
+			it = RJ.merge(it, IntStream.range(0, 100).map((int v) -> v*_k).iterator(), Integer::compare, (int u, int v) -> u, SetOperator.ISECT);
+		}
+		assertArrayEquals(new int[] { 0,12,24,36,48,60,72,84,96 }, toArray(it));
+	}
+	
+	public void testSetBuilder(int n, int batch) {
+		Random rnd = new Random(n);
+		int[] vs = RJ.populate(n, (int p) -> rnd.nextInt(n<<4));
+		IntBinaryOperator cmp = (int a, int b) -> Integer.compare(a>>4, b>>4);
+		IntSetBuilder ib = new IntSetBuilder(cmp, (int u, int v) -> u, batch);
+		LongSetBuilder lb = new LongSetBuilder((long a, long b) -> Long.compare(a>>4, b>>4), (long u, long v) -> u, batch);
+		SetBuilder<BigInteger> ob = new SetBuilder<>(BigInteger.class, (BigInteger a, BigInteger b) -> a.shiftRight(4).compareTo(b.shiftRight(4)), (BigInteger u, BigInteger v) -> u, batch);
+		for (int i=0; i<n; i++) {
+			ib.add(vs[i]);
+			lb.add(vs[i]);
+			ob.add(BigInteger.valueOf(vs[i]));
+			if (i==n>>1) {
+				assertEquals(RJ.order(i+1, (int p) -> vs[p], cmp, (int u, int v) -> u), ib.toArray(), lb.toArray(), ob.toArray());
+			}
+		}
+		assertEquals(RJ.order(n, (int p) -> vs[p], cmp, (int u, int v) -> u), ib.toArray(), lb.toArray(), ob.toArray());
+	}
+	
+	@Test
+	public void testSetBuilder() {
+		testSetBuilder(0, 1);
+		testSetBuilder(1, 1);
+		testSetBuilder(100, 1);
+		testSetBuilder(400, 7);
+		testSetBuilder(400, 1000);
+	}
+	
 	@Test
 	public void testSetOperator() {
 		assertEquals(SetOperator.EMPTY, SetOperator.of(false,false,false));
@@ -0,0 +1,100 @@
+/* MIT License
+ *
+ * Copyright (c) 2022 TKNKLA
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.tknkla.rj.examples.benchmark;
+
+import java.util.Random;
+
+import com.tknkla.rj.CellSelector;
+import com.tknkla.rj.ExecutionStrategy;
+import com.tknkla.rj.RJ;
+import com.tknkla.rj.RefinementStatistics;
+import com.tknkla.rj.functions.IntBinaryPredicate;
+import com.tknkla.rj.groups.IntGroupOperator;
+
+/**
+ * Compares the cell selection strategies of relative order (see {@link CellSelector}).
+ * 
+ * <p>Usage: CellSelectorBenchmarkMain [--parallel] [VERTICES [GRAPHS [SEED]]]</p>
+ * 
+ * <p>For each kind of random graph (symmetric, asymmetric and mixed) and each strategy, the totals of pivots,
+ * propagations, comparisions, calls to <code>fg</code> and wall time over the graphs are printed (tab separated).</p>
+ * 
+ * @author Timo Santasalo
+ */
+public class CellSelectorBenchmarkMain {
+	
+	private static final String[] NAMES = { "LAST", "FIRST", "FIRST_SMALLEST", "FIRST_LARGEST", "MOST_CONNECTED" };
+	private static final CellSelector[] SELECTORS = { CellSelector.LAST, CellSelector.FIRST, CellSelector.FIRST_SMALLEST, CellSelector.FIRST_LARGEST, CellSelector.MOST_CONNECTED };
+	private static final String[] KINDS = { "symmetric", "asymmetric", "mixed" };
+	
+	private static IntBinaryPredicate random(int kind, int ln, Random rnd) {
+		switch (kind) {
+		case 0:
+			return RJ.randomUndirectedSymmetric(ln, Double.NaN, rnd);
+		case 1:
+			return RJ.randomUndirectedAsymmetric(ln, Double.NaN, rnd);
+		default:
+			return RJ.randomUndirected(ln, Double.NaN, Double.NaN, rnd);
+		}
+	}
+
+	public static void main(String[] args) {
+		int p = 0;
+		if (args.length>0 && args[0].equals("--parallel")) {
+			RJ.setExecutor(ExecutionStrategy.PARALLEL);
+			p++;
+		}
+		int ln = args.length>p ? Integer.parseInt(args[p]) : 64;
+		int n = args.length>p+1 ? Integer.parseInt(args[p+1]) : 20;
+		long seed = args.length>p+2 ? Long.parseLong(args[p+2]) : 0;
+		
+		// warm up
+		Random wrnd = new Random(seed);
+		for (int i=0; i<n; i++) {
+			int[][] g = RJ.populate(ln, ln, RJ.asOperator(random(2, ln, wrnd)));
+			for (CellSelector fc : SELECTORS) {
+				RJ.order(new int[][] { RJ.populate(ln, (int q) -> q) }, (int a, int b) -> g[a][b], IntGroupOperator.ADDITIVE, Integer::compare, null, null, fc);
+			}
+		}
+		
+		System.out.println("KIND\tSELECTOR\tPIVOTS\tPROPAGATIONS\tCOMPARES\tFG\tMILLIS");
+		for (int k=0; k<KINDS.length; k++) {
+			Random rnd = new Random(seed);
+			int[][][] gs = new int[n][][];
+			for (int i=0; i<n; i++) {
+				gs[i] = RJ.populate(ln, ln, RJ.asOperator(random(k, ln, rnd)));
+			}
+			int[][] src = new int[][] { RJ.populate(ln, (int q) -> q) };
+			for (int j=0; j<SELECTORS.length; j++) {
+				RefinementStatistics st = new RefinementStatistics();
+				long t = System.nanoTime();
+				for (int[][] g : gs) {
+					RJ.order(src, st.fgAsInt((int a, int b) -> g[a][b]), IntGroupOperator.ADDITIVE, Integer::compare, st, null, SELECTORS[j]);
+				}
+				t = System.nanoTime()-t;
+				System.out.println(KINDS[k]+"\t"+NAMES[j]+"\t"+st.getPivots()+"\t"+st.getPropagations()+"\t"+st.getCompares()+"\t"+st.getFgCalls()+"\t"+t/1000000);
+			}
+		}
+	}
+
+}
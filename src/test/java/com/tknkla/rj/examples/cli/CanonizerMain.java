@@ -31,11 +31,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.function.LongBinaryOperator;
 
 import com.tknkla.rj.ExecutionStrategy;
 import com.tknkla.rj.RJ;
 import com.tknkla.rj.SetOperator;
+import com.tknkla.rj.graphs.LongMatrix;
 import com.tknkla.rj.groups.LongGroupOperator;
 
 /**
@@ -172,13 +172,11 @@ public class CanonizerMain {
 		}
 		
 		// aggregate edges
-		long[][] vals = RJ.populate(syms.length, syms.length, (int p, int q) -> {
+		LongMatrix fg = LongMatrix.of(syms.length, syms.length, (int p, int q) -> {
 			int ep = Collections.binarySearch(es, new Edge(syms[p], syms[q], 0));
 			return ep<0 ? 0l : es.get(ep).value;
 		});
 		
-		LongBinaryOperator fg = (long a, long b) -> vals[(int)a][(int)b]; 
-		
 		// compute groups
 		long[][] groups = RJ.groups(
 				new long[][] { RJ.populate(syms.length, (int p) -> (long)p) },
@@ -23,19 +23,22 @@
 package com.tknkla.rj.examples.visualizer;
 
 import java.math.BigInteger;
-import java.util.Arrays;
 import java.util.function.IntBinaryOperator;
-import java.util.function.Predicate;
 
 import com.tknkla.rj.RJ;
+import com.tknkla.rj.RefinementListener;
 import com.tknkla.rj.groups.IntGroupOperator;
 
 /**
- * Partial re-implementation of {@link RJ#order(int[][], IntBinaryOperator, IntGroupOperator, IntBinaryOperator)} with callbacks.
+ * Base class for observing {@link RJ#order(int[][], IntBinaryOperator, IntGroupOperator, IntBinaryOperator, RefinementListener)}.
+ * 
+ * <p>The automorphic groups (<code>gs</code>) are taken from the first call of {@link #afterGroups(int[][])};
+ * subclasses which override it must call through. Note that {@link #iterPropagate(int[][])} receives the preorder
+ * after each refining iteration (the former re-implementation of the algorithm passed the preorder before it).</p>
  * 
  * @author Timo Santasalo
  */
-public abstract class AbstractOrderAlgorithm {
+public abstract class AbstractOrderAlgorithm implements RefinementListener<int[][]> {
 	
 	public final int ln;
 	public final IntBinaryOperator fg;
@@ -52,7 +55,8 @@ public abstract class AbstractOrderAlgorithm {
 	}
 	
 	protected void order() {
-		od = order(new int[][] { RJ.populate(ln, (int p) -> p) }, IntGroupOperator.ADDITIVE, Integer::compare);
+		gs = null;
+		od = RJ.order(new int[][] { RJ.populate(ln, (int p) -> p) }, fg, IntGroupOperator.ADDITIVE, Integer::compare, this);
 		odi = new int[od.length];
 		gsi = new int[od.length];
 		for (int i=0; i<od.length; i++) {
@@ -65,90 +69,15 @@ public abstract class AbstractOrderAlgorithm {
 		}
 	}
 	
-	public BigInteger toBigInteger() {
-		return RJ.encodeUndirected(ln, (int a, int b) -> fg.applyAsInt(a,b)>0);
-	}
-	
-	protected abstract void beforePivot(int[][] order, int pv);
-	protected abstract void afterPivot(int[][] order);
-	protected abstract void beforeOrdering(int[][] order);
-	protected abstract void afterOrdering(int[][] order);
-	protected abstract void beforePropagate(int[][] order);
-	protected abstract void iterPropagate(int[][] order);
-	protected abstract void afterPropagate(int[][] order);
-
-	private int[] order(int[][] src, IntGroupOperator g, IntBinaryOperator cmp) {
-		while (true) {
-			src = groups(src, g);
-			int pv = -1;
-			for (int i=src.length-1; i>=0; i--) {
-				if (src[i].length>1) {
-					pv = i;
-					break;
-				}
-			}
-			if (pv==-1) {
-				break;
-			}
-			beforePivot(src, pv);
-			int[][] po = new int[][] { Arrays.copyOfRange(src[pv], 1, src[pv].length), { src[pv][0] } };
-			if (cmp!=null) {
-				for (int i=0; i<po[0].length; i++) {
-					if (po[1][0] < po[0][i]) {
-						int t = po[0][i];
-						po[0][i] = po[1][0];
-						po[1][0] = t;
-					}
-				}
-			}
-			po = propagate(po, g, null);
-			int[][] nsrc = new int[src.length+po.length-1][];
-			System.arraycopy(src, 0, nsrc, 0, pv);
-			System.arraycopy(po, 0, nsrc, pv, po.length);
-			System.arraycopy(src, pv+1, nsrc, pv+po.length, src.length-pv-1);
-			afterPivot(nsrc);
-			src = nsrc;
-		}
-		int[][] _src = src;
-		return RJ.populate(src.length, (int p) -> _src[p][0]);
-	}
-	
-	private int[][] groups(int[][] src, IntGroupOperator g) {
-		int[][] _src = propagate(src, g, null);
-		beforeOrdering(_src);
-		int[][] ret = RJ.groups(_src, (int a, int b) -> RJ.compare(a,b, _src, fg, g), null);
-		afterOrdering(ret);
+	@Override
+	public void afterGroups(int[][] order) {
 		if (gs==null) {
-			gs = ret;
+			gs = order;
 		}
-		return ret;
 	}
-
-	private int[][] propagate(int[][] src, IntGroupOperator g, Predicate<int[][]> fh) {
-		beforePropagate(src);
-		while (fh==null || fh.test(src)) {
-			int[][] _src = src;
-			int[][] nsrc = RJ.groups(src, (int a, int b) -> {
-				for (int i=_src.length-1; i>=0; i--) {
-					int _i = i;
-					int rt = g.signum(g.applyAsInt(0, _src[i].length, (int p) -> {
-						int c = _src[_i][p];
-						return g.cancelAsInt(fg.applyAsInt(a, c), fg.applyAsInt(b, c));
-					}));
-					if (rt!=0) {
-						return rt;
-					}
-				}
-				return 0;
-			}, null);
-			if (nsrc.length==src.length) {
-				break;
-			}
-			iterPropagate(src);
-			src = nsrc;
-		}
-		afterPropagate(src);
-		return src;
+	
+	public BigInteger toBigInteger() {
+		return RJ.encodeUndirected(ln, (int a, int b) -> fg.applyAsInt(a,b)>0);
 	}
 	
 }
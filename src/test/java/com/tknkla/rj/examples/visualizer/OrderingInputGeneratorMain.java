@@ -56,36 +56,28 @@ public class OrderingInputGeneratorMain extends AbstractOrderAlgorithm implement
 	}
 
 	@Override
-	protected void beforePivot(int[][] order, int pv) {
+	public void beforePivot(int[][] order, int pv) {
 		pivots++;
 	}
 
 	@Override
-	protected void afterPivot(int[][] order) {}
-
-	@Override
-	protected void beforeOrdering(int[][] order) {
+	public void beforeGroups(int[][] order) {
 		last = order;
 	}
 
 	@Override
-	protected void afterOrdering(int[][] order) {
+	public void afterGroups(int[][] order) {
+		super.afterGroups(order);
 		if (!Arrays.deepEquals(order, last)) {
 			orders++;
 		}
 	}
 
 	@Override
-	protected void beforePropagate(int[][] order) {}
-
-	@Override
-	protected void iterPropagate(int[][] order) {
+	public void iterPropagate(int[][] order) {
 		propagates++;
 	}
 
-	@Override
-	protected void afterPropagate(int[][] order) {}
-
 	@Override
 	public int compareTo(OrderingInputGeneratorMain o) {
 		if (orders==o.orders) {
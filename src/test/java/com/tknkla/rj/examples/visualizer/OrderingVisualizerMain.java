@@ -77,14 +77,14 @@ public class OrderingVisualizerMain extends AbstractOrderAlgorithm {
 	}
 	
 	@Override
-	protected void beforePivot(int[][] order, int pv) {
+	public void beforePivot(int[][] order, int pv) {
 		evs.add(new PivotEvent(pv));
 		last().add(order);
 		
 	}
 
 	@Override
-	protected void afterPivot(int[][] order) {
+	public void afterPivot(int[][] order) {
 		if (last() instanceof PropagateEvent) {
 			PropagateEvent evp = (PropagateEvent) removeLast();
 			((PivotEvent) last()).evp = evp;
@@ -93,13 +93,14 @@ public class OrderingVisualizerMain extends AbstractOrderAlgorithm {
 	}
 
 	@Override
-	protected void beforeOrdering(int[][] order) {
+	public void beforeGroups(int[][] order) {
 		evs.add(new OrderingEvent());
 		last().add(order);
 	}
 
 	@Override
-	protected void afterOrdering(int[][] order) {
+	public void afterGroups(int[][] order) {
+		super.afterGroups(order);
 		System.out.println(order.length+"/"+ln);
 		last().add(order);
 		if (last().orders.size()==1) {
@@ -108,18 +109,18 @@ public class OrderingVisualizerMain extends AbstractOrderAlgorithm {
 	}
 
 	@Override
-	protected void beforePropagate(int[][] order) {
+	public void beforePropagate(int[][] order) {
 		evs.add(new PropagateEvent());
 		last().add(order);
 	}
 
 	@Override
-	protected void iterPropagate(int[][] order) {
+	public void iterPropagate(int[][] order) {
 		last().add(order);
 	}
 
 	@Override
-	protected void afterPropagate(int[][] order) {
+	public void afterPropagate(int[][] order) {
 		if (last().orders.size()==1) {
 			removeLast();
 		}